@@ -0,0 +1,71 @@
+package edu.monash.fit2099.engine;
+
+import game.BenchmarkWorld;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parts of the turn loop that belong to World:
+ * processing the turns of the Actors, and iterating over the Actors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+	/**
+	 * Size of the map, as width x height.
+	 */
+	@Param({"40x20", "80x25", "160x80"})
+	public String size;
+
+	/**
+	 * Fraction of the Locations holding a Dinosaur.
+	 */
+	@Param({"0.005", "0.02"})
+	public double density;
+
+	private World world;
+	private List<Actor> actors;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		world = BenchmarkWorld.create(size, density, BenchmarkWorld.DEFAULT_SEED).world;
+		world.lastActionMap.clear();
+		actors = new ArrayList<Actor>();
+		for (Actor actor : world.actorLocations) {
+			world.lastActionMap.put(actor, new DoNothingAction());
+			actors.add(actor);
+		}
+	}
+
+	/**
+	 * Lets every Actor still in the world take a turn.
+	 */
+	@Benchmark
+	public void processActorTurns() {
+		for (Actor actor : actors) {
+			if (world.actorLocations.contains(actor))
+				world.processActorTurn(actor);
+		}
+	}
+
+	/**
+	 * Iterates over every Actor in the world, player first.
+	 *
+	 * @param blackhole Consumes the Actors
+	 */
+	@Benchmark
+	public void iterateActors(Blackhole blackhole) {
+		for (Actor actor : world.actorLocations)
+			blackhole.consume(actor);
+	}
+
+}
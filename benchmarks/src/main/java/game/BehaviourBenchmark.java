@@ -0,0 +1,97 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import game.dinosaurs.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures how long each Behaviour takes to decide an Action
+ * for every Dinosaur on the map.
+ *
+ * The world is played for a few turns first, so that some Dinosaurs
+ * are hungry, thirsty or looking for partners.
+ *
+ * @author Ci Leong Ong
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BehaviourBenchmark {
+
+    /**
+     * Number of turns played before measuring.
+     */
+    private static final int WARM_UP_TURNS = 30;
+
+    /**
+     * Size of the map, as width x height.
+     */
+    @Param({"40x20", "80x25", "160x80"})
+    public String size;
+
+    /**
+     * Fraction of the Locations holding a Dinosaur.
+     */
+    @Param({"0.005", "0.02"})
+    public double density;
+
+    /**
+     * The Behaviour to measure.
+     */
+    @Param({"Hungry", "Thirsty", "Mating", "Preying", "Wander", "RechargeSkill"})
+    public String behaviourName;
+
+    private BenchmarkWorld world;
+    private Behaviour behaviour;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = BenchmarkWorld.create(size, density, BenchmarkWorld.DEFAULT_SEED);
+        world.world.simulate(WARM_UP_TURNS);
+
+        switch (behaviourName) {
+            case "Hungry":
+                behaviour = new HungryBehaviour();
+                break;
+            case "Thirsty":
+                behaviour = new ThirstyBehaviour();
+                break;
+            case "Mating":
+                behaviour = new MatingBehaviour();
+                break;
+            case "Preying":
+                behaviour = new PreyingBehaviour();
+                break;
+            case "Wander":
+                behaviour = new WanderBehaviour();
+                break;
+            case "RechargeSkill":
+                behaviour = new RechargeSkillBehaviour(ActorCapability.FLY, GroundCapability.RECHARGE_FLIGHT);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown Behaviour: " + behaviourName);
+        }
+    }
+
+    /**
+     * Asks the Behaviour for an Action for every Dinosaur still on the map.
+     *
+     * @param blackhole Consumes the Actions
+     */
+    @Benchmark
+    public void getAction(Blackhole blackhole) {
+        GameMap map = world.map;
+        for (Dinosaur dinosaur : world.dinosaurs) {
+            if (map.contains(dinosaur))
+                blackhole.consume(behaviour.getAction(dinosaur, map));
+        }
+    }
+
+}
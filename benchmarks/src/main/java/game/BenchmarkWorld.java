@@ -0,0 +1,157 @@
+package game;
+
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.dinosaurs.*;
+import game.grounds.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+
+/**
+ * A generated world used by the benchmarks.
+ *
+ * The terrain and the Dinosaurs are placed using a seeded random generator,
+ * so the same size, density and seed always give the same world.
+ *
+ * @author Ci Leong Ong
+ */
+public class BenchmarkWorld {
+
+    /**
+     * Seed used by the benchmarks unless told otherwise.
+     */
+    public static final long DEFAULT_SEED = 2099;
+
+    /**
+     * The world, with a Player that idles every turn.
+     */
+    public final GameWorld world;
+
+    /**
+     * The only map of the world.
+     */
+    public final GameMap map;
+
+    /**
+     * The Player.
+     */
+    public final Player player;
+
+    /**
+     * The Dinosaurs that were placed on the map, in the order they were placed.
+     */
+    public final List<Dinosaur> dinosaurs;
+
+    /**
+     * Constructor.
+     *
+     * @param world     The world
+     * @param map       The only map of the world
+     * @param player    The Player
+     * @param dinosaurs The Dinosaurs placed on the map
+     */
+    private BenchmarkWorld(GameWorld world, GameMap map, Player player, List<Dinosaur> dinosaurs) {
+        this.world = world;
+        this.map = map;
+        this.player = player;
+        this.dinosaurs = dinosaurs;
+    }
+
+    /**
+     * Generates a world.
+     *
+     * @param size    Size of the map, written as width x height, e.g. "80x25"
+     * @param density Fraction of the Locations of the map holding a Dinosaur
+     * @param seed    Seed of the terrain, the Dinosaurs, and the game itself
+     * @return The generated world
+     */
+    public static BenchmarkWorld create(String size, double density, long seed) {
+        String[] dimensions = size.split("x");
+        return create(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), density, seed);
+    }
+
+    /**
+     * Generates a world.
+     *
+     * Most of the map is Dirt, with scattered Trees, Lakes and Walls.
+     * Dinosaurs of every species are placed on random Locations they can enter,
+     * alternating between males and females.
+     *
+     * @param width   Width of the map
+     * @param height  Height of the map
+     * @param density Fraction of the Locations of the map holding a Dinosaur
+     * @param seed    Seed of the terrain, the Dinosaurs, and the game itself
+     * @return The generated world
+     */
+    public static BenchmarkWorld create(int width, int height, double density, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, seed);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+
+        List<String> lines = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            StringBuilder line = new StringBuilder();
+            for (int x = 0; x < width; x++) {
+                double roll = rand.nextDouble();
+                if (roll < 0.08)
+                    line.append('+');
+                else if (roll < 0.11)
+                    line.append('~');
+                else if (roll < 0.13)
+                    line.append('#');
+                else
+                    line.append('.');
+            }
+            lines.add(line.toString());
+        }
+        // Leave the Player's corner clear
+        lines.set(0, '.' + lines.get(0).substring(1));
+
+        DinosaurMap map = new DinosaurMap(groundFactory, lines);
+        world.addGameMap(map);
+        map.updateInitialGround();
+
+        Player player = new HeadlessPlayer("Player", '@', 100);
+        world.addPlayer(player, map.at(0, 0));
+
+        List<Dinosaur> dinosaurs = new ArrayList<>();
+        int population = (int) Math.round(width * height * density);
+        for (int attempts = 0; dinosaurs.size() < population && attempts < population * 20; attempts++) {
+            Dinosaur dinosaur = newDinosaur(dinosaurs.size());
+            Location location = map.at(rand.nextInt(width), rand.nextInt(height));
+            if (location.canActorEnter(dinosaur)) {
+                location.addActor(dinosaur);
+                dinosaurs.add(dinosaur);
+            }
+        }
+
+        return new BenchmarkWorld(world, map, player, dinosaurs);
+    }
+
+    /**
+     * Returns a new adult Dinosaur, cycling through the species and genders.
+     *
+     * @param count Number of Dinosaurs created so far
+     * @return A new Dinosaur
+     */
+    private static Dinosaur newDinosaur(int count) {
+        char gender = count / 4 % 2 == 0 ? 'M' : 'F';
+        switch (count % 4) {
+            case 0:
+                return Stegosaur.getNewDino("adult", gender);
+            case 1:
+                return Brachiosaur.getNewDino("adult", gender);
+            case 2:
+                return Allosaur.getNewDino("adult", gender);
+            default:
+                return Pterodactyl.getNewDino("adult", gender);
+        }
+    }
+
+}
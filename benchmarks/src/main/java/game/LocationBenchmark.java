@@ -0,0 +1,49 @@
+package game;
+
+import edu.monash.fit2099.engine.Location;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the Breadth First Search over the map done by iterating a GameLocation,
+ * from the Location of the first Dinosaur placed.
+ *
+ * @author Ci Leong Ong
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationBenchmark {
+
+    /**
+     * Size of the map, as width x height.
+     */
+    @Param({"40x20", "80x25", "160x80"})
+    public String size;
+
+    private GameLocation start;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkWorld world = BenchmarkWorld.create(size, 0.005, BenchmarkWorld.DEFAULT_SEED);
+        start = (GameLocation) world.map.locationOf(world.dinosaurs.get(0));
+    }
+
+    /**
+     * Visits every reachable Location, from nearest to farthest.
+     *
+     * @param blackhole Consumes the Locations
+     */
+    @Benchmark
+    public void breadthFirstSearch(Blackhole blackhole) {
+        for (Location location : start)
+            blackhole.consume(location);
+    }
+
+}
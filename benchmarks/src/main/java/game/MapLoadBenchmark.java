@@ -0,0 +1,78 @@
+package game;
+
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import game.grounds.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures loading a map from an ASCII map file.
+ *
+ * @author Ci Leong Ong
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapLoadBenchmark {
+
+    /**
+     * Size of the map, as width x height.
+     */
+    @Param({"80x25", "1000x1000", "4000x4000"})
+    public String size;
+
+    private Path mapFile;
+
+    private FancyGroundFactory groundFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] dimensions = size.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+        SplittableRandom rand = new SplittableRandom(BenchmarkWorld.DEFAULT_SEED);
+
+        mapFile = Files.createTempFile("map-" + size, ".txt");
+        try (Writer writer = Files.newBufferedWriter(mapFile, StandardCharsets.US_ASCII)) {
+            char[] row = new char[width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    double roll = rand.nextDouble();
+                    row[x] = roll < 0.08 ? '+' : roll < 0.11 ? '~' : roll < 0.13 ? '#' : '.';
+                }
+                writer.write(row);
+                writer.write('\n');
+            }
+        }
+
+        groundFactory = new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mapFile);
+    }
+
+    /**
+     * Loads the map file into a new map.
+     *
+     * @return The map, so that loading it is not optimised away
+     * @throws IOException if the map file cannot be read
+     */
+    @Benchmark
+    public DinosaurMap load() throws IOException {
+        return new DinosaurMap(groundFactory, mapFile.toString());
+    }
+
+}
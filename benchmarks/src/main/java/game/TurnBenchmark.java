@@ -0,0 +1,79 @@
+package game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures a full turn of the game, and the map tick on its own,
+ * at several map sizes and population densities.
+ *
+ * The world changes every turn, so it is saved in a snapshot once generated,
+ * and restored before every invocation. Every turn measured is then the first turn
+ * of the same seeded world, however many turns the iterations play.
+ * A turn takes milliseconds, so restoring around each one does not skew the measurement.
+ *
+ * @author Ci Leong Ong
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBenchmark {
+
+    /**
+     * Size of the map, as width x height.
+     */
+    @Param({"40x20", "80x25", "160x80"})
+    public String size;
+
+    /**
+     * Fraction of the Locations holding a Dinosaur.
+     */
+    @Param({"0.005", "0.02"})
+    public double density;
+
+    private BenchmarkWorld world;
+
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        world = BenchmarkWorld.create(size, density, BenchmarkWorld.DEFAULT_SEED);
+        snapshot = Files.createTempFile("world-" + size, ".snapshot");
+        world.world.saveSnapshot(snapshot);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() throws IOException {
+        world.world.restoreSnapshot(snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    /**
+     * Plays one turn: every Actor acts, then every map ticks.
+     */
+    @Benchmark
+    public void fullTurn() {
+        world.world.simulate(1);
+    }
+
+    /**
+     * Ticks every Location of the map once.
+     */
+    @Benchmark
+    public void mapTick() {
+        world.map.tick();
+    }
+
+}
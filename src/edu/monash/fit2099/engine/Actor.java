@@ -9,6 +9,8 @@ import edu.monash.fit2099.interfaces.ActorInterface;
 public abstract class Actor implements ActorInterface, Capable, Printable {
 
 	private Capabilities capabilities = new Capabilities();
+	private volatile long[] effectiveCapabilities; // Own capabilities and those of the inventory, null when out of date. Volatile, as Actors deciding in parallel read each other's
+	private int itemCapabilityChangesSeen;
 	protected String name;
 	protected char displayChar;
 	protected List<Item> inventory = new ArrayList<Item>();
@@ -44,6 +46,7 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public void addItemToInventory(Item item) {
 		inventory.add(item);
+		effectiveCapabilities = null;
 	}
 
 	/**
@@ -52,6 +55,7 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public void removeItemFromInventory(Item item) {
 		inventory.remove(item);
+		effectiveCapabilities = null;
 	}
 
 	/**
@@ -157,18 +161,25 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 
 	/**
 	 * Returns true if and only if the current Actor has the required capability.
+	 * The Actor has the capabilities of the items in its inventory as well as its own.
+	 *
+	 * These are combined into a single bitmask, which is only rebuilt when the Actor's
+	 * capabilities, its inventory, or the capabilities of an item have changed.
 	 *
 	 * @param capability the capability required
 	 * @return true if and only if the current Actor has the required capability
 	 */
 	public boolean hasCapability(Enum<?> capability) {
-
-		for (Item item : inventory) {
-			if (item.hasCapability(capability)) {
-				return true;
+		int itemCapabilityChanges = Item.capabilityChanges();
+		if (effectiveCapabilities == null || itemCapabilityChangesSeen != itemCapabilityChanges) {
+			long[] mask = capabilities.addTo(new long[1]);
+			for (Item item : inventory) {
+				mask = item.capabilities.addTo(mask);
 			}
+			effectiveCapabilities = mask;
+			itemCapabilityChangesSeen = itemCapabilityChanges;
 		}
-		return capabilities.hasCapability(capability);
+		return Capabilities.contains(effectiveCapabilities, capability);
 	}
 
 	/**
@@ -178,6 +189,7 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public void addCapability(Enum<?> capability) {
 		capabilities.addCapability(capability);
+		effectiveCapabilities = null;
 	}
 
 	/** Remove a capability from this Actor.
@@ -186,5 +198,6 @@ public abstract class Actor implements ActorInterface, Capable, Printable {
 	 */
 	public void removeCapability(Enum<?> capability) {
 		capabilities.removeCapability(capability);
+		effectiveCapabilities = null;
 	}
 }
@@ -1,25 +1,82 @@
 package edu.monash.fit2099.engine;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Represents a bimap of locations and actors. Hence it enforces the one actor
  * per location rule. Has a nifty iterator that lets us modify the collection
  * while iterating it.
  *
+ * Also keeps a spatial index of the Actors on each map, so that the Actors near a
+ * Location can be found without looking at every Location around it. Each map is
+ * divided into square buckets of BUCKET_SIZE by BUCKET_SIZE cells, and every bucket
+ * lists the Actors standing in it.
+ *
+ * Distances are measured in steps, i.e. max(|dx|, |dy|), between Locations of the same map.
  */
 public class ActorLocations implements Iterable<Actor> {
 
+	/**
+	 * Width and height of a bucket of the spatial index, in cells.
+	 */
+	private static final int BUCKET_SIZE = 8;
+
 	private Map<Location, Actor> locationToActor;
 	private Map<Actor, Location> actorToLocation;
+	private Map<GameMap, Grid> grids;
 	private Actor player;
 
+	/**
+	 * The buckets of the spatial index of one map.
+	 */
+	private static class Grid {
+		final int columns;
+		final int rows;
+		final List<List<Actor>> buckets;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param map the map to divide into buckets
+		 */
+		Grid(GameMap map) {
+			columns = (map.getXRange().size() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+			rows = (map.getYRange().size() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+			buckets = new ArrayList<List<Actor>>(columns * rows);
+			for (int i = 0; i < columns * rows; i++)
+				buckets.add(new ArrayList<Actor>(0));
+		}
+
+		/**
+		 * Returns the bucket containing a Location.
+		 *
+		 * @param location a Location on the map
+		 * @return the Actors standing in the same bucket as location
+		 */
+		List<Actor> bucketOf(Location location) {
+			return bucket(location.x() / BUCKET_SIZE, location.y() / BUCKET_SIZE);
+		}
+
+		/**
+		 * Returns a bucket given its column and row.
+		 *
+		 * @param column the column of the bucket
+		 * @param row the row of the bucket
+		 * @return the Actors standing in the bucket
+		 */
+		List<Actor> bucket(int column, int row) {
+			return buckets.get(row * columns + column);
+		}
+	}
+
 	/**
 	 * Default constructor.
 	 */
 	public ActorLocations() {
 		locationToActor = new HashMap<Location, Actor>();
-		actorToLocation = new HashMap<Actor, Location>();
+		actorToLocation = new LinkedHashMap<Actor, Location>(); // Actors take turns in the order they were added
+		grids = new IdentityHashMap<GameMap, Grid>();
 	}
 
 	/**
@@ -47,6 +104,7 @@ public class ActorLocations implements Iterable<Actor> {
 		
 		actorToLocation.put(actor, location);
 		locationToActor.put(location, actor);
+		gridOf(location).bucketOf(location).add(actor);
 	}
 
 	/**
@@ -58,6 +116,8 @@ public class ActorLocations implements Iterable<Actor> {
 		Location location = actorToLocation.get(actor);
 		actorToLocation.remove(actor);
 		locationToActor.remove(location);
+		if (location != null)
+			gridOf(location).bucketOf(location).remove(actor);
 	}
 
 	/**
@@ -73,6 +133,13 @@ public class ActorLocations implements Iterable<Actor> {
 			actorToLocation.put(actor, newLocation);
 			locationToActor.remove(oldLocation);
 			locationToActor.put(newLocation, actor);
+
+			List<Actor> oldBucket = gridOf(oldLocation).bucketOf(oldLocation);
+			List<Actor> newBucket = gridOf(newLocation).bucketOf(newLocation);
+			if (oldBucket != newBucket) {
+				oldBucket.remove(actor);
+				newBucket.add(actor);
+			}
 		}
 	}
 
@@ -115,13 +182,113 @@ public class ActorLocations implements Iterable<Actor> {
 		return actorToLocation.get(actor);
 	}
 
+	/**
+	 * Returns the Actor nearest to a Location that satisfies a condition.
+	 *
+	 * Only Actors on the same map as the Location are considered. If several Actors are
+	 * equally near, any one of them may be returned.
+	 *
+	 * @param location the Location to search around
+	 * @param condition the condition the Actor must satisfy
+	 * @param maxRange the largest number of steps the Actor may be from location
+	 * @return the nearest Actor satisfying condition within maxRange steps, or null if there isn't one
+	 */
+	public Actor nearestActor(Location location, Predicate<Actor> condition, int maxRange) {
+		Objects.requireNonNull(location);
+		Objects.requireNonNull(condition);
+
+		Grid grid = gridOf(location);
+		int column = location.x() / BUCKET_SIZE;
+		int row = location.y() / BUCKET_SIZE;
+		int maxRing = Math.max(Math.max(column, grid.columns - 1 - column), Math.max(row, grid.rows - 1 - row));
+
+		Actor nearest = null;
+		int nearestDistance = maxRange;
+		// Buckets in ring r are r buckets away, so none of their Actors are nearer than (r - 1) * BUCKET_SIZE + 1 steps
+		for (int ring = 0; ring <= maxRing && (ring - 1) * BUCKET_SIZE < nearestDistance; ring++) {
+			for (int r = Math.max(row - ring, 0); r <= Math.min(row + ring, grid.rows - 1); r++) {
+				boolean edgeRow = r == row - ring || r == row + ring;
+				for (int c = Math.max(column - ring, 0); c <= Math.min(column + ring, grid.columns - 1); c++) {
+					if (!edgeRow && c != column - ring && c != column + ring)
+						continue;
+					for (Actor actor : grid.bucket(c, r)) {
+						int distance = distanceBetween(location, actorToLocation.get(actor));
+						if (distance <= nearestDistance && (nearest == null || distance < nearestDistance) && condition.test(actor)) {
+							nearest = actor;
+							nearestDistance = distance;
+						}
+					}
+				}
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Returns the Actors within a number of steps of a Location, including any Actor at the Location itself.
+	 *
+	 * Only Actors on the same map as the Location are considered.
+	 *
+	 * @param location the Location to search around
+	 * @param radius the largest number of steps an Actor may be from location
+	 * @return a new List of the Actors within radius steps of location, in no particular order
+	 */
+	public List<Actor> actorsWithin(Location location, int radius) {
+		Objects.requireNonNull(location);
+
+		Grid grid = gridOf(location);
+		List<Actor> actors = new ArrayList<Actor>();
+		if (radius < 0)
+			return actors;
+
+		int minColumn = Math.max(location.x() - radius, 0) / BUCKET_SIZE;
+		int maxColumn = Math.min((location.x() + radius) / BUCKET_SIZE, grid.columns - 1);
+		int minRow = Math.max(location.y() - radius, 0) / BUCKET_SIZE;
+		int maxRow = Math.min((location.y() + radius) / BUCKET_SIZE, grid.rows - 1);
+		for (int r = minRow; r <= maxRow; r++) {
+			for (int c = minColumn; c <= maxColumn; c++) {
+				for (Actor actor : grid.bucket(c, r)) {
+					if (distanceBetween(location, actorToLocation.get(actor)) <= radius)
+						actors.add(actor);
+				}
+			}
+		}
+		return actors;
+	}
+
+	/**
+	 * Returns the spatial index of a Location's map, creating it if necessary.
+	 *
+	 * @param location a Location
+	 * @return the Grid of the map containing location
+	 */
+	private Grid gridOf(Location location) {
+		return grids.computeIfAbsent(location.map(), Grid::new);
+	}
+
+	/**
+	 * Returns the number of steps between two Locations of the same map.
+	 *
+	 * @param a a Location
+	 * @param b another Location
+	 * @return max(|dx|, |dy|) between a and b
+	 */
+	private static int distanceBetween(Location a, Location b) {
+		return Math.max(Math.abs(a.x() - b.x()), Math.abs(a.y() - b.y()));
+	}
+
 	/**
 	 * Class to allow iterating over all Actors in the system, player first
 	 * This allows Actors to take turns in a known order.
+	 *
+	 * The Actors are the ones in the system when the iterator is created, in the order
+	 * they were added. Actors removed while iterating are skipped, and Actors added
+	 * while iterating (such as hatchlings) are not visited: they take their first
+	 * turn the next time the Actors are iterated over.
 	 */
 	class ActorIterator implements Iterator<Actor> {
-		Map<Actor, Location> actorLocations;
-		List<Actor> actors;
+		private final Actor[] actors;
+		private int next;
 
 		/**
 		 * Constructor.
@@ -129,13 +296,15 @@ public class ActorLocations implements Iterable<Actor> {
 		 * @param actorLocations the collection of mappings between Actors and Locations
 		 */
 		public ActorIterator(Map<Actor, Location> actorLocations) {
-			this.actorLocations = actorLocations;
-			actors = new ArrayList<Actor>(actorLocations.keySet());
-			
+			actors = new Actor[actorLocations.size()];
+			int count = 0;
+
 			// Make sure the player is first. 
-			if(actors.contains(player)) {
-				actors.remove(player);
-				actors.add(0, player);
+			if (actorLocations.containsKey(player))
+				actors[count++] = player;
+			for (Actor actor : actorLocations.keySet()) {
+				if (actor != player)
+					actors[count++] = actor;
 			}
 		}
 
@@ -145,12 +314,9 @@ public class ActorLocations implements Iterable<Actor> {
 		 */
 		@Override
 		public boolean hasNext() {
-			for (Actor actor : actors) {
-				if (actorLocations.containsKey(actor))
-					return true;
-			}
-
-			return false;
+			while (next < actors.length && !actorToLocation.containsKey(actors[next]))
+				next++;
+			return next < actors.length;
 		}
 
 		/**
@@ -158,13 +324,9 @@ public class ActorLocations implements Iterable<Actor> {
 		 */
 		@Override
 		public Actor next() {
-			while (!actors.isEmpty()) {
-				Actor actor = actors.remove(0);
-				if (actorLocations.containsKey(actor))
-					return actor;
-			}
-
-			throw new ConcurrentModificationException();
+			if (!hasNext())
+				throw new NoSuchElementException();
+			return actors[next++];
 		}
 	}
 
@@ -0,0 +1,138 @@
+package edu.monash.fit2099.engine;
+
+import java.util.Arrays;
+
+/**
+ * A Display for terminals that understand ANSI escape codes.
+ *
+ * The map is kept at the top of the screen, and only the rows of a frame that differ
+ * from the previous frame are rewritten, using cursor addressing, in a single write.
+ * Messages are written below the map, and are cleared when the next frame is displayed.
+ * This keeps the amount of output small, which matters over slow connections.
+ */
+public class AnsiDisplay extends Display {
+
+	private static final String ESC = "\u001b[";
+
+	private final int screenRows;
+	private char[][] previousFrame;
+	private int linesSinceFrame;
+
+	/**
+	 * Constructor.
+	 *
+	 * The height of the screen is taken from the LINES environment variable,
+	 * or assumed to be 50 rows if it is not set.
+	 */
+	public AnsiDisplay() {
+		this(screenRowsFromEnvironment());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param screenRows the height of the screen, in rows
+	 */
+	public AnsiDisplay(int screenRows) {
+		this.screenRows = screenRows;
+	}
+
+	/**
+	 * Display a frame, rewriting only the rows that have changed since the previous frame.
+	 *
+	 * The whole screen is redrawn instead if there is no previous frame, if the size of
+	 * the frame has changed, or if enough messages have been written since the previous
+	 * frame that it may have scrolled off the top of the screen.
+	 *
+	 * @param frame the rows of characters to display, top row first
+	 */
+	@Override
+	public void printFrame(char[][] frame) {
+		StringBuilder builder = new StringBuilder();
+
+		if (needsRedraw(frame)) {
+			builder.append(ESC).append("H").append(ESC).append("2J");
+			for (char[] row : frame)
+				builder.append(row).append(ESC).append("K").append('\n');
+		} else {
+			for (int y = 0; y < frame.length; y++) {
+				if (!Arrays.equals(frame[y], previousFrame[y]))
+					builder.append(ESC).append(y + 1).append(";1H").append(frame[y]).append(ESC).append("K");
+			}
+		}
+
+		// Clear the messages of the previous turn, and write the next ones below the map
+		builder.append(ESC).append(frame.length + 1).append(";1H").append(ESC).append("J");
+		System.out.print(builder);
+		System.out.flush();
+
+		previousFrame = new char[frame.length][];
+		for (int y = 0; y < frame.length; y++)
+			previousFrame[y] = frame[y].clone();
+		linesSinceFrame = 0;
+	}
+
+	/**
+	 * Prints a String and then terminates the line.
+	 * @param s the string to print
+	 */
+	@Override
+	public void println(String s) {
+		super.println(s);
+		linesSinceFrame++;
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) == '\n')
+				linesSinceFrame++;
+		}
+	}
+
+	/**
+	 * Terminates the line.
+	 */
+	@Override
+	public void endLine() {
+		super.endLine();
+		linesSinceFrame++;
+	}
+
+	/**
+	 * Read a char from the keyboard.
+	 * The line the user types is echoed by the terminal, so it counts as a line written.
+	 *
+	 * @return the first char of the next entered string.
+	 */
+	@Override
+	public char readChar() {
+		linesSinceFrame++;
+		return super.readChar();
+	}
+
+	/**
+	 * Returns true if the whole screen must be redrawn to display the frame.
+	 *
+	 * @param frame the frame to display
+	 * @return true if the previous frame cannot be updated in place
+	 */
+	private boolean needsRedraw(char[][] frame) {
+		if (previousFrame == null || previousFrame.length != frame.length)
+			return true;
+		for (int y = 0; y < frame.length; y++) {
+			if (previousFrame[y].length != frame[y].length)
+				return true;
+		}
+		return frame.length + linesSinceFrame >= screenRows;
+	}
+
+	/**
+	 * Returns the height of the screen given by the LINES environment variable.
+	 *
+	 * @return the height of the screen, or 50 if it is unknown
+	 */
+	private static int screenRowsFromEnvironment() {
+		try {
+			return Integer.parseInt(System.getenv("LINES"));
+		} catch (NumberFormatException e) {
+			return 50;
+		}
+	}
+}
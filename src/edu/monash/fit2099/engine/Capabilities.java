@@ -1,7 +1,6 @@
 package edu.monash.fit2099.engine;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * A collection of Capability objects.
@@ -15,19 +14,92 @@ import java.util.Set;
  * PURPLE, FLAT, HOUSE_RAVENCLAW, TEAM_HERBIVORE, etc.  
  * 
  * Any Enum type can be used to represent a Capability, so these classes can and should be defined in the game client.
+ * 
+ * Capabilities are stored as a bitmask, with a range of bits reserved for each Enum type the first time
+ * it is used, so checking for a Capability is a single AND.
  */
 public class Capabilities implements Capable {
-	private Set<Object> capabilitySet = new HashSet<Object>();
+
+	/**
+	 * The position of the first bit of each enum type in the bitmasks.
+	 * Every enum type used as a capability is given its own range of bits, one per constant.
+	 */
+	private static final ClassValue<Integer> OFFSETS = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return allocateBits(type.getEnumConstants().length);
+		}
+	};
+
+	private static int nextOffset = 0;
+
+	private long[] bits = new long[1];
+
+	/**
+	 * Reserves a range of bits for an enum type.
+	 *
+	 * @param count the number of constants of the enum type
+	 * @return the position of the first bit of the range
+	 */
+	private static synchronized int allocateBits(int count) {
+		int offset = nextOffset;
+		nextOffset += count;
+		return offset;
+	}
+
+	/**
+	 * Returns the bit representing a capability.
+	 *
+	 * @param capability the capability
+	 * @return the position of its bit in the bitmasks
+	 */
+	private static int bitOf(Enum<?> capability) {
+		return OFFSETS.get(capability.getDeclaringClass()) + capability.ordinal();
+	}
+
+	/**
+	 * Returns true if a bitmask contains a capability.
+	 *
+	 * @param mask the bitmask, as built by addTo()
+	 * @param capability the capability to check
+	 * @return true if and only if the bit of capability is set in mask
+	 */
+	static boolean contains(long[] mask, Enum<?> capability) {
+		int bit = bitOf(capability);
+		int word = bit >>> 6;
+		return word < mask.length && (mask[word] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * Adds these capabilities to a bitmask.
+	 *
+	 * @param mask the bitmask to add to
+	 * @return mask, or a longer copy of it if these capabilities did not fit
+	 */
+	long[] addTo(long[] mask) {
+		if (mask.length < bits.length)
+			mask = Arrays.copyOf(mask, bits.length);
+		for (int word = 0; word < bits.length; word++)
+			mask[word] |= bits[word];
+		return mask;
+	}
 
 	public boolean hasCapability(Enum<?> capability) {
-		return capabilitySet.contains(capability);
+		return contains(bits, capability);
 	}
 
 	public void addCapability(Enum<?> capability) {
-		capabilitySet.add(capability);
+		int bit = bitOf(capability);
+		int word = bit >>> 6;
+		if (word >= bits.length)
+			bits = Arrays.copyOf(bits, word + 1);
+		bits[word] |= 1L << bit;
 	}
 
 	public void removeCapability(Enum<?> capability) {
-		capabilitySet.remove(capability);
+		int bit = bitOf(capability);
+		int word = bit >>> 6;
+		if (word < bits.length)
+			bits[word] &= ~(1L << bit);
 	}
 }
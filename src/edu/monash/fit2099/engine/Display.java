@@ -18,6 +18,28 @@ public class Display  {
 		System.out.print(printable.getDisplayChar());
 	}
 
+	/**
+	 * Returns true if this Display shows the frames handed to it,
+	 * so that they are not worked out for nothing otherwise.
+	 *
+	 * @return true, as frames are written to the console
+	 */
+	public boolean wantsFrames() {
+		return true;
+	}
+
+	/**
+	 * Display a whole frame, such as a map, in a single write.
+	 *
+	 * @param frame the rows of characters to display, top row first
+	 */
+	public void printFrame(char[][] frame) {
+		StringBuilder builder = new StringBuilder();
+		for (char[] row : frame)
+			builder.append(row).append(System.lineSeparator());
+		System.out.print(builder);
+	}
+
 	/**
 	 * Prints a String and then terminates the line.
 	 * @param s the string to print
@@ -1,16 +1,27 @@
 package edu.monash.fit2099.engine;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Class that can create different types of Ground based on the character that
  * represents it.
+ *
+ * Grounds that say they are stateless are not created at all: the instance passed to the
+ * constructor is shared by every cell showing it. Other Grounds are created through a
+ * constructor handle looked up once, rather than through reflection for every cell.
  */
 public class FancyGroundFactory implements GroundFactory {
 
-	private Map<Character, Constructor<?>> map = new HashMap<Character, Constructor<?>>();
+	private static final int ASCII = 128;
+
+	@SuppressWarnings("unchecked")
+	private final Supplier<Ground>[] asciiSuppliers = (Supplier<Ground>[]) new Supplier<?>[ASCII]; // Indexed by display character
+	private final Map<Character, Supplier<Ground>> otherSuppliers = new HashMap<Character, Supplier<Ground>>();
 
 	/**
 	 * Constructor.
@@ -26,10 +37,12 @@ public class FancyGroundFactory implements GroundFactory {
 	public FancyGroundFactory(Ground... groundTypes) {
 		for (Ground ground : groundTypes) {
 			try {
-				Class<?> cls = ground.getClass();
-				Constructor<?> constructor;
-				constructor = cls.getConstructor();
-				map.put(ground.getDisplayChar(), constructor);
+				Supplier<Ground> supplier = ground.isStateless() ? () -> ground : constructorOf(ground.getClass());
+				char displayChar = ground.getDisplayChar();
+				if (displayChar < ASCII)
+					asciiSuppliers[displayChar] = supplier;
+				else
+					otherSuppliers.put(displayChar, supplier);
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
@@ -37,18 +50,40 @@ public class FancyGroundFactory implements GroundFactory {
 	}
 
 	/**
-	 * Given a character, returns a new instance of the Ground type represented by it.
+	 * Looks up the public no-argument constructor of a Ground class.
+	 *
+	 * @param cls the Ground class
+	 * @return a Supplier calling the constructor
+	 * @throws ReflectiveOperationException if the class has no public no-argument constructor
+	 */
+	private static Supplier<Ground> constructorOf(Class<? extends Ground> cls) throws ReflectiveOperationException {
+		MethodHandle constructor = MethodHandles.publicLookup()
+				.findConstructor(cls, MethodType.methodType(void.class))
+				.asType(MethodType.methodType(Ground.class));
+		return () -> {
+			try {
+				return (Ground) constructor.invokeExact();
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	/**
+	 * Given a character, returns a new instance of the Ground type represented by it,
+	 * or the shared instance if the Ground type is stateless.
 	 *
 	 * @param displayChar character that represents this Ground in the UI
 	 * @return an instance of a concrete subclass of Ground
+	 * @throws IllegalArgumentException if no Ground type is represented by the character
 	 */
 	@Override
 	public Ground newGround(char displayChar) {
-		try {
-			return (Ground) map.get(displayChar).newInstance();
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		return null;
+		Supplier<Ground> supplier = displayChar < ASCII ? asciiSuppliers[displayChar] : otherSuppliers.get(displayChar);
+		if (supplier == null)
+			throw new IllegalArgumentException("No type of Ground is represented by '" + displayChar + "'");
+		return supplier.get();
 	}
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package edu.monash.fit2099.engine;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Class representing one map within the system.
@@ -16,12 +21,49 @@ import java.util.Objects;
  * when the player leaves a map.
  * 
  * It's important to put the GameMap in the World before using it.
+ *
+ * The state of each cell is kept in compact arrays and sparse tables rather than in a
+ * Location object per cell. Locations are lightweight views of a cell, created on demand
+ * by {@link #at(int, int)}, and two Locations of the same cell are equal to each other.
+ * The eight exits to the neighbouring cells are computed from the coordinates the first time
+ * they are asked for, and kept as an unmodifiable list so that looking at them again costs nothing.
+ * Only cells whose exits have been changed store a list of Exits of their own.
  */
 public class GameMap {
 
+	/**
+	 * Names of the exits to the neighbouring cells, clockwise from North.
+	 */
+	private static final String[] EXIT_NAMES =
+			{"North", "North-East", "East", "South-East", "South", "South-West", "West", "North-West"};
+
+	/**
+	 * Menu hotkeys of the exits to the neighbouring cells, clockwise from North.
+	 */
+	private static final String[] EXIT_HOTKEYS = {"8", "9", "6", "3", "2", "1", "4", "7"};
+
+	/**
+	 * Offsets of the neighbouring cells, clockwise from North.
+	 */
+	private static final int[] EXIT_DX = {0, 1, 1, 1, 0, -1, -1, -1};
+	private static final int[] EXIT_DY = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+	/**
+	 * Number of rows of a map file turned into Grounds by one task when loading in parallel.
+	 */
+	private static final int LOAD_STRIPE_HEIGHT = 64;
+
+	/**
+	 * Maps read from a file with at least this many cells are loaded in parallel stripes of rows.
+	 */
+	private static final int PARALLEL_LOAD_CELLS = 1 << 18;
+
 	protected NumberRange heights;
 	protected NumberRange widths;
-	protected Location[][] map;
+	protected Ground[] grounds; // Indexed by y * width + x
+	protected Map<Integer, ItemPile> items; // Only cells holding Items have an entry. Concurrent, so that different cells can be ticked in parallel
+	protected Map<Integer, List<Exit>> customExits; // Only cells whose exits were changed have an entry
+	private List<Exit>[] exits; // Unmodifiable Exits of each cell, null until first asked for
 	protected ActorLocations actorLocations;
 	protected GroundFactory groundFactory;
 
@@ -65,13 +107,22 @@ public class GameMap {
 	/**
 	 * Constructor that reads a map from file.
 	 *
+	 * The file is memory-mapped and its rows are read in place, so even very large maps
+	 * are loaded without holding a copy of the file as Strings. Large maps are turned into
+	 * Grounds in parallel stripes of rows, so the GroundFactory may be called from several
+	 * threads at once.
+	 *
 	 * @param groundFactory Factory to create Ground objects
 	 * @param mapFile       Name of a file containing an ASCII representation of a
 	 *                      level
-	 * @throws IOException when file I/O fails
+	 * @throws IOException when file I/O fails, or the file is not a rectangle of ASCII characters
 	 */
 	public GameMap(GroundFactory groundFactory, String mapFile) throws IOException {
-		this(groundFactory, Files.readAllLines(Paths.get(mapFile)));
+		Objects.requireNonNull(groundFactory);
+		Objects.requireNonNull(mapFile);
+
+		this.groundFactory = groundFactory;
+		createMapFromFile(groundFactory, MapFile.open(Paths.get(mapFile)));
 	}
 
 	/**
@@ -93,6 +144,30 @@ public class GameMap {
 		}
 	}
 
+	/**
+	 * Create a map from a map file, one stripe of rows at a time.
+	 * Every stripe fills its own part of the grounds array, so the stripes can be done in parallel.
+	 *
+	 * @param groundFactory Factory to create Ground objects
+	 * @param file          The map file
+	 */
+	private void createMapFromFile(GroundFactory groundFactory, MapFile file) {
+		int width = file.width();
+		int height = file.height();
+		initMap(width, height);
+
+		IntStream stripes = IntStream.range(0, (height + LOAD_STRIPE_HEIGHT - 1) / LOAD_STRIPE_HEIGHT);
+		if ((long) width * height >= PARALLEL_LOAD_CELLS)
+			stripes = stripes.parallel();
+		stripes.forEach(stripe -> {
+			int lastRow = Math.min(height, (stripe + 1) * LOAD_STRIPE_HEIGHT);
+			for (int y = stripe * LOAD_STRIPE_HEIGHT; y < lastRow; y++) {
+				for (int x = 0; x < width; x++)
+					grounds[y * width + x] = groundFactory.newGround(file.charAt(x, y));
+			}
+		});
+	}
+
 	/**
 	 * Initialize the map.
 	 *
@@ -102,47 +177,30 @@ public class GameMap {
 	protected void initMap(int width, int height) {
 		widths = new NumberRange(0, width);
 		heights = new NumberRange(0, height);
-		map = new Location[width][height]; // Note the ordering. 0, 0 is the top left.
-											// First arg is across, second down
-		for (int x : widths) {
-			for (int y : heights) {
-				map[x][y] = makeNewLocation(x, y);
-			}
-		}
-
-		for (int x : widths) {
-			for (int y : heights) {
-				Location here = this.at(x, y);
-				addExitFromHere(here, x, y - 1, "North", "8");
-				addExitFromHere(here, x + 1, y - 1, "North-East", "9");
-				addExitFromHere(here, x + 1, y, "East", "6");
-				addExitFromHere(here, x + 1, y + 1, "South-East", "3");
-				addExitFromHere(here, x, y + 1, "South", "2");
-				addExitFromHere(here, x - 1, y + 1, "South-West", "1");
-				addExitFromHere(here, x - 1, y, "West", "4");
-				addExitFromHere(here, x - 1, y - 1, "North-West", "7");
-			}
-		}
+		grounds = new Ground[width * height]; // Note the ordering. 0, 0 is the top left.
+											  // x goes across, y goes down
+		items = new ConcurrentHashMap<Integer, ItemPile>();
+		customExits = new HashMap<Integer, List<Exit>>();
+		exits = newExitsArray(width * height);
 	}
 
 	/**
-	 * Builder method for making Exits.
-	 * @param here the current location
-	 * @param x X coordinate
-	 * @param y Y coordinate
-	 * @param name name of the Exit
-	 * @param hotKey the hotkey for the appropiate Action
+	 * Creates the array the Exits of every cell are kept in.
+	 *
+	 * @param cells the number of cells of the map
+	 * @return an array of nulls
 	 */
-	protected void addExitFromHere(Location here, int x, int y, String name, String hotKey) {
-		if (widths.contains(x) && heights.contains(y)) {
-			here.addExit(new Exit(name, this.at(x, y), hotKey));
-		}
+	@SuppressWarnings("unchecked")
+	private static List<Exit>[] newExitsArray(int cells) {
+		return (List<Exit>[]) new List<?>[cells];
 	}
 
 	/**
 	 * Creates a new Location.
 	 * 
 	 * Override this method if you want a map based around different Location types.
+	 * Locations are created every time one is asked for, so they must not hold any state
+	 * of their own: use the GameMap to store it.
 	 *
 	 * @param x X coordinate
 	 * @param y Y coordinate
@@ -152,21 +210,179 @@ public class GameMap {
 		return new Location(this, x, y);
 	}
 
+	/**
+	 * Returns the index of a Location's cell in the arrays of this map.
+	 *
+	 * @param location a Location on this map
+	 * @return the index of the cell
+	 */
+	int indexOf(Location location) {
+		return location.y() * widths.size() + location.x();
+	}
+
+	/**
+	 * Returns the Ground of a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @return the Ground of the cell
+	 */
+	Ground groundAt(Location location) {
+		return grounds[indexOf(location)];
+	}
+
+	/**
+	 * Sets the Ground of a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @param ground the Ground to set
+	 */
+	void setGroundAt(Location location, Ground ground) {
+		grounds[indexOf(location)] = ground;
+	}
+
+	/**
+	 * Returns the Items in a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @return the pile of Items in the cell, or null if there are none
+	 */
+	ItemPile itemsAt(Location location) {
+		return items.get(indexOf(location));
+	}
+
+	/**
+	 * Adds an Item to a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @param item the Item to add
+	 */
+	void addItemAt(Location location, Item item) {
+		items.computeIfAbsent(indexOf(location), index -> new ItemPile()).put(item);
+	}
+
+	/**
+	 * Removes an Item from a Location's cell, if it is there.
+	 *
+	 * @param location a Location on this map
+	 * @param item the Item to remove
+	 */
+	void removeItemAt(Location location, Item item) {
+		int index = indexOf(location);
+		ItemPile itemsHere = items.get(index);
+		if (itemsHere != null && itemsHere.take(item) && itemsHere.isEmpty())
+			items.remove(index);
+	}
+
+	/**
+	 * Replaces the Items in a cell, e.g. when restoring a saved game.
+	 *
+	 * @param index the index of the cell
+	 * @param itemsHere the Items now in the cell, in the order they were put down
+	 */
+	protected void setItemsAt(int index, List<Item> itemsHere) {
+		if (itemsHere.isEmpty())
+			items.remove(index);
+		else
+			items.put(index, new ItemPile(itemsHere));
+	}
+
+	/**
+	 * Returns the Exits from a Location's cell.
+	 *
+	 * Unless they have been changed, these are the exits to the neighbouring cells
+	 * that are within the map, computed from the coordinates of the cell the first time they are asked for.
+	 * Threads asking for the same cell at once may both compute them, but they get equal lists,
+	 * and an unmodifiable list is safe to share between threads.
+	 *
+	 * @param location a Location on this map
+	 * @return the unmodifiable list of Exits from the cell
+	 */
+	List<Exit> exitsFrom(Location location) {
+		int index = indexOf(location);
+		List<Exit> exitsHere = exits[index];
+		if (exitsHere == null) {
+			exitsHere = computeExits(location);
+			exits[index] = exitsHere;
+		}
+		return exitsHere;
+	}
+
+	/**
+	 * Computes the exits to the neighbouring cells of a Location's cell that are within the map.
+	 *
+	 * @param location a Location on this map
+	 * @return the unmodifiable list of Exits from the cell
+	 */
+	private List<Exit> computeExits(Location location) {
+		List<Exit> exitsHere = new ArrayList<Exit>(EXIT_NAMES.length);
+		for (int i = 0; i < EXIT_NAMES.length; i++) {
+			int x = location.x() + EXIT_DX[i];
+			int y = location.y() + EXIT_DY[i];
+			if (widths.contains(x) && heights.contains(y))
+				exitsHere.add(new Exit(EXIT_NAMES[i], at(x, y), EXIT_HOTKEYS[i]));
+		}
+		return List.copyOf(exitsHere);
+	}
+
+	/**
+	 * Adds an Exit to a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @param exit the Exit to add
+	 */
+	void addExitAt(Location location, Exit exit) {
+		customiseExits(location).add(exit);
+	}
+
+	/**
+	 * Removes an Exit from a Location's cell.
+	 *
+	 * @param location a Location on this map
+	 * @param exit the Exit to remove
+	 */
+	void removeExitAt(Location location, Exit exit) {
+		customiseExits(location).remove(exit);
+	}
+
+	/**
+	 * Returns the stored list of Exits of a Location's cell,
+	 * storing a copy of the computed exits first if they have not been changed before.
+	 * From then on, the cell is given an unmodifiable view of the stored list.
+	 *
+	 * @param location a Location on this map
+	 * @return the stored list of Exits from the cell
+	 */
+	private List<Exit> customiseExits(Location location) {
+		int index = indexOf(location);
+		List<Exit> exitsHere = customExits.get(index);
+		if (exitsHere == null) {
+			exitsHere = new ArrayList<Exit>(exitsFrom(location));
+			customExits.put(index, exitsHere);
+			exits[index] = Collections.unmodifiableList(exitsHere);
+		}
+		return exitsHere;
+	}
+
 	/**
 	 * Display the current GameMap.
 	 * 
 	 * Draws Actors, then locations. These need to be printed in rows because that's the way the
-	 * console works.
+	 * console works. The rows are handed to the Display as one frame, so that it can write them
+	 * all at once, or only those that have changed. Nothing is drawn for a Display that does not want frames.
 	 * 
 	 * @param display Display that will draw the state of the game
 	 */
 	public void draw(Display display) {
+		if (!display.wantsFrames())
+			return;
+
+		char[][] frame = new char[heights.size()][widths.size()];
 		for (int y : heights) {
 			for (int x : widths) {
-				display.print(this.at(x, y));
+				frame[y][x] = this.at(x, y).getDisplayChar();
 			}
-			display.endLine();
 		}
+		display.printFrame(frame);
 	}
 
 	/**
@@ -174,9 +390,12 @@ public class GameMap {
 	 * @param x X coordinate
 	 * @param y Y coordinate
 	 * @return the Location at (x, y)
+	 * @throws IndexOutOfBoundsException if (x, y) is not on this map
 	 */
 	public Location at(int x, int y) {
-		return map[x][y];
+		if (!widths.contains(x) || !heights.contains(y))
+			throw new IndexOutOfBoundsException("(" + x + ", " + y + ") is not on the map");
+		return makeNewLocation(x, y);
 	}
 
 	/**
@@ -216,7 +435,19 @@ public class GameMap {
 	 * Called once per turn, so that maps can experience the passage of time.
 	 */
 	public void tick() {
-		// Tick over all the items in inventories.
+		tickInventories();
+
+		for (int y : heights) {
+			for (int x : widths) {
+				this.at(x, y).tick();
+			}
+		}
+	}
+
+	/**
+	 * Tick over all the items in the inventories of the Actors on this map.
+	 */
+	protected void tickInventories() {
 		for (Actor actor : actorLocations) {
 			if (this.contains(actor)) {
 				for (Item item : new ArrayList<Item>(actor.getInventory())) { // Copy the list in case the item wants to leave
@@ -224,12 +455,6 @@ public class GameMap {
 				}
 			}
 		}
-
-		for (int y : heights) {
-			for (int x : widths) {
-				this.at(x, y).tick();
-			}
-		}
 	}
 
 	/**
@@ -295,6 +520,31 @@ public class GameMap {
 		return actorLocations.isAnActorAt(location);
 	}
 
+	/**
+	 * Returns the Actor nearest to a Location on this GameMap that satisfies a condition.
+	 *
+	 * @param location the Location to search around
+	 * @param condition the condition the Actor must satisfy
+	 * @param maxRange the largest number of steps the Actor may be from location
+	 * @return the nearest Actor satisfying condition within maxRange steps, or null if there isn't one
+	 * @see ActorLocations#nearestActor(Location, Predicate, int)
+	 */
+	public Actor nearestActor(Location location, Predicate<Actor> condition, int maxRange) {
+		return actorLocations.nearestActor(location, condition, maxRange);
+	}
+
+	/**
+	 * Returns the Actors within a number of steps of a Location on this GameMap.
+	 *
+	 * @param location the Location to search around
+	 * @param radius the largest number of steps an Actor may be from location
+	 * @return a new List of the Actors within radius steps of location
+	 * @see ActorLocations#actorsWithin(Location, int)
+	 */
+	public List<Actor> actorsWithin(Location location, int radius) {
+		return actorLocations.actorsWithin(location, radius);
+	}
+
 	/**
 	 * Is the given Actor on this GameMap?
 	 * 
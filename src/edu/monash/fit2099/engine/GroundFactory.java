@@ -2,6 +2,9 @@ package edu.monash.fit2099.engine;
 
 /**
  * Interface for factory classes used by GameMap to create new map locations.
+ *
+ * GameMap may call newGround() from several threads at once when loading a large map from a file.
+ * A factory may return the same instance for several cells if the Ground is stateless.
  */
 public interface GroundFactory {
 	Ground newGround(char displayChar);
@@ -1,6 +1,7 @@
 package edu.monash.fit2099.engine;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.monash.fit2099.interfaces.ItemInterface;
 
@@ -14,7 +15,13 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 	protected String name;
 	protected char displayChar;
 	protected Actions allowableActions;
-	protected Capabilities capabilities = new Capabilities();
+	protected Capabilities capabilities = new Capabilities(); // Change through addCapability() and removeCapability(), so carriers notice
+
+	/**
+	 * Number of times the Capabilities of any Item have changed.
+	 * Lets Actors know when the Capabilities they get from their inventory may be out of date.
+	 */
+	private static final AtomicInteger capabilityChanges = new AtomicInteger();
 
 	/***
 	 * Constructor.
@@ -120,6 +127,7 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 	 */
 	public void addCapability(Enum<?> capability) {
 		capabilities.addCapability(capability);
+		capabilityChanges.incrementAndGet();
 	}
 
 	/**
@@ -129,5 +137,15 @@ public abstract class Item implements ItemInterface, Printable, Capable {
 	 */
 	public void removeCapability(Enum<?> capability) {
 		capabilities.removeCapability(capability);
+		capabilityChanges.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of times the Capabilities of any Item have changed.
+	 *
+	 * @return the number of changes so far
+	 */
+	static int capabilityChanges() {
+		return capabilityChanges.get();
 	}
 }
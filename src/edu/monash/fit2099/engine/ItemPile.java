@@ -0,0 +1,142 @@
+package edu.monash.fit2099.engine;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Items lying in one cell of a map, in the order they were put down.
+ *
+ * Besides the list itself, a pile keeps the Items of each class in a bucket of their own,
+ * so that counting them or checking whether an Item is here only looks at Items of the same class,
+ * and remembers the Item on top, which is the one drawn.
+ *
+ * A pile is read-only to everyone but its map, so it can be handed out as it is
+ * instead of being wrapped in an unmodifiable List every time.
+ */
+public class ItemPile extends AbstractList<Item> {
+
+	/**
+	 * A pile with nothing in it, for the cells with no Items.
+	 */
+	static final ItemPile EMPTY = new ItemPile();
+
+	private final List<Item> items = new ArrayList<>(1);
+	private final Map<Class<? extends Item>, List<Item>> buckets = new HashMap<>(2);
+	private Item top;
+
+	/**
+	 * Constructor, for an empty pile.
+	 */
+	ItemPile() {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param items the Items in the pile, in the order they were put down
+	 */
+	ItemPile(List<Item> items) {
+		for (Item item : items)
+			put(item);
+	}
+
+	/**
+	 * Returns the Item at a position in the pile.
+	 *
+	 * @param index the position, 0 for the Item put down first
+	 * @return the Item
+	 */
+	@Override
+	public Item get(int index) {
+		return items.get(index);
+	}
+
+	/**
+	 * Returns the number of Items in the pile.
+	 *
+	 * @return the number of Items
+	 */
+	@Override
+	public int size() {
+		return items.size();
+	}
+
+	/**
+	 * Returns true if an Item is in the pile, looking only at the Items of its class.
+	 *
+	 * @param o the Item to look for
+	 * @return true if it is in the pile
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof Item))
+			return false;
+
+		List<Item> bucket = buckets.get(o.getClass());
+		return bucket != null && bucket.contains(o);
+	}
+
+	/**
+	 * Returns the number of Items of a class in the pile. Items of its subclasses are not counted.
+	 *
+	 * @param type the class of Item
+	 * @return the number of Items of exactly that class
+	 */
+	public int count(Class<? extends Item> type) {
+		List<Item> bucket = buckets.get(type);
+		return bucket == null ? 0 : bucket.size();
+	}
+
+	/**
+	 * Returns the first Item of a class put down in the pile. Items of its subclasses are not considered.
+	 *
+	 * @param type the class of Item
+	 * @param <T> the class of Item
+	 * @return the Item, or null if there is no Item of exactly that class
+	 */
+	public <T extends Item> T first(Class<T> type) {
+		List<Item> bucket = buckets.get(type);
+		return bucket == null ? null : type.cast(bucket.get(0));
+	}
+
+	/**
+	 * Returns the Item put down last, which is the one seen on top of the pile.
+	 *
+	 * @return the Item on top, or null if the pile is empty
+	 */
+	public Item top() {
+		return top;
+	}
+
+	/**
+	 * Puts an Item on top of the pile.
+	 *
+	 * @param item the Item
+	 */
+	void put(Item item) {
+		items.add(item);
+		buckets.computeIfAbsent(item.getClass(), type -> new ArrayList<>(1)).add(item);
+		top = item;
+	}
+
+	/**
+	 * Takes an Item out of the pile, if it is there.
+	 *
+	 * @param item the Item
+	 * @return true if the Item was in the pile
+	 */
+	boolean take(Item item) {
+		List<Item> bucket = buckets.get(item.getClass());
+		if (bucket == null || !bucket.remove(item))
+			return false;
+
+		if (bucket.isEmpty())
+			buckets.remove(item.getClass());
+		items.remove(item);
+		top = items.isEmpty() ? null : items.get(items.size() - 1);
+		return true;
+	}
+}
@@ -6,16 +6,15 @@ import java.util.*;
 /**
  * Class representing a location in the game map.  This includes keeping track of exits,
  * character representation, terrain type, and other game data.
+ *
+ * A Location is a view of one cell of its map: the exits, terrain and items are stored
+ * by the GameMap, so any number of Locations can refer to the same cell.
  */
 public class Location implements Printable {
 
-	private GameMap map;
-	private int x;
-	private int y;
-
-	private List<Item> items = new ArrayList<>();
-	private Ground ground;
-	private List<Exit> exits = new ArrayList<>();
+	private final GameMap map;
+	private final int x;
+	private final int y;
 
 	/**
 	 * Constructor.
@@ -60,14 +59,15 @@ public class Location implements Printable {
 	}
 
 	/**
-	 * Returns a list of items at this location.
+	 * Returns the items at this location.
 	 *
-	 * This list uses Collections.unmodifiableList() to prevent privacy leaks.
+	 * The ItemPile is read-only, to prevent privacy leaks.
 	 *
-	 * @return an unmodifiable List of items at this location
+	 * @return an unmodifiable pile of items at this location
 	 */
-	public List<Item> getItems() {
-		return Collections.unmodifiableList(items);
+	public ItemPile getItems() {
+		ItemPile items = map.itemsAt(this);
+		return items == null ? ItemPile.EMPTY : items;
 	}
 
 	/** Add an item to this location.
@@ -76,7 +76,7 @@ public class Location implements Printable {
 	 */
 	public void addItem(Item item) {
 		Objects.requireNonNull(item);
-		items.add(item);
+		map.addItemAt(this, item);
 	}
 
 	/**
@@ -86,7 +86,7 @@ public class Location implements Printable {
 	 */
 	public void removeItem(Item item) {
 		Objects.requireNonNull(item);
-		items.remove(item);
+		map.removeItemAt(this, item);
 	}
 
 	/**
@@ -94,7 +94,7 @@ public class Location implements Printable {
 	 * @return the ground at this location
 	 */
 	public Ground getGround() {
-		return ground;
+		return map.groundAt(this);
 	}
 
 	/**
@@ -103,7 +103,7 @@ public class Location implements Printable {
 	 * @param ground Ground type to set
 	 */
 	public void setGround(Ground ground) {
-		this.ground = ground;
+		map.setGroundAt(this, ground);
 	}
 	
 	/**
@@ -111,7 +111,17 @@ public class Location implements Printable {
 	 * important to them.
 	 */
 	public void tick() {
-		ground.tick(this);
+		getGround().tick(this);
+		tickItems();
+	}
+
+	/**
+	 * Called once per turn by tick(), so that the items at this Location can experience the passage of time.
+	 */
+	public void tickItems() {
+		ItemPile items = map.itemsAt(this);
+		if (items == null)
+			return;
 		for(Item item :  new ArrayList<>(items)) {
 			item.tick(this);
 		}
@@ -171,7 +181,7 @@ public class Location implements Printable {
 	 * @return true if the Actor can enter this location
 	 */
 	public boolean canActorEnter(Actor actor) {
-		return !map.isAnActorAt(this) && ground.canActorEnter(actor);
+		return !map.isAnActorAt(this) && getGround().canActorEnter(actor);
 	}
 
 	/**
@@ -185,13 +195,14 @@ public class Location implements Printable {
 	@Override
 	public char getDisplayChar() {
 		Printable thing;
+		ItemPile items = map.itemsAt(this);
 		
 		if(this.containsAnActor()) 
 			thing = this.getActor();
-		else if (items.size() > 0)
-			thing = items.get(items.size() - 1);
+		else if (items != null && items.top() != null)
+			thing = items.top();
 		else
-			thing = ground;
+			thing = getGround();
 		
 		return thing.getDisplayChar();
 	}
@@ -200,7 +211,7 @@ public class Location implements Printable {
 	 * Compare two Locations for equality.
 	 *
 	 * @param obj the object (presumably a Location) to compare
-	 * @return true if obj is a reference to the current Location
+	 * @return true if obj refers to the same cell of the same map as the current Location
 	 */
 	@Override
 	public boolean equals(Object obj) {
@@ -220,11 +231,13 @@ public class Location implements Printable {
 
 	/**
 	 * Computes a hash for the current Location.
+	 *
+	 * Every cell of a map hashes to its own index, so Locations spread evenly in hash tables.
 	 * @return the hash
 	 */
 	@Override
 	public int hashCode() {
-		return map.hashCode() ^ y() << 16 ^ x();
+		return map.hashCode() * 31 + map.indexOf(this);
 	}
 
 	/**
@@ -233,7 +246,7 @@ public class Location implements Printable {
 	 * @return an unmodifiable list of exits
 	 */
 	public List<Exit> getExits() {
-		return Collections.unmodifiableList(exits);
+		return map.exitsFrom(this);
 	}
 
 	/**
@@ -243,7 +256,7 @@ public class Location implements Printable {
 	 * @param exit the exit to add
 	 */
 	public void addExit(Exit exit) {
-		exits.add(exit);
+		map.addExitAt(this, exit);
 	}
 	
 	/**
@@ -253,6 +266,6 @@ public class Location implements Printable {
 	 * @param exit the exit to remove
 	 */
 	public void removeExit(Exit exit) {
-		exits.remove(exit);
+		map.removeExitAt(this, exit);
 	}
 }
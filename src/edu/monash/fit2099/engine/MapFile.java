@@ -0,0 +1,132 @@
+package edu.monash.fit2099.engine;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An ASCII map file, read in place without turning its rows into Strings.
+ *
+ * The file is memory-mapped, and a single pass over it records where each row starts
+ * and checks that every row is as wide as the first one. Cells are then read straight
+ * from the mapped file, and can be read from several threads at once.
+ * Rows may end with either "\n" or "\r\n", and the last row does not need to end at all.
+ */
+final class MapFile {
+
+	/**
+	 * Number of bytes scanned at a time when looking for the ends of rows.
+	 */
+	private static final int SCAN_CHUNK = 64 * 1024;
+
+	private final MappedByteBuffer contents;
+	private final int[] rowStarts; // Offset of the first character of each row in the file
+	private final int width;
+
+	private MapFile(MappedByteBuffer contents, int[] rowStarts, int width) {
+		this.contents = contents;
+		this.rowStarts = rowStarts;
+		this.width = width;
+	}
+
+	/**
+	 * Maps a map file into memory and finds its rows.
+	 *
+	 * @param file the map file
+	 * @return the map file, ready to be read
+	 * @throws IOException if the file cannot be read, is empty or too large,
+	 * contains a character that is not ASCII, or has rows of different widths
+	 */
+	static MapFile open(Path file) throws IOException {
+		MappedByteBuffer contents;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Map file is larger than 2 GB: " + file);
+			contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		int size = contents.capacity();
+		int[] rowStarts = new int[16];
+		int height = 0;
+		int width = -1;
+		int rowStart = 0;
+		byte[] chunk = new byte[SCAN_CHUNK];
+		for (int chunkStart = 0; chunkStart < size; chunkStart += SCAN_CHUNK) {
+			int chunkLength = Math.min(SCAN_CHUNK, size - chunkStart);
+			contents.get(chunkStart, chunk, 0, chunkLength);
+			for (int i = 0; i < chunkLength; i++) {
+				byte b = chunk[i];
+				if (b == '\n') {
+					int rowEnd = chunkStart + i;
+					if (rowEnd > rowStart && contents.get(rowEnd - 1) == '\r')
+						rowEnd--;
+					width = checkWidth(file, width, rowEnd - rowStart, height);
+					if (height == rowStarts.length)
+						rowStarts = Arrays.copyOf(rowStarts, height * 2);
+					rowStarts[height++] = rowStart;
+					rowStart = chunkStart + i + 1;
+				} else if (b < 0)
+					throw new IOException(String.format("%s: character at row %d, column %d is not ASCII",
+							file, height, chunkStart + i - rowStart));
+			}
+		}
+		if (rowStart < size) { // The last row has no line terminator
+			width = checkWidth(file, width, size - rowStart, height);
+			if (height == rowStarts.length)
+				rowStarts = Arrays.copyOf(rowStarts, height + 1);
+			rowStarts[height++] = rowStart;
+		}
+
+		if (height == 0 || width == 0)
+			throw new IOException("Map file is empty: " + file);
+		if ((long) width * height > Integer.MAX_VALUE)
+			throw new IOException(String.format("%s: a %dx%d map has too many cells", file, width, height));
+
+		return new MapFile(contents, Arrays.copyOf(rowStarts, height), width);
+	}
+
+	/**
+	 * Checks that a row is as wide as the rows before it.
+	 *
+	 * @param file  the map file, for error messages
+	 * @param width width of the rows so far, or -1 if this is the first row
+	 * @param rowWidth width of this row
+	 * @param row  index of this row
+	 * @return the width of the map
+	 * @throws IOException if the row has a different width
+	 */
+	private static int checkWidth(Path file, int width, int rowWidth, int row) throws IOException {
+		if (width >= 0 && rowWidth != width)
+			throw new IOException(String.format("%s: row %d is %d characters wide, but row 0 is %d",
+					file, row, rowWidth, width));
+		return rowWidth;
+	}
+
+	/**
+	 * @return the number of characters in each row
+	 */
+	int width() {
+		return width;
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	int height() {
+		return rowStarts.length;
+	}
+
+	/**
+	 * Returns the character of a cell.
+	 *
+	 * @param x column of the cell
+	 * @param y row of the cell
+	 * @return the character at that position in the file
+	 */
+	char charAt(int x, int y) {
+		return (char) contents.get(rowStarts[y] + x);
+	}
+}
@@ -58,6 +58,19 @@ public class MoveActorAction extends Action {
 		return menuDescription(actor);
 	}
 
+	/**
+	 * Returns true if nobody has taken the destination since the move was decided,
+	 * and the Actor can still enter it.
+	 *
+	 * @param actor The actor performing the action.
+	 * @param map The map the actor is on.
+	 * @return true if the Actor can move to the destination
+	 */
+	@Override
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return moveToLocation.canActorEnter(actor);
+	}
+
 	/**
 	 * Returns a description of this movement suitable to display in the menu.
 	 *
@@ -1,61 +1,87 @@
 package edu.monash.fit2099.engine;
 
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * A class that represents an array of sequential numbers.
- * 
+ *
  * Counted for loops can cause off by one errors, and using this class can
  * let you use enhanced for loops instead.  Python programmers should be familiar
  * with this idiom.
+ *
+ * Only the bounds of the range are stored, so a range costs the same
+ * no matter how many numbers it contains.
  */
 public class NumberRange implements Iterable<Integer> {
 
-	private List<Integer> list;
+	private final int start;
+	private final int count;
 
 	public NumberRange(int start, int count) {
-		// Iterators can be used to remove elements. Who knew?
-		List<Integer> innerList = new ArrayList<Integer>();
-		list = Collections.unmodifiableList(innerList);
-
-		for (int i = start; i < start + count; i++) {
-			innerList.add(i);
-		}
+		this.start = start;
+		this.count = Math.max(count, 0);
 	}
 
 	@Override
 	public Iterator<Integer> iterator() {
-		return list.iterator();
+		// Iterators can be used to remove elements. Who knew? Not this one.
+		return new Iterator<Integer>() {
+			private int next = start;
+
+			@Override
+			public boolean hasNext() {
+				return next < start + count;
+			}
+
+			@Override
+			public Integer next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return next++;
+			}
+		};
 	}
 
 	/**
 	 * Return the smallest int in the range.
 	 * @return the smallest int in the range.
+	 * @throws IndexOutOfBoundsException if the range is empty
 	 */
 	public int min() {
-		return list.get(0);
+		if (count == 0)
+			throw new IndexOutOfBoundsException();
+		return start;
 	}
 
 	/**
 	 * Return the largest int in the range.
 	 * @return the largest int in the range.
+	 * @throws IndexOutOfBoundsException if the range is empty
 	 */
 	public int max() {
-		return list.get(list.size() - 1);
+		if (count == 0)
+			throw new IndexOutOfBoundsException();
+		return start + count - 1;
+	}
+
+	/**
+	 * Return how many ints are in the range.
+	 * @return the number of ints in the range.
+	 */
+	public int size() {
+		return count;
 	}
 
 	/**
 	 * Returns true if the range contains the given int.
-	 * 
+	 *
 	 * @param i the int to check for.
 	 * @return true if i lies between min and max, false otherwise.
 	 */
 	public boolean contains(int i) {
-		return list.contains(i);
+		return i >= start && i < start + count;
 	}
 
 }
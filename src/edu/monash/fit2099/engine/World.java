@@ -92,6 +92,29 @@ public class World {
 	/**
 	 * Gives an Actor its turn.
 	 *
+	 * Actors that choose their Actions from the menu are given the Actions they can take,
+	 * as listed in allowableActions(). Actors that decide for themselves are given no Actions,
+	 * so that the menu is not built for nothing.
+	 *
+	 * @param actor the Actor whose turn it is.
+	 * @see edu.monash.fit2099.interfaces.ActorInterface#usesActionMenu()
+	 */
+	protected void processActorTurn(Actor actor) {
+		Location here = actorLocations.locationOf(actor);
+		GameMap map = here.map();
+
+		Actions actions = actor.usesActionMenu() ? allowableActions(actor, here) : new Actions();
+
+		Action action = actor.playTurn(actions, lastActionMap.get(actor), map, display);
+		lastActionMap.put(actor, action);
+		
+		String result = action.execute(actor, map);
+		display.println(result);
+	}
+
+	/**
+	 * Returns the Actions an Actor can take from where it is.
+	 *
 	 * The Actions an Actor can take include:
 	 * <ul>
 	 * <li>those conferred by items it is carrying</li>
@@ -101,10 +124,11 @@ public class World {
 	 * <li>skipping a turn</li>
 	 * </ul>
 	 *
-	 * @param actor the Actor whose turn it is.
+	 * @param actor the Actor whose turn it is
+	 * @param here the Location of the Actor
+	 * @return the Actions the Actor can take
 	 */
-	protected void processActorTurn(Actor actor) {
-		Location here = actorLocations.locationOf(actor);
+	protected Actions allowableActions(Actor actor, Location here) {
 		GameMap map = here.map();
 
 		Actions actions = new Actions();
@@ -134,11 +158,7 @@ public class World {
 		}
 		actions.add(new DoNothingAction());
 
-		Action action = actor.playTurn(actions, lastActionMap.get(actor), map, display);
-		lastActionMap.put(actor, action);
-		
-		String result = action.execute(actor, map);
-		display.println(result);
+		return actions;
 	}
 
 	/**
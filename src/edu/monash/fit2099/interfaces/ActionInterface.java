@@ -1,9 +1,28 @@
 package edu.monash.fit2099.interfaces;
 
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.GameMap;
+
 /**
  * This interface provides the ability to add methods to Action, without modifying code in the engine,
  * or downcasting references in the game.   
  */
 public interface ActionInterface {
 
+    /**
+     * Returns true if the Action can still be executed as it was decided.
+     *
+     * Actions are usually executed as soon as they are chosen. When Actors decide in parallel,
+     * they all decide against the world as it was before any of them acted, so by the time
+     * an Action is executed, an Actor earlier in the turn may have taken the same Location,
+     * eaten the same food or killed the same prey.
+     *
+     * @param actor The Actor that decided on the Action
+     * @param map   The map the Actor is on
+     * @return true if the Action can be executed, false if the Actor must decide again
+     */
+    default boolean isStillValid(Actor actor, GameMap map) {
+        return true;
+    }
+
 }
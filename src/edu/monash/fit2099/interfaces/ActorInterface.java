@@ -29,6 +29,16 @@ public interface ActorInterface {
         return null;
     }
 
+    /**
+     * Returns true if the Actor chooses its Action from the menu of Actions passed to playTurn.
+     * Actors that decide for themselves should return false, so that the menu is not built for them.
+     *
+     * @return true if the Actor needs the menu of Actions, false otherwise
+     */
+    default boolean usesActionMenu() {
+        return true;
+    }
+
     /**
      * Creates and returns the corpse of the Actor.
      *
@@ -6,4 +6,26 @@ package edu.monash.fit2099.interfaces;
  */
 public interface GroundInterface {
 
+    /**
+     * Returns true if the Ground never changes after it has been created,
+     * so that a single instance can be shared by every cell showing it.
+     * A stateless Ground must not be given capabilities after construction.
+     *
+     * @return true if instances of the Ground can be shared, false otherwise
+     */
+    default boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Returns true if ticking the Ground does nothing,
+     * so that the cells showing it need not be ticked every turn.
+     * A stateless Ground has nothing to change, so is inert unless it says otherwise.
+     *
+     * @return true if the Ground does nothing when ticked, false otherwise
+     */
+    default boolean isInert() {
+        return isStateless();
+    }
+
 }
@@ -1,14 +1,26 @@
 package game;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.management.JMException;
 
+import edu.monash.fit2099.engine.AnsiDisplay;
 import edu.monash.fit2099.engine.Display;
 import edu.monash.fit2099.engine.FancyGroundFactory;
+import game.events.*;
 import game.dinosaurs.Allosaur;
 import game.dinosaurs.Brachiosaur;
 import game.dinosaurs.Pterodactyl;
 import game.dinosaurs.Stegosaur;
 import game.grounds.*;
+import game.metrics.MetricsCsv;
 
 
 /**
@@ -18,6 +30,14 @@ import game.grounds.*;
  */
 public class Application {
 
+	/**
+	 * The events shown on the console while the game is played, those the game has always told the Player about.
+	 * Eco points are earned and turns profiled far too often to show them all, so they are only logged.
+	 */
+	private static final List<Class<? extends GameEvent>> PRINTED_EVENTS = List.of(MovesLeft.class, RainFell.class,
+			DinosaurFertile.class, EggLaid.class, DinosaurUnconscious.class, ActorDied.class,
+			DinosaurHungry.class, DinosaurThirsty.class, FlightChanged.class);
+
 	/**
 	 * Maximum number of turns before the game ends.
 	 * Only used in Challenge Mode.
@@ -30,110 +50,464 @@ public class Application {
 	 */
 	private static Integer winningPoints;
 
+	/**
+	 * The pool used to tick the maps in parallel,
+	 * or null to tick them sequentially.
+	 */
+	private static ForkJoinPool tickPool;
+
+	/**
+	 * The pool the Dinosaurs decide what to do in, all at once,
+	 * or null to let every Actor play its whole turn before the next one.
+	 */
+	private static ForkJoinPool decisionPool;
+
+	/**
+	 * The seed every game is started from,
+	 * or null to start every game from a different seed.
+	 */
+	private static Long seed;
+
+	/**
+	 * Number of headless runs played at the same time, each on a thread of its own.
+	 */
+	private static int threads = 1;
+
+	/**
+	 * Chance of a rain cell forming on each map every turn, 0 for none.
+	 */
+	private static double rainCells;
+
+	/**
+	 * True if the game is displayed on a terminal that understands ANSI escape codes,
+	 * so that only the parts of the map that changed are redrawn.
+	 */
+	private static boolean ansi;
+
+	/**
+	 * Snapshot every game is restored from once created, or null to start every game afresh.
+	 */
+	private static Path loadSnapshot;
+
+	/**
+	 * File the world is saved to at the end of each headless run, or null to not save it.
+	 */
+	private static Path saveSnapshot;
+
+	/**
+	 * File every event of the game is written to, or null to not log the events.
+	 */
+	private static Path eventLog;
+
+	/**
+	 * True if headless runs report how many events of each type happened.
+	 */
+	private static boolean countEvents;
+
+	/**
+	 * True if the turns of every game are profiled, and headless runs report where the time went.
+	 */
+	private static boolean profile;
+
+	/**
+	 * File the profile of every turn is written to, or null to not write it.
+	 */
+	private static Path metricsCsv;
+
 	/**
 	 * The driver method.
+	 *
+	 * Runs a headless batch simulation instead of the interactive game when started with
+	 * {@code --headless <turns> [runs]}: the Player idles, nothing is displayed, and the
+	 * ecosystem is simulated for the given number of turns as fast as possible.
+	 *
+	 * The Grounds of the maps are updated in parallel when {@code --parallel} is also given,
+	 * and every game plays out the same way when {@code --seed <seed>} is given.
+	 * With {@code --threads <n>}, up to n headless runs are played at the same time, each in a world of its own,
+	 * and the files they write are named after their run.
+	 * With {@code --parallel-decisions}, the Dinosaurs decide what to do in parallel,
+	 * then carry out their decisions one at a time (see GameWorld.setDecisionPool()).
+	 * With {@code --ansi}, the map is redrawn in place, writing only the rows that changed.
+	 * With {@code --rain-cells <chance>}, rain cells form on the edges of every map with the given chance
+	 * each turn and drift across it (see Weather).
+	 *
+	 * Every game starts from a snapshot taken earlier when {@code --load-snapshot <file>} is given,
+	 * and headless runs save a snapshot of the world when done when {@code --save-snapshot <file>} is given.
+	 * The events of the game are written to a file with {@code --log-events <file>},
+	 * and headless runs report how many events of each type happened with {@code --count-events}.
+	 * With {@code --profile}, the phases of every turn are timed, the Metrics are registered
+	 * with JMX, and headless runs report where the time went. {@code --metrics-csv <file>}
+	 * also profiles the game, writing a row per turn to the file.
 	 */
 	public static void main(String[] args) {
+		List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (arguments.remove("--parallel"))
+			tickPool = ForkJoinPool.commonPool();
+		if (arguments.remove("--parallel-decisions"))
+			decisionPool = ForkJoinPool.commonPool();
+		ansi = arguments.remove("--ansi");
+		countEvents = arguments.remove("--count-events");
+		profile = arguments.remove("--profile");
+		String seedArgument = removeOption(arguments, "--seed");
+		if (seedArgument != null)
+			seed = Long.parseLong(seedArgument);
+		String threadsArgument = removeOption(arguments, "--threads");
+		if (threadsArgument != null)
+			threads = Integer.parseInt(threadsArgument);
+		String rainArgument = removeOption(arguments, "--rain-cells");
+		if (rainArgument != null)
+			rainCells = Double.parseDouble(rainArgument);
+		String loadArgument = removeOption(arguments, "--load-snapshot");
+		if (loadArgument != null)
+			loadSnapshot = Path.of(loadArgument);
+		String saveArgument = removeOption(arguments, "--save-snapshot");
+		if (saveArgument != null)
+			saveSnapshot = Path.of(saveArgument);
+		String logArgument = removeOption(arguments, "--log-events");
+		if (logArgument != null)
+			eventLog = Path.of(logArgument);
+		String csvArgument = removeOption(arguments, "--metrics-csv");
+		if (csvArgument != null)
+			metricsCsv = Path.of(csvArgument);
+		args = arguments.toArray(new String[0]);
+
+		if (args.length > 0 && args[0].equals("--headless")) {
+			int turns = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+			int runs = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+			simulate(turns, runs);
+			return;
+		}
+
 		while (true) {
 			int gameMode = promptGameMode();
 
 			if (gameMode == 3)
 				break;
 
-			GameWorld world = new GameWorld(new Display(), maxTurns, winningPoints);
-
-			FancyGroundFactory groundFactory =
-					new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
-
-			List<String> map1 = Arrays.asList(
-					"................................................................................",
-					"................................................................................",
-					"................................................................................",
-					"................................................................................",
-					"...............~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~...............",
-					"...............~################################################~...............",
-					"...............~#______________________________________________#~...............",
-					"...............~#___#####__#####___####___###___#___#__####____#~...............",
-					"...............~#___#______#______#______#___#__##__#__#___#___#~...............",
-					"...............~#___#####__#####__#______#___#__#_#_#__#___#___#~...............",
-					"...............~#_______#__#______#______#___#__#__##__#___#___#~...............",
-					"...............~#___#####__#####___####___###___#___#__####____#~...............",
-					"...............~#______________________________________________#~...............",
-					"...............~#_____________#___#____#____####_______________#~...............",
-					"...............~#_____________##_##___#_#___#___#______________#~...............",
-					"...............~#_____________#_#_#__#####__####_______________#~...............",
-					"...............~#_____________#___#__#___#__#__________________#~...............",
-					"...............~#_____________#___#__#___#__#__________________#~...............",
-					"...............~#______________________________________________#~...............",
-					"...............~################################################~...............",
-					"...............~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~...............",
-					"................................................................................",
-					"................................................................................",
-					"................................................................................",
-					"................................................................................");
-
-			DinosaurMap triassicMap = new DinosaurMap(groundFactory, map1);
-			world.addGameMap(triassicMap);
-
-			List<String> map2 = Arrays.asList(
-					"................................................................................",
-					"................................................................................",
-					".....#######....................................................................",
-					".....#_____#....................................................................",
-					".....#_____#....................................................................",
-					".....###.###....................................................................",
-					".......$........................................................................",
-					"......................................+++.......................................",
-					".......................................++++.....................................",
-					"...................................+++++........................................",
-					".....................................++++++.....................................",
-					"......................................+++.......................................",
-					".....................................+++........................................",
-					"................................................................................",
-					"............+++.................................................................",
-					".............+++++........................~~~...................................",
-					"...............++........................~~~~~~..........+++++..................",
-					".............+++........................~~~~~~~~~......++++++++.................",
-					"............+++.........................~~~~~~~.........+++.....................",
-					"..........................................~~~~..................................",
-					".........................................................................++.....",
-					"........................................................................++.++...",
-					".........................................................................++++...",
-					"..........................................................................++....",
-					"................................................................................");
-
-			DinosaurMap jurassicMap = new DinosaurMap(groundFactory, map2);
-			world.addGameMap(jurassicMap);
-
-			// Update ground for every Dirt to have 1% chance to turn into Bush before game starts
-			triassicMap.updateInitialGround();
-			jurassicMap.updateInitialGround();
-
-			DinosaurMap.connectMaps(triassicMap, jurassicMap, 'x');
-
-			Player player = new Player("Player", '@', 100);
-			world.addPlayer(player, jurassicMap.at(9, 4));
-
-			jurassicMap.at(34, 16).addActor(Stegosaur.getNewDino("adult"));
-			jurassicMap.at(32, 12).addActor(Stegosaur.getNewDino("adult"));
-			jurassicMap.at(40, 19).addActor(Allosaur.getNewDino("adult"));
-			jurassicMap.at(50, 12).addActor(Allosaur.getNewDino("adult"));
-
-			// Add 2 male & 2 female brachiosaurs to the map as instructed
-			jurassicMap.at(37, 10).addActor(Brachiosaur.getNewDino("adult", 'M'));
-			jurassicMap.at(39, 9).addActor(Brachiosaur.getNewDino("adult", 'M'));
-			jurassicMap.at(37, 11).addActor(Brachiosaur.getNewDino("adult", 'F'));
-			jurassicMap.at(36, 9).addActor(Brachiosaur.getNewDino("adult", 'F'));
-
-			jurassicMap.at(47, 10).addActor(Pterodactyl.getNewDino("adult", 'M'));
-			jurassicMap.at(49, 9).addActor(Pterodactyl.getNewDino("adult", 'M'));
-			jurassicMap.at(47, 11).addActor(Pterodactyl.getNewDino("adult", 'F'));
-			jurassicMap.at(46, 9).addActor(Pterodactyl.getNewDino("adult", 'F'));
-
-			world.run();
+			Display display = ansi ? new AnsiDisplay() : new Display();
+			GameWorld world = createWorld(display, new Player("Player", '@', 100), maxTurns, winningPoints);
+			EventPrinter printer = new EventPrinter(display);
+			for (Class<? extends GameEvent> type : PRINTED_EVENTS)
+				world.getEvents().subscribe(type, printer);
+			recording(world, eventLog, "interactive", metricsCsv, world::run);
+		}
+	}
+
+	/**
+	 * Runs a number of headless simulations of the game,
+	 * and reports how long each of them took.
+	 * The simulations are run on a pool of threads if asked for on the command line,
+	 * and reported in order once they are all done.
+	 *
+	 * @param turns Number of turns to simulate in each run
+	 * @param runs  Number of independent simulations to run
+	 */
+	private static void simulate(int turns, int runs) {
+		if (threads <= 1) {
+			for (int run = 1; run <= runs; run++)
+				System.out.print(simulateRun(turns, run));
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, runs));
+		try {
+			List<Future<String>> reports = new ArrayList<>();
+			for (int run = 1; run <= runs; run++) {
+				int number = run;
+				reports.add(executor.submit(() -> simulateRun(turns, number)));
+			}
+			for (Future<String> report : reports)
+				System.out.print(report.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Runs a single headless simulation of the game in a world of its own.
+	 *
+	 * @param turns Number of turns to simulate
+	 * @param run   Number of the run, from 1
+	 * @return The report of the run, to be printed
+	 * @throws UncheckedIOException if a file of the run cannot be written
+	 */
+	private static String simulateRun(int turns, int run) {
+		GameWorld world = createWorld(new HeadlessDisplay(), new HeadlessPlayer("Player", '@', 100), null, null);
+		EventCounter counter = new EventCounter();
+		if (countEvents)
+			world.getEvents().subscribeAll(counter);
+
+		long[] elapsed = new long[1];
+		recording(world, runFile(eventLog, run), "run" + run, runFile(metricsCsv, run), () -> {
+			long start = System.nanoTime();
+			world.simulate(turns);
+			elapsed[0] = System.nanoTime() - start;
+		});
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Run %d: simulated %d turns in %.1f ms%n", run, world.getTurns(), elapsed[0] / 1e6));
+		if (countEvents)
+			report.append("Events: ").append(counter.counts()).append(System.lineSeparator());
+		if (profile)
+			report.append(world.getMetrics().summary());
+
+		if (saveSnapshot != null) {
+			try {
+				world.saveSnapshot(runFile(saveSnapshot, run));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Returns the file a headless run writes to.
+	 * Runs played at the same time each write a file of their own, named after the run,
+	 * e.g. "events-run2.log" for the second run; otherwise every run writes the same file.
+	 *
+	 * @param file The file given on the command line, or null
+	 * @param run  Number of the run, from 1
+	 * @return The file of the run, or null if no file was given
+	 */
+	private static Path runFile(Path file, int run) {
+		if (file == null || threads <= 1)
+			return file;
+
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		String runName = dot > 0
+				? name.substring(0, dot) + "-run" + run + name.substring(dot)
+				: name + "-run" + run;
+		return file.resolveSibling(runName);
+	}
+
+	/**
+	 * Plays a game while its events and metrics are written to the files asked for on the command line,
+	 * closing the files and removing the metrics from JMX once the game is over.
+	 *
+	 * @param world       The world the game is played in
+	 * @param logFile     The file to log the events to, or null if the events are not logged
+	 * @param name        The name to register the metrics under
+	 * @param metricsFile The file to write the metrics to, or null if they are not written
+	 * @param game        Plays the game
+	 * @throws UncheckedIOException if a file cannot be opened or written
+	 */
+	private static void recording(GameWorld world, Path logFile, String name, Path metricsFile, Runnable game) {
+		EventLog log = openEventLog(world, logFile);
+		try {
+			MetricsCsv csv = openMetrics(world, name, metricsFile);
+			try {
+				game.run();
+			} finally {
+				if (csv != null)
+					csv.close();
+				try {
+					world.getMetrics().unregisterMBean();
+				} catch (JMException e) {
+					System.err.println("Could not unregister the metrics from JMX: " + e.getMessage());
+				}
+			}
+		} finally {
+			if (log != null)
+				log.close();
+		}
+	}
+
+	/**
+	 * Subscribes a log of every event to the world, if asked for on the command line.
+	 *
+	 * @param world The world to log the events of
+	 * @param file  The file to write the log to, or null if the events are not logged
+	 * @return The log, to be closed when the game is over, or null if the events are not logged
+	 * @throws UncheckedIOException if the log cannot be opened
+	 */
+	private static EventLog openEventLog(GameWorld world, Path file) {
+		if (file == null)
+			return null;
+
+		try {
+			EventLog log = new EventLog(file);
+			world.getEvents().subscribeAll(log);
+			return log;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Enables the Metrics of the world if profiling was asked for on the command line,
+	 * registering them with JMX, and subscribes a CSV file of every profiled turn if asked for.
+	 *
+	 * @param world The world to profile
+	 * @param name  The name the Metrics are registered with JMX under
+	 * @param file  The CSV file to write, or null if it is not written
+	 * @return The CSV file, to be closed when the game is over, or null if it is not written
+	 * @throws UncheckedIOException if the CSV file cannot be opened
+	 */
+	private static MetricsCsv openMetrics(GameWorld world, String name, Path file) {
+		if (!profile && file == null)
+			return null;
+
+		world.getMetrics().setEnabled(true);
+		if (profile) {
+			try {
+				world.getMetrics().registerMBean(name);
+			} catch (JMException e) {
+				System.err.println("Could not register the metrics with JMX: " + e.getMessage());
+			}
+		}
+		if (file == null)
+			return null;
+
+		try {
+			MetricsCsv csv = new MetricsCsv(file);
+			world.getEvents().subscribe(TurnProfiled.class, csv);
+			return csv;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
 
+	/**
+	 * Removes an option and the value following it from the arguments.
+	 *
+	 * @param arguments The command line arguments
+	 * @param option    The name of the option, e.g. "--seed"
+	 * @return The value of the option, or null if it was not given a value
+	 */
+	private static String removeOption(List<String> arguments, String option) {
+		int index = arguments.indexOf(option);
+		if (index < 0 || index + 1 >= arguments.size())
+			return null;
+
+		String value = arguments.remove(index + 1);
+		arguments.remove(index);
+		return value;
+	}
+
+	/**
+	 * Creates the world with both maps, the Player, and the starting dinosaurs,
+	 * then restores it from the snapshot given on the command line, if any.
+	 *
+	 * @param display       The Display that will display the world
+	 * @param player        The Player of the game
+	 * @param maxTurns      Maximum number of turns before the game ends, null if not in Challenge Mode
+	 * @param winningPoints The target eco points, null if not in Challenge Mode
+	 * @return The world, ready to be run
+	 */
+	private static GameWorld createWorld(Display display, Player player, Integer maxTurns, Integer winningPoints) {
+		GameWorld world = seed != null
+				? new GameWorld(display, maxTurns, winningPoints, seed)
+				: new GameWorld(display, maxTurns, winningPoints);
+		world.setTickPool(tickPool);
+		world.setDecisionPool(decisionPool);
+		world.getWeather().setRainCellChance(rainCells);
+
+		FancyGroundFactory groundFactory =
+				new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+
+		List<String> map1 = Arrays.asList(
+				"................................................................................",
+				"................................................................................",
+				"................................................................................",
+				"................................................................................",
+				"...............~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~...............",
+				"...............~################################################~...............",
+				"...............~#______________________________________________#~...............",
+				"...............~#___#####__#####___####___###___#___#__####____#~...............",
+				"...............~#___#______#______#______#___#__##__#__#___#___#~...............",
+				"...............~#___#####__#####__#______#___#__#_#_#__#___#___#~...............",
+				"...............~#_______#__#______#______#___#__#__##__#___#___#~...............",
+				"...............~#___#####__#####___####___###___#___#__####____#~...............",
+				"...............~#______________________________________________#~...............",
+				"...............~#_____________#___#____#____####_______________#~...............",
+				"...............~#_____________##_##___#_#___#___#______________#~...............",
+				"...............~#_____________#_#_#__#####__####_______________#~...............",
+				"...............~#_____________#___#__#___#__#__________________#~...............",
+				"...............~#_____________#___#__#___#__#__________________#~...............",
+				"...............~#______________________________________________#~...............",
+				"...............~################################################~...............",
+				"...............~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~...............",
+				"................................................................................",
+				"................................................................................",
+				"................................................................................",
+				"................................................................................");
+
+		DinosaurMap triassicMap = new DinosaurMap(groundFactory, map1);
+		world.addGameMap(triassicMap);
+
+		List<String> map2 = Arrays.asList(
+				"................................................................................",
+				"................................................................................",
+				".....#######....................................................................",
+				".....#_____#....................................................................",
+				".....#_____#....................................................................",
+				".....###.###....................................................................",
+				".......$........................................................................",
+				"......................................+++.......................................",
+				".......................................++++.....................................",
+				"...................................+++++........................................",
+				".....................................++++++.....................................",
+				"......................................+++.......................................",
+				".....................................+++........................................",
+				"................................................................................",
+				"............+++.................................................................",
+				".............+++++........................~~~...................................",
+				"...............++........................~~~~~~..........+++++..................",
+				".............+++........................~~~~~~~~~......++++++++.................",
+				"............+++.........................~~~~~~~.........+++.....................",
+				"..........................................~~~~..................................",
+				".........................................................................++.....",
+				"........................................................................++.++...",
+				".........................................................................++++...",
+				"..........................................................................++....",
+				"................................................................................");
+
+		DinosaurMap jurassicMap = new DinosaurMap(groundFactory, map2);
+		world.addGameMap(jurassicMap);
+
+		// Update ground for every Dirt to have 1% chance to turn into Bush before game starts
+		triassicMap.updateInitialGround();
+		jurassicMap.updateInitialGround();
+
+		DinosaurMap.connectMaps(triassicMap, jurassicMap, 'x');
+
+		world.addPlayer(player, jurassicMap.at(9, 4));
+
+		jurassicMap.at(34, 16).addActor(Stegosaur.getNewDino("adult"));
+		jurassicMap.at(32, 12).addActor(Stegosaur.getNewDino("adult"));
+		jurassicMap.at(40, 19).addActor(Allosaur.getNewDino("adult"));
+		jurassicMap.at(50, 12).addActor(Allosaur.getNewDino("adult"));
+
+		// Add 2 male & 2 female brachiosaurs to the map as instructed
+		jurassicMap.at(37, 10).addActor(Brachiosaur.getNewDino("adult", 'M'));
+		jurassicMap.at(39, 9).addActor(Brachiosaur.getNewDino("adult", 'M'));
+		jurassicMap.at(37, 11).addActor(Brachiosaur.getNewDino("adult", 'F'));
+		jurassicMap.at(36, 9).addActor(Brachiosaur.getNewDino("adult", 'F'));
+
+		jurassicMap.at(47, 10).addActor(Pterodactyl.getNewDino("adult", 'M'));
+		jurassicMap.at(49, 9).addActor(Pterodactyl.getNewDino("adult", 'M'));
+		jurassicMap.at(47, 11).addActor(Pterodactyl.getNewDino("adult", 'F'));
+		jurassicMap.at(46, 9).addActor(Pterodactyl.getNewDino("adult", 'F'));
+
+		if (loadSnapshot != null) {
+			try {
+				world.restoreSnapshot(loadSnapshot);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		return world;
+	}
+
 	/**
 	 * Repeatedly prompts the user for game mode,
 	 * until the selection is valid.
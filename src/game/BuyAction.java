@@ -13,11 +13,6 @@ import edu.monash.fit2099.engine.Item;
  */
 public class BuyAction extends Action {
 
-    /**
-     * The Player that will be performing this action.
-     */
-    private final Player player;
-
     /**
      * The Item that the player is buying.
      */
@@ -35,7 +30,6 @@ public class BuyAction extends Action {
      * @param price The price of the Item
      */
     public BuyAction(Item item, int price) {
-        this.player = GameWorld.getPlayer();
         this.item = item;
         this.price = price;
     }
@@ -50,6 +44,7 @@ public class BuyAction extends Action {
      */
     @Override
     public String execute(Actor actor, GameMap map) {
+        Player player = WorldContext.of(map).getPlayer();
         if (!player.canAfford(price))
             throw new RuntimeException();
         else {
@@ -1,11 +1,25 @@
 package game;
 
+import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Exit;
 import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Ground;
 import edu.monash.fit2099.engine.GroundFactory;
+import edu.monash.fit2099.engine.Item;
+import edu.monash.fit2099.engine.ItemPile;
 import edu.monash.fit2099.engine.Location;
+import game.dinosaurs.Dinosaur;
+import game.grounds.SearchableGround;
+import game.grounds.WaterBody;
+import game.metrics.Counter;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
@@ -13,7 +27,183 @@ import java.util.List;
  *
  * @author Ci Leong Ong
  */
-class DinosaurMap extends GameMap {
+class DinosaurMap extends GameMap implements Snapshottable {
+
+    /**
+     * Largest number of cells ticked as one task in parallel.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Something done to a single cell of the map.
+     */
+    private interface CellOperation {
+
+        /**
+         * Does the operation on a cell.
+         *
+         * @param x X coordinate of the cell
+         * @param y Y coordinate of the cell
+         */
+        void apply(int x, int y);
+    }
+
+    /**
+     * Applies a CellOperation to a list of cells of the map,
+     * splitting the list into batches that are processed in parallel.
+     */
+    private static class CellsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] cells;
+        private final int from;
+        private final int to;
+        private final int width;
+        private final CellOperation operation;
+
+        /**
+         * Constructor.
+         *
+         * @param cells     The indices of the cells, y * width + x
+         * @param from      Index of the first cell of the list to process
+         * @param to        One past the index of the last cell of the list to process
+         * @param width     Width of the map
+         * @param operation The operation to apply to every cell
+         */
+        CellsTask(int[] cells, int from, int to, int width, CellOperation operation) {
+            this.cells = cells;
+            this.from = from;
+            this.to = to;
+            this.width = width;
+            this.operation = operation;
+        }
+
+        /**
+         * Applies the operation directly if the list is a single batch,
+         * otherwise splits it in half and processes both halves in parallel.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CellsTask(cells, from, middle, width, operation),
+                        new CellsTask(cells, middle, to, width, operation));
+            } else {
+                for (int i = from; i < to; i++)
+                    operation.apply(cells[i] % width, cells[i] / width);
+            }
+        }
+    }
+
+    /**
+     * The FlowFields of the world this map is in.
+     * Null until the map is added to a GameWorld.
+     */
+    FlowFields flowFields;
+
+    /**
+     * The EventBus of the world this map is in.
+     * Null until the map is added to a GameWorld.
+     */
+    EventBus events;
+
+    /**
+     * The Metrics of the world this map is in.
+     * Null until the map is added to a GameWorld.
+     */
+    Metrics metrics;
+
+    /**
+     * The WorldContext of the world this map is in.
+     * Null until the map is added to a GameWorld.
+     */
+    WorldContext context;
+
+    /**
+     * The Weather of the world this map is in.
+     * Null until the map is added to a GameWorld.
+     */
+    Weather weather;
+
+    /**
+     * Wakes up the TimedItems lying on this map when they are due.
+     */
+    final ItemTimers timers = new ItemTimers(this);
+
+    /**
+     * The types of food lying on every Location of this map.
+     */
+    final FoodIndex food = new FoodIndex(this);
+
+    /**
+     * True once the cells below have been worked out from the Grounds and exits of the map.
+     * Done on the first tick, and again whenever the Grounds or exits are replaced wholesale.
+     */
+    private boolean indexed;
+
+    /**
+     * Cells whose Ground does something when ticked.
+     */
+    private final BitSet tickingCells = new BitSet();
+
+    /**
+     * Fertile cells next to at least two Bushes and no Ground blocking their growth,
+     * where a Bush may spread to.
+     */
+    private final BitSet spreadingCells = new BitSet();
+
+    /**
+     * Cells where a Bush may sprout on its own this turn.
+     */
+    private final BitSet sproutingCells = new BitSet();
+
+    /**
+     * Cells whose Ground is a WaterBody, which rain fills up.
+     */
+    private final BitSet waterCells = new BitSet();
+
+    /**
+     * Cells whose Ground is a SearchableGround, which food may grow within.
+     */
+    private final BitSet searchableCells = new BitSet();
+
+    /**
+     * Cells where an Actor may crush the Ground this turn.
+     */
+    private final BitSet crushingCells = new BitSet();
+
+    /**
+     * Cells with a turn scheduled for a Bush to sprout on its own.
+     */
+    private final BitSet sproutScheduled = new BitSet();
+
+    /**
+     * The turns Bushes may next sprout on their own, one tick per turn, by cell.
+     */
+    private final TimerWheel<Integer> sprouts = new TimerWheel<>();
+
+    /**
+     * Number of neighbours of each cell with a short plant, and with a Ground blocking their growth.
+     */
+    private int[] shortPlantNeighbours, blockingNeighbours;
+
+    /**
+     * Eco points earned on each cell while the Grounds are ticked in parallel, by cell.
+     * Null unless the Grounds are being ticked in parallel.
+     */
+    private int[] heldRewards;
+
+    /**
+     * The array heldRewards is set to while the Grounds are ticked in parallel, all zeros otherwise.
+     */
+    private int[] rewardsBuffer;
+
+    /**
+     * Position of this map among the maps of its world.
+     * Gives every map its own random streams.
+     */
+    int index;
 
     /**
      * Constructor that creates a map from a sequence of ASCII strings.
@@ -25,6 +215,31 @@ class DinosaurMap extends GameMap {
         super(groundFactory, lines);
     }
 
+    /**
+     * Constructor that reads a map from an ASCII map file.
+     *
+     * @param groundFactory Factory to create Ground objects
+     * @param mapFile       Name of the map file
+     * @throws IOException if the file cannot be read, or is not a rectangle of ASCII characters
+     */
+    DinosaurMap(GroundFactory groundFactory, String mapFile) throws IOException {
+        super(groundFactory, mapFile);
+    }
+
+    /**
+     * Add an Actor to the map.
+     * Overridden so that a Dinosaur entering the world for the first time gets its ID, and its gender if it has none yet.
+     *
+     * @param actor    the Actor to add
+     * @param location the Location to add the Actor to
+     */
+    @Override
+    public void addActor(Actor actor, Location location) {
+        super.addActor(actor, location);
+        if (actor instanceof Dinosaur && context != null)
+            ((Dinosaur) actor).enterWorld(context);
+    }
+
     /**
      * Update all Locations in the map based on the rules
      * that will be used to update the map every turn.
@@ -32,12 +247,437 @@ class DinosaurMap extends GameMap {
     void updateInitialGround() {
         for (int x : widths) {
             for (int y : heights) {
-                GameLocation here = (GameLocation) map[x][y];
-                here.updateLocation();
+                GameLocation here = (GameLocation) at(x, y);
+                here.updateLocation(true);
+            }
+        }
+    }
+
+    /**
+     * Called once per turn, so that the map can experience the passage of time.
+     *
+     * Overridden to only tick the Locations with something to do: those whose Ground does something
+     * when ticked, those a Bush may spread or sprout on this turn, and those an Actor may crush.
+     * They are ticked in the same order as every Location would be, so a Location still sees
+     * the changes made to the Locations before it this turn. Walls, Floors and most of the Dirt
+     * are skipped. The Items due this turn are then woken up.
+     */
+    @Override
+    public void tick() {
+        tickInventories();
+        startTick();
+
+        int width = widths.size();
+        int ticked = 0;
+        for (int cell = nextActiveCell(0); cell >= 0; cell = nextActiveCell(cell + 1)) {
+            at(cell % width, cell / width).tick();
+            ticked++;
+        }
+
+        endTick(ticked);
+        timers.advance();
+    }
+
+    /**
+     * Ticks the map like tick(), but updates the Grounds in parallel.
+     *
+     * The Ground every cell with something to do should have next is first decided for all those cells at once,
+     * reading only the Grounds of last turn, so that a cell never sees a neighbour
+     * that has already been updated this turn. The new Grounds are then swapped in,
+     * and the Grounds are ticked in parallel, as each only changes its own Location.
+     * The eco points the Grounds earn are held back and given once they have all been ticked,
+     * cell by cell, so that the Player earns them in the same order however many threads there are.
+     * Items can add or remove Actors, so the Items due are still woken up one at a time.
+     *
+     * @param pool The pool running the parallel tasks
+     */
+    void tick(ForkJoinPool pool) {
+        tickInventories();
+        startTick();
+
+        int width = widths.size();
+        BitSet active = (BitSet) tickingCells.clone();
+        active.or(spreadingCells);
+        active.or(sproutingCells);
+        active.or(crushingCells);
+        int[] cells = active.stream().toArray();
+
+        // Phase 1: decide the next Grounds from the current ones
+        Ground[] nextGrounds = new Ground[cells.length];
+        int[] order = new int[grounds.length];
+        for (int i = 0; i < cells.length; i++)
+            order[cells[i]] = i;
+        pool.invoke(new CellsTask(cells, 0, cells.length, width,
+                (x, y) -> nextGrounds[order[y * width + x]] = ((GameLocation) at(x, y)).nextGround(false)));
+
+        // Phase 2: swap in the Grounds that have changed
+        for (int i = 0; i < cells.length; i++) {
+            if (nextGrounds[i] != grounds[cells[i]])
+                ((GameLocation) at(cells[i] % width, cells[i] / width)).growGround(nextGrounds[i]);
+        }
+
+        // Phase 3: let the Grounds grow, holding back the eco points they earn
+        int[] growing = tickingCells.stream().toArray();
+        if (rewardsBuffer == null)
+            rewardsBuffer = new int[grounds.length];
+        int[] rewards = rewardsBuffer;
+        heldRewards = rewards;
+        try {
+            pool.invoke(new CellsTask(growing, 0, growing.length, width, (x, y) -> ((GameLocation) at(x, y)).tickGround()));
+        } finally {
+            heldRewards = null;
+        }
+
+        // Then give the eco points in the order of the cells, as the threads may have finished in any order
+        for (int cell : growing) {
+            if (rewards[cell] != 0) {
+                context.getPlayer().earnEcoPoints(rewards[cell]);
+                rewards[cell] = 0;
+            }
+        }
+
+        endTick(cells.length);
+
+        // Phase 4: wake up the Items due, one at a time
+        timers.advance();
+    }
+
+    /**
+     * Holds back eco points earned on a Location while the Grounds are ticked in parallel,
+     * to be given once they have all been ticked.
+     *
+     * @param location The Location the eco points were earned on
+     * @param amount   The number of eco points
+     * @return true if the eco points are held back, false if the Grounds are not being ticked in parallel
+     */
+    boolean holdReward(Location location, int amount) {
+        int[] rewards = heldRewards;
+        if (rewards == null)
+            return false;
+
+        // Each cell is ticked by a single thread, so no two threads add to the same element
+        rewards[location.y() * widths.size() + location.x()] += amount;
+        return true;
+    }
+
+    /**
+     * Works out which cells have something to do this turn, besides those whose Ground does something when ticked.
+     */
+    private void startTick() {
+        if (!indexed)
+            index();
+
+        for (TimerWheel.Timer<Integer> timer : sprouts.advance())
+            sproutingCells.set(timer.value());
+
+        int width = widths.size();
+        for (Actor actor : actorLocations) {
+            if (contains(actor) && actor.hasCapability(ActorCapability.CRUSH_GROUND)) {
+                Location here = locationOf(actor);
+                crushingCells.set(here.y() * width + here.x());
             }
         }
     }
 
+    /**
+     * Schedules the next turn a Bush may sprout on its own on every cell that had its turn this turn
+     * and is still fertile, and forgets the Actors that may have crushed the Ground.
+     *
+     * @param ticked Number of cells ticked this turn
+     */
+    private void endTick(int ticked) {
+        int width = widths.size();
+        for (int cell = sproutingCells.nextSetBit(0); cell >= 0; cell = sproutingCells.nextSetBit(cell + 1)) {
+            sproutScheduled.clear(cell);
+            if (grounds[cell].hasCapability(GroundCapability.FERTILE))
+                scheduleSprout((GameLocation) at(cell % width, cell / width));
+        }
+        sproutingCells.clear();
+        crushingCells.clear();
+
+        if (metrics != null)
+            metrics.count(Counter.CELLS_TICKED, ticked);
+    }
+
+    /**
+     * Returns the first cell from the given one with something to do this turn.
+     * Looks at the cells as they are now, so a cell given something to do by a change
+     * earlier in the turn is not missed.
+     *
+     * @param from The index of the cell to start from
+     * @return The index of the cell, or -1 if there is none
+     */
+    private int nextActiveCell(int from) {
+        int next = earlier(tickingCells.nextSetBit(from), spreadingCells.nextSetBit(from));
+        next = earlier(next, sproutingCells.nextSetBit(from));
+        return earlier(next, crushingCells.nextSetBit(from));
+    }
+
+    /**
+     * Returns the earlier of two cells, either of which may be missing.
+     *
+     * @param cell  The index of a cell, or -1
+     * @param other The index of another cell, or -1
+     * @return The lower index of the two, or -1 if both are missing
+     */
+    private static int earlier(int cell, int other) {
+        return cell < 0 || (other >= 0 && other < cell) ? other : cell;
+    }
+
+    /**
+     * Works out the cells with something to do, and the neighbours of every cell, from scratch.
+     * The turns Bushes may sprout on their own are scheduled afresh.
+     */
+    private void index() {
+        int width = widths.size();
+        shortPlantNeighbours = new int[grounds.length];
+        blockingNeighbours = new int[grounds.length];
+        tickingCells.clear();
+        spreadingCells.clear();
+        sproutScheduled.clear();
+        sprouts.clear();
+
+        for (int cell = 0; cell < grounds.length; cell++) {
+            for (Exit exit : at(cell % width, cell / width).getExits()) {
+                Ground ground = exit.getDestination().getGround();
+                if (ground.hasCapability(GroundCapability.SHORT_PLANT))
+                    shortPlantNeighbours[cell]++;
+                if (ground.hasCapability(GroundCapability.BLOCKS_SHORT_PLANT_GROWTH))
+                    blockingNeighbours[cell]++;
+            }
+        }
+        indexed = true;
+
+        for (int cell = 0; cell < grounds.length; cell++) {
+            tickingCells.set(cell, !grounds[cell].isInert());
+            waterCells.set(cell, grounds[cell] instanceof WaterBody);
+            searchableCells.set(cell, grounds[cell] instanceof SearchableGround);
+            updateSpreading(cell);
+            if (grounds[cell].hasCapability(GroundCapability.FERTILE))
+                scheduleSprout((GameLocation) at(cell % width, cell / width));
+        }
+    }
+
+    /**
+     * Forgets which cells have something to do, so that they are worked out again on the next tick.
+     * Needed whenever the Grounds or the exits of the map are replaced other than through its Locations.
+     */
+    void invalidateIndex() {
+        indexed = false;
+    }
+
+    /**
+     * Updates the cells with something to do when the Ground of a Location has changed.
+     *
+     * @param location The Location
+     * @param previous The Ground it had
+     * @param ground   The Ground it has now
+     */
+    void groundChanged(Location location, Ground previous, Ground ground) {
+        if (!indexed)
+            return;
+
+        int cell = location.y() * widths.size() + location.x();
+        tickingCells.set(cell, !ground.isInert());
+        waterCells.set(cell, ground instanceof WaterBody);
+        searchableCells.set(cell, ground instanceof SearchableGround);
+        updateSpreading(cell);
+        if (ground.hasCapability(GroundCapability.FERTILE) && !sproutScheduled.get(cell))
+            scheduleSprout((GameLocation) location);
+
+        int shortPlants = countIf(ground, GroundCapability.SHORT_PLANT) - countIf(previous, GroundCapability.SHORT_PLANT);
+        int blocking = countIf(ground, GroundCapability.BLOCKS_SHORT_PLANT_GROWTH)
+                - countIf(previous, GroundCapability.BLOCKS_SHORT_PLANT_GROWTH);
+        if (shortPlants == 0 && blocking == 0)
+            return;
+
+        // Exits go both ways, so the neighbours of this Location are those it has exits to
+        for (Exit exit : location.getExits()) {
+            Location neighbour = exit.getDestination();
+            if (neighbour.map() instanceof DinosaurMap)
+                ((DinosaurMap) neighbour.map()).neighbourChanged(neighbour, shortPlants, blocking);
+        }
+    }
+
+    /**
+     * Updates the neighbours of a Location when the Ground of one of them has changed.
+     *
+     * @param location    The Location
+     * @param shortPlants The change in the number of neighbours with a short plant
+     * @param blocking    The change in the number of neighbours with a Ground blocking their growth
+     */
+    private void neighbourChanged(Location location, int shortPlants, int blocking) {
+        if (!indexed)
+            return;
+
+        int cell = location.y() * widths.size() + location.x();
+        shortPlantNeighbours[cell] += shortPlants;
+        blockingNeighbours[cell] += blocking;
+        updateSpreading(cell);
+    }
+
+    /**
+     * Works out whether a Bush may spread to a cell.
+     *
+     * @param cell The index of the cell
+     */
+    private void updateSpreading(int cell) {
+        spreadingCells.set(cell, grounds[cell].hasCapability(GroundCapability.FERTILE)
+                && blockingNeighbours[cell] == 0 && shortPlantNeighbours[cell] >= 2);
+    }
+
+    /**
+     * Schedules the next turn a Bush may sprout on its own on a cell.
+     *
+     * @param location The Location of the cell
+     */
+    private void scheduleSprout(GameLocation location) {
+        sproutScheduled.set(location.y() * widths.size() + location.x());
+        sprouts.schedule(location.y() * widths.size() + location.x(),
+                sprouts.now() + location.turnsUntilSprouting() - 1);
+    }
+
+    /**
+     * Returns the number of neighbours of a Location whose Ground has a capability.
+     * Only short plants and Grounds blocking their growth are kept count of; the neighbours
+     * are looked at for any other capability, or before the cells have been worked out.
+     *
+     * @param location   The Location
+     * @param capability The capability
+     * @return The number of neighbouring Locations with a Ground that has the capability
+     */
+    int countNeighbours(Location location, GroundCapability capability) {
+        if (indexed && capability == GroundCapability.SHORT_PLANT)
+            return shortPlantNeighbours[location.y() * widths.size() + location.x()];
+        if (indexed && capability == GroundCapability.BLOCKS_SHORT_PLANT_GROWTH)
+            return blockingNeighbours[location.y() * widths.size() + location.x()];
+
+        int count = 0;
+        for (Exit exit : location.getExits()) {
+            if (exit.getDestination().getGround().hasCapability(capability))
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the Locations whose Ground is a WaterBody within a number of steps of a Location,
+     * from the index of the map instead of looking at every Location.
+     *
+     * @param location The Location to search around
+     * @param radius   The largest number of steps from location
+     * @return A new List of the Locations, by row then by column
+     */
+    List<Location> waterBodiesWithin(Location location, int radius) {
+        if (!indexed)
+            index();
+
+        int width = widths.size();
+        int minX = Math.max(location.x() - radius, 0);
+        int maxX = Math.min(location.x() + radius, width - 1);
+        int minY = Math.max(location.y() - radius, 0);
+        int maxY = Math.min(location.y() + radius, heights.size() - 1);
+
+        List<Location> waterBodies = new ArrayList<>();
+        for (int y = minY; y <= maxY; y++) {
+            int end = y * width + maxX + 1;
+            for (int cell = waterCells.nextSetBit(y * width + minX); cell >= 0 && cell < end;
+                 cell = waterCells.nextSetBit(cell + 1))
+                waterBodies.add(at(cell % width, y));
+        }
+        return waterBodies;
+    }
+
+    /**
+     * Returns the cells whose Ground is a SearchableGround, from the index of the map.
+     *
+     * @return The cells, by their index, not to be changed
+     */
+    BitSet searchableCells() {
+        if (!indexed)
+            index();
+        return searchableCells;
+    }
+
+    /**
+     * Returns true if a Bush may sprout on its own on a Location this turn.
+     *
+     * @param location The Location
+     * @return true if the Location has its turn to sprout, false otherwise
+     */
+    boolean sproutsThisTurn(Location location) {
+        return sproutingCells.get(location.y() * widths.size() + location.x());
+    }
+
+    /**
+     * Returns 1 if a Ground has a capability, 0 otherwise.
+     *
+     * @param ground     The Ground
+     * @param capability The capability
+     * @return 1 or 0
+     */
+    private static int countIf(Ground ground, GroundCapability capability) {
+        return ground.hasCapability(capability) ? 1 : 0;
+    }
+
+    /**
+     * Writes the size of the map, the Ground of every cell, and the Items lying on the cells.
+     * Exits are not written, as they are part of the layout every world is built with.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        timers.settle();
+        out.writeInt(widths.size());
+        out.writeInt(heights.size());
+        for (Ground ground : grounds)
+            out.writeObject(ground);
+
+        out.writeInt(items.size());
+        for (Map.Entry<Integer, ItemPile> entry : items.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeObjects(entry.getValue());
+        }
+    }
+
+    /**
+     * Replaces the Grounds and Items of the map with those written by writeState().
+     * The Actors on the map are left alone.
+     *
+     * @param in Where to read the state from
+     * @throws SnapshotFormatException if the snapshot was taken of a map of a different size
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        int width = in.readInt();
+        int height = in.readInt();
+        if (width != widths.size() || height != heights.size())
+            throw new SnapshotFormatException(String.format("Snapshot has a %dx%d map where this world has a %dx%d map",
+                    width, height, widths.size(), heights.size()));
+
+        for (int i = 0; i < grounds.length; i++)
+            grounds[i] = in.readObject(Ground.class);
+
+        items.clear();
+        int cellsWithItems = in.readInt();
+        for (int i = 0; i < cellsWithItems; i++) {
+            int index = in.readInt();
+            List<Item> itemsHere = in.readObjects(Item.class);
+            if (index < 0 || index >= grounds.length)
+                throw new SnapshotFormatException("Items lie outside of the map at cell " + index);
+            setItemsAt(index, itemsHere);
+        }
+        timers.reset(items, widths.size());
+        food.reset(items);
+        invalidateIndex();
+
+        if (flowFields != null) {
+            flowFields.notifyChange(FlowFields.Change.TERRAIN);
+            flowFields.notifyChange(FlowFields.Change.ITEMS);
+        }
+    }
+
     /**
      * Connect the maps by either their x-axes or y-axes.
      * Actors can traverse through the connected maps as if they are the same map,
@@ -64,6 +704,11 @@ class DinosaurMap extends GameMap {
                 m2.at(0, y).addExit(new Exit("West", m1.at(m1.getXRange().max(), y), "4"));
         } else
             throw new IllegalArgumentException("Value of argument by cannot only be either 'x' or 'y'.");
+
+        if (m1 instanceof DinosaurMap)
+            ((DinosaurMap) m1).invalidateIndex();
+        if (m2 instanceof DinosaurMap)
+            ((DinosaurMap) m2).invalidateIndex();
     }
 
     /**
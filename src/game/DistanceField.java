@@ -0,0 +1,204 @@
+package game;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Exit;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.metrics.Counter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * A distance field (also known as a Dijkstra map) over every Location of the world.
+ * Stores for each Location the number of steps needed to reach the nearest source Location,
+ * computed using a multi-source Breadth First Search (BFS) from all sources at once.
+ *
+ * An Actor heads towards the nearest source by repeatedly stepping "downhill",
+ * i.e. to the neighbouring Location with the smallest distance.
+ *
+ * @author Ci Leong Ong
+ */
+public class DistanceField {
+
+    /**
+     * Distance of Locations that cannot reach any source.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Maps each GameMap to the distances of its Locations, indexed by y * width + x.
+     */
+    private final Map<GameMap, int[]> distances = new IdentityHashMap<>();
+
+    /**
+     * The changes this field depends on, other than changes of terrain.
+     */
+    private final Set<FlowFields.Change> dependencies;
+
+    /**
+     * Number of changes of each kind that had happened when this field was computed.
+     */
+    private final int[] epochs = new int[FlowFields.Change.values().length];
+
+    /**
+     * Constructor.
+     *
+     * @param dependencies The changes the sources of this field depend on
+     */
+    DistanceField(Set<FlowFields.Change> dependencies) {
+        this.dependencies = EnumSet.of(FlowFields.Change.TERRAIN);
+        this.dependencies.addAll(dependencies);
+    }
+
+    /**
+     * Returns true if none of the changes this field depends on has happened since it was computed.
+     *
+     * @param currentEpochs Number of changes of each kind that have happened so far
+     * @return true if the field is up to date, false otherwise
+     */
+    boolean isUpToDate(int[] currentEpochs) {
+        for (FlowFields.Change change : dependencies) {
+            if (epochs[change.ordinal()] != currentEpochs[change.ordinal()])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes the distance of every Location to its nearest source.
+     *
+     * Only Locations the Actor can enter are used as sources or expanded,
+     * exactly like the BFS in GameLocation. A Location the Actor cannot enter
+     * still gets a distance if it is next to one that can be entered,
+     * so that an Actor standing there knows where to go.
+     *
+     * @param maps          All the maps in the world
+     * @param actor         An Actor representing those that will use this field
+     * @param candidates    Gives the only Locations of each map that may be sources, or null to check them all
+     * @param isSource      Identifies the source Locations
+     * @param currentEpochs Number of changes of each kind that have happened so far
+     */
+    void compute(List<GameMap> maps, Actor actor, Function<GameMap, List<Location>> candidates,
+                 Predicate<Location> isSource, int[] currentEpochs) {
+        Queue<Location> queue = new ArrayDeque<>();
+
+        for (GameMap map : maps) {
+            int[] mapDistances = distances.computeIfAbsent(map, m -> new int[width(m) * height(m)]);
+            Arrays.fill(mapDistances, UNREACHABLE);
+
+            if (candidates != null) {
+                for (Location location : candidates.apply(map))
+                    addSource(location, actor, isSource, mapDistances, queue);
+                continue;
+            }
+            for (int x : map.getXRange()) {
+                for (int y : map.getYRange())
+                    addSource(map.at(x, y), actor, isSource, mapDistances, queue);
+            }
+        }
+
+        long expanded = 0;
+        while (!queue.isEmpty()) {
+            Location location = queue.remove();
+            expanded++;
+            int nextDistance = distanceAt(location) + 1;
+            for (Exit exit : location.getExits()) {
+                Location neighbour = exit.getDestination();
+                int[] neighbourDistances = distances.get(neighbour.map());
+                if (neighbourDistances == null || neighbourDistances[index(neighbour)] != UNREACHABLE)
+                    continue;
+
+                neighbourDistances[index(neighbour)] = nextDistance;
+                if (neighbour.getGround().canActorEnter(actor))
+                    queue.add(neighbour);
+            }
+        }
+
+        System.arraycopy(currentEpochs, 0, epochs, 0, epochs.length);
+        if (!maps.isEmpty())
+            Metrics.of(maps.get(0)).count(Counter.BFS_NODES, expanded);
+    }
+
+    /**
+     * Makes a Location a source of the field if the Actor can enter it and it is one.
+     *
+     * @param location     The Location
+     * @param actor        An Actor representing those that will use this field
+     * @param isSource     Identifies the source Locations
+     * @param mapDistances The distances of the Locations of its map
+     * @param queue        The Locations to expand
+     */
+    private static void addSource(Location location, Actor actor, Predicate<Location> isSource,
+                                  int[] mapDistances, Queue<Location> queue) {
+        if (location.getGround().canActorEnter(actor) && isSource.test(location)) {
+            mapDistances[index(location)] = 0;
+            queue.add(location);
+        }
+    }
+
+    /**
+     * Returns the number of steps from the Location to the nearest source.
+     *
+     * @param location The Location to check
+     * @return The distance to the nearest source, or UNREACHABLE if there is none
+     */
+    public int distanceAt(Location location) {
+        int[] mapDistances = distances.get(location.map());
+        return mapDistances == null ? UNREACHABLE : mapDistances[index(location)];
+    }
+
+    /**
+     * Returns the Exit that takes the Actor one step closer to the nearest source.
+     *
+     * @param here  The Location of the Actor
+     * @param actor The Actor that is moving
+     * @return The Exit leading downhill, or null if the Actor is at a source,
+     * cannot reach one, or all the Locations downhill are blocked
+     */
+    public Exit downhillExit(Location here, Actor actor) {
+        int bestDistance = distanceAt(here);
+        Exit bestExit = null;
+        for (Exit exit : here.getExits()) {
+            Location destination = exit.getDestination();
+            int distance = distanceAt(destination);
+            if (distance < bestDistance && destination.canActorEnter(actor)) {
+                bestDistance = distance;
+                bestExit = exit;
+            }
+        }
+        return bestExit;
+    }
+
+    /**
+     * Returns the index of the Location in the distances of its map.
+     *
+     * @param location The Location
+     * @return The index of the Location
+     */
+    private static int index(Location location) {
+        return location.y() * width(location.map()) + location.x();
+    }
+
+    /**
+     * Returns the width of the map.
+     *
+     * @param map The map
+     * @return The width of the map
+     */
+    private static int width(GameMap map) {
+        return map.getXRange().max() + 1;
+    }
+
+    /**
+     * Returns the height of the map.
+     *
+     * @param map The map
+     * @return The height of the map
+     */
+    private static int height(GameMap map) {
+        return map.getYRange().max() + 1;
+    }
+}
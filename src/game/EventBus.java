@@ -0,0 +1,107 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import game.events.GameEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+
+/**
+ * Delivers the GameEvents of a world to whoever subscribed to them.
+ *
+ * Every GameWorld has its own bus. Publishing an event nobody subscribed to costs a lookup
+ * and nothing else: the message of an event is only formatted by the subscribers that want it.
+ * Publishers building costly events can ask wants() first and skip building them.
+ *
+ * Events are delivered on the thread that publishes them. Grounds publish while the maps
+ * are ticked in parallel, so subscribers must be safe to call from several threads at once.
+ *
+ * @author Ci Leong Ong
+ */
+public class EventBus {
+
+    /**
+     * Subscribers of each type of event.
+     */
+    private final Map<Class<?>, List<Consumer<? super GameEvent>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribers of every type of event.
+     */
+    private final List<Consumer<? super GameEvent>> allSubscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * False until something has subscribed, so that publishing is a single check until then.
+     */
+    private volatile boolean active;
+
+    /**
+     * Returns the EventBus of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The EventBus of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static EventBus of(GameMap map) {
+        if (!(map instanceof DinosaurMap) || ((DinosaurMap) map).events == null)
+            throw new IllegalStateException("The map has not been added to a GameWorld.");
+        return ((DinosaurMap) map).events;
+    }
+
+    /**
+     * Subscribes to one type of event.
+     *
+     * @param type       The type of event
+     * @param subscriber Called with every event of that type
+     * @param <E>        The type of event
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends GameEvent> void subscribe(Class<E> type, Consumer<? super E> subscriber) {
+        subscribers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>())
+                .add(event -> subscriber.accept((E) event));
+        active = true;
+    }
+
+    /**
+     * Subscribes to every type of event.
+     *
+     * @param subscriber Called with every event
+     */
+    public void subscribeAll(Consumer<? super GameEvent> subscriber) {
+        allSubscribers.add(subscriber);
+        active = true;
+    }
+
+    /**
+     * Returns true if some subscriber will receive events of the given type.
+     *
+     * @param type The type of event
+     * @return true if publishing an event of that type reaches a subscriber, false otherwise
+     */
+    public boolean wants(Class<? extends GameEvent> type) {
+        return active && (!allSubscribers.isEmpty() || subscribers.containsKey(type));
+    }
+
+    /**
+     * Delivers an event to its subscribers, if it has any.
+     *
+     * @param event The event
+     */
+    public void publish(GameEvent event) {
+        if (!active)
+            return;
+
+        List<Consumer<? super GameEvent>> typeSubscribers = subscribers.get(event.getClass());
+        if (typeSubscribers != null) {
+            for (Consumer<? super GameEvent> subscriber : typeSubscribers)
+                subscriber.accept(event);
+        }
+        for (Consumer<? super GameEvent> subscriber : allSubscribers)
+            subscriber.accept(event);
+    }
+
+}
@@ -0,0 +1,200 @@
+package game;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Keeps a DistanceField for every kind of resource the Dinosaurs are looking for,
+ * so that Behaviours can step towards the nearest resource without searching the map themselves.
+ *
+ * A field is shared by every Actor asking for the same resource, and is only recomputed
+ * when something it depends on has changed since it was last computed.
+ * Whether a Ground can be entered only depends on whether the Actor can fly,
+ * so walking and flying Actors each get their own field.
+ *
+ * @author Ci Leong Ong
+ */
+public class FlowFields {
+
+    /**
+     * The kinds of changes a DistanceField can depend on.
+     */
+    public enum Change {
+
+        /**
+         * The Ground of a Location has been replaced, other than by a Bush sprouting or being crushed.
+         * Every field depends on it, as it decides where Actors can go.
+         */
+        TERRAIN(false),
+
+        /**
+         * The first Item of a type of food has been put down on a Location, or the last one picked up.
+         * Other Items coming and going do not change where food lies, so are not reported.
+         */
+        ITEMS(false),
+
+        /**
+         * A Ground has grown a kind of produce it held none of, or has run out of one.
+         * Grounds produce every turn, so this is only reported once per turn, and only on turns it happened.
+         */
+        PRODUCE(true),
+
+        /**
+         * A water body has run dry, or been refilled after running dry.
+         * Only reported once per turn, like PRODUCE.
+         */
+        WATER(true);
+
+        /**
+         * Whether the change is held back until the end of the turn, see endTurn().
+         */
+        private final boolean heldUntilEndOfTurn;
+
+        /**
+         * Constructor.
+         *
+         * @param heldUntilEndOfTurn Whether the change is held back until the end of the turn
+         */
+        Change(boolean heldUntilEndOfTurn) {
+            this.heldUntilEndOfTurn = heldUntilEndOfTurn;
+        }
+
+    }
+
+    /**
+     * All the maps in the world.
+     */
+    private final List<GameMap> maps = new ArrayList<>();
+
+    /**
+     * Number of changes of each kind that have happened so far.
+     */
+    private final int[] epochs = new int[Change.values().length];
+
+    /**
+     * Whether a change of each kind held back until the end of the turn has happened this turn.
+     */
+    private final boolean[] held = new boolean[Change.values().length];
+
+    /**
+     * Fields used by Actors that walk.
+     */
+    private final Map<Object, DistanceField> walkingFields = new HashMap<>();
+
+    /**
+     * Fields used by Actors that fly.
+     */
+    private final Map<Object, DistanceField> flyingFields = new HashMap<>();
+
+    /**
+     * Returns the FlowFields of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The FlowFields of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static FlowFields of(GameMap map) {
+        if (!(map instanceof DinosaurMap) || ((DinosaurMap) map).flowFields == null)
+            throw new IllegalStateException("The map has not been added to a GameWorld.");
+        return ((DinosaurMap) map).flowFields;
+    }
+
+    /**
+     * Records that a change has happened at a Location, if its map has been added to a GameWorld.
+     *
+     * @param location The Location where the change happened, or null if it is not on a map yet
+     * @param change   The kind of change
+     */
+    public static void notifyChangeAt(Location location, Change change) {
+        if (location != null && location.map() instanceof DinosaurMap) {
+            FlowFields flowFields = ((DinosaurMap) location.map()).flowFields;
+            if (flowFields != null)
+                flowFields.notifyChange(change);
+        }
+    }
+
+    /**
+     * Adds a map to the world covered by the fields.
+     *
+     * @param map The map to add
+     */
+    void addMap(GameMap map) {
+        maps.add(map);
+        if (map instanceof DinosaurMap)
+            ((DinosaurMap) map).flowFields = this;
+        notifyChange(Change.TERRAIN);
+    }
+
+    /**
+     * Records that a change has happened, so the fields depending on it are recomputed when next used.
+     * Changes held back until the end of the turn are only recorded by endTurn().
+     * Synchronized, as Locations may report changes while the map is ticked in parallel.
+     *
+     * @param change The kind of change
+     */
+    public synchronized void notifyChange(Change change) {
+        if (change.heldUntilEndOfTurn)
+            held[change.ordinal()] = true;
+        else
+            epochs[change.ordinal()]++;
+    }
+
+    /**
+     * Records the changes held back during the turn. Called by the GameWorld at the end of every turn.
+     */
+    synchronized void endTurn() {
+        for (Change change : Change.values()) {
+            if (held[change.ordinal()]) {
+                held[change.ordinal()] = false;
+                epochs[change.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Returns the up-to-date field of the resource, computing it if necessary.
+     *
+     * @param resource     Identifies the resource, Actors asking with equal identifiers share a field
+     * @param actor        The Actor that will use the field
+     * @param dependencies The changes, other than of terrain, that can change where the resource is
+     * @param isSource     Identifies the Locations where the resource is
+     * @return The field leading to the resource
+     */
+    public DistanceField get(Object resource, Actor actor, Set<Change> dependencies, Predicate<Location> isSource) {
+        return get(resource, actor, dependencies, null, isSource);
+    }
+
+    /**
+     * Returns the up-to-date field of the resource, computing it if necessary,
+     * only checking whether the given candidate Locations are sources instead of every Location.
+     * Synchronized, as Dinosaurs may decide what to do in parallel.
+     *
+     * @param resource     Identifies the resource, Actors asking with equal identifiers share a field
+     * @param actor        The Actor that will use the field
+     * @param dependencies The changes, other than of terrain, that can change where the resource is
+     * @param candidates   Gives the only Locations of each map where the resource may be, or null for every Location
+     * @param isSource     Identifies the Locations where the resource is
+     * @return The field leading to the resource
+     */
+    public synchronized DistanceField get(Object resource, Actor actor, Set<Change> dependencies,
+                                          Function<GameMap, List<Location>> candidates, Predicate<Location> isSource) {
+        Map<Object, DistanceField> fields = actor.hasCapability(ActorCapability.FLY) ? flyingFields : walkingFields;
+
+        DistanceField field = fields.get(resource);
+        if (field == null) {
+            field = new DistanceField(dependencies);
+            field.compute(maps, actor, candidates, isSource, epochs);
+            fields.put(resource, field);
+        } else if (!field.isUpToDate(epochs))
+            field.compute(maps, actor, candidates, isSource, epochs);
+
+        return field;
+    }
+
+}
@@ -0,0 +1,184 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Item;
+import edu.monash.fit2099.engine.Location;
+import game.items.ConsumableItem;
+import game.items.FoodType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Keeps track of the types of food lying on each Location of a map,
+ * so that looking for food is a bit test instead of a walk through the Items of every Location,
+ * and of the Locations each type of food lies on, so that looking for eggs or corpses
+ * across the map does not visit the Locations without any.
+ *
+ * Every DinosaurMap has its own index, kept up to date by the GameLocations
+ * whenever an Item is put down or picked up.
+ *
+ * @author Ci Leong Ong
+ */
+public class FoodIndex {
+
+    /**
+     * Number of types of food.
+     */
+    private static final int TYPES = FoodType.values().length;
+
+    /**
+     * The map the Items lie on.
+     */
+    private final DinosaurMap map;
+
+    /**
+     * The width of the map.
+     */
+    private final int width;
+
+    /**
+     * Number of ConsumableItems of each FoodType lying on each cell, by cell then type.
+     */
+    private final int[] counts;
+
+    /**
+     * The FoodTypes lying on each cell, as bitmasks of FoodType.bit().
+     */
+    private final int[] types;
+
+    /**
+     * The cells each FoodType lies on, by the ordinal of the type.
+     */
+    private final BitSet[] cells = new BitSet[TYPES];
+
+    /**
+     * Constructor.
+     *
+     * @param map The map the Items lie on
+     */
+    FoodIndex(DinosaurMap map) {
+        this.map = map;
+        width = map.getXRange().size();
+        types = new int[width * map.getYRange().size()];
+        counts = new int[types.length * TYPES];
+        for (int i = 0; i < TYPES; i++)
+            cells[i] = new BitSet();
+    }
+
+    /**
+     * Returns the FoodIndex of a map.
+     *
+     * @param map The map
+     * @return The FoodIndex of the map
+     * @throws IllegalStateException if the map is not a DinosaurMap
+     */
+    public static FoodIndex of(GameMap map) {
+        if (!(map instanceof DinosaurMap))
+            throw new IllegalStateException("Only a DinosaurMap has a FoodIndex.");
+        return ((DinosaurMap) map).food;
+    }
+
+    /**
+     * Returns the types of food lying on a Location.
+     *
+     * @param location The Location
+     * @return The FoodTypes of the ConsumableItems lying there, as a bitmask of FoodType.bit()
+     */
+    public int typesAt(Location location) {
+        return types[location.y() * width + location.x()];
+    }
+
+    /**
+     * Returns the Locations where food of some types may be found: those where such food lies,
+     * and those whose Ground is a SearchableGround, which food may grow within.
+     *
+     * @param foodTypes The types of food, as a bitmask of FoodType.bit()
+     * @return A new List of the Locations, by row then by column
+     */
+    public List<Location> foodSources(int foodTypes) {
+        BitSet sources = (BitSet) map.searchableCells().clone();
+        synchronized (cells) {
+            for (FoodType type : FoodType.values()) {
+                if ((foodTypes & type.bit()) != 0)
+                    sources.or(cells[type.ordinal()]);
+            }
+        }
+
+        List<Location> locations = new ArrayList<>(sources.cardinality());
+        for (int cell = sources.nextSetBit(0); cell >= 0; cell = sources.nextSetBit(cell + 1))
+            locations.add(map.at(cell % width, cell / width));
+        return locations;
+    }
+
+    /**
+     * Counts an Item that has just been put down, if it is a ConsumableItem.
+     *
+     * @param location Where the Item was put down
+     * @param item     The Item
+     * @return true if it is the first Item of its type of food lying there
+     */
+    boolean placed(Location location, Item item) {
+        return item instanceof ConsumableItem
+                && count(location.y() * width + location.x(), ((ConsumableItem) item).getFoodType(), 1);
+    }
+
+    /**
+     * Stops counting an Item that has just been picked up, if it is a ConsumableItem.
+     *
+     * @param location Where the Item was picked up from
+     * @param item     The Item
+     * @return true if it was the last Item of its type of food lying there
+     */
+    boolean removed(Location location, Item item) {
+        return item instanceof ConsumableItem
+                && count(location.y() * width + location.x(), ((ConsumableItem) item).getFoodType(), -1);
+    }
+
+    /**
+     * Forgets every Item, and counts those given instead.
+     * Used when the Items of the map have been replaced, e.g. by restoring a snapshot.
+     *
+     * @param items The Items now lying on each cell of the map, by the index of the cell
+     */
+    void reset(Map<Integer, ? extends List<Item>> items) {
+        Arrays.fill(counts, 0);
+        Arrays.fill(types, 0);
+        for (BitSet typeCells : cells)
+            typeCells.clear();
+        for (Map.Entry<Integer, ? extends List<Item>> entry : items.entrySet()) {
+            for (Item item : entry.getValue()) {
+                if (item instanceof ConsumableItem)
+                    count(entry.getKey(), ((ConsumableItem) item).getFoodType(), 1);
+            }
+        }
+    }
+
+    /**
+     * Changes the number of ConsumableItems of a type lying on a cell.
+     *
+     * @param cell  The index of the cell
+     * @param type  The type of food
+     * @param delta The change in the number of Items
+     * @return true if the type of food has started or stopped lying on the cell
+     */
+    private boolean count(int cell, FoodType type, int delta) {
+        int count = counts[cell * TYPES + type.ordinal()] += delta;
+        if (count > 0 == ((types[cell] & type.bit()) != 0))
+            return false;
+
+        if (count > 0)
+            types[cell] |= type.bit();
+        else
+            types[cell] &= ~type.bit();
+        synchronized (cells) {
+            cells[type.ordinal()].set(cell, count > 0);
+        }
+        return true;
+    }
+
+}
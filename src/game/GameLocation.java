@@ -3,6 +3,9 @@ package game;
 import edu.monash.fit2099.engine.*;
 import game.grounds.Bush;
 import game.grounds.Dirt;
+import game.grounds.SearchableGround;
+import game.metrics.Counter;
+import game.metrics.Phase;
 
 import java.util.*;
 
@@ -19,6 +22,21 @@ import java.util.*;
  */
 public class GameLocation extends Location implements Iterable<Location> {
 
+    /**
+     * The Dirt left behind when a Bush is crushed, shared by every Location as Dirt is stateless.
+     */
+    private static final Ground CRUSHED_GROUND = new Dirt();
+
+    /**
+     * Chance of a Bush sprouting on its own on fertile Ground each turn.
+     */
+    private static final double SPROUT_CHANCE = 0.01;
+
+    /**
+     * Chance of a Bush spreading to fertile Ground next to at least two Bushes each turn.
+     */
+    private static final double SPREAD_CHANCE = 0.1;
+
     /**
      * An Iterator over the Location from nearest to farthest from the current
      * Location. Achieved using Breadth First Search (BFS) algorithm.
@@ -43,6 +61,11 @@ public class GameLocation extends Location implements Iterable<Location> {
          */
         private final Actor actorHere;
 
+        /**
+         * Counts the Locations expanded.
+         */
+        private final Metrics metrics;
+
         /**
          * Constructor.
          *
@@ -54,6 +77,7 @@ public class GameLocation extends Location implements Iterable<Location> {
             queue.add(location);
             visited = new HashSet<>();
             actorHere = actor;
+            metrics = Metrics.of(location.map());
         }
 
         /**
@@ -80,6 +104,7 @@ public class GameLocation extends Location implements Iterable<Location> {
 
             Location location = queue.remove();
             visited.add(location);
+            metrics.count(Counter.BFS_NODES, 1);
             for (Exit exit : location.getExits()) {
                 Location destination = exit.getDestination();
                 if (!visited.contains(destination)
@@ -93,11 +118,6 @@ public class GameLocation extends Location implements Iterable<Location> {
         }
     }
 
-    /**
-     * Used to simulate probability.
-     */
-    private final Random rand = new Random();
-
     /**
      * Constructor.
      *
@@ -120,39 +140,148 @@ public class GameLocation extends Location implements Iterable<Location> {
     }
 
     /**
-     * Called once per turn, to update the Ground terrain,
-     * and also ticks everything that is in the Location.
+     * Set the Ground type at the given Location.
+     * Overridden to let the map and the FlowFields know the terrain has changed.
+     *
+     * @param ground Ground type to set
+     */
+    @Override
+    public void setGround(Ground ground) {
+        Ground previous = getGround();
+        super.setGround(ground);
+        ((DinosaurMap) map()).groundChanged(this, previous, ground);
+        FlowFields.notifyChangeAt(this, FlowFields.Change.TERRAIN);
+    }
+
+    /**
+     * Replaces the Ground here with the one the rules have chosen, see nextGround().
+     * The rules only ever turn Dirt into a Bush or crush a Bush back into Dirt, which every Actor can enter,
+     * so instead of the terrain having changed, the FlowFields are only told if produce has come or gone with it.
+     *
+     * @param ground The Ground chosen by the rules
+     */
+    void growGround(Ground ground) {
+        Ground previous = getGround();
+        super.setGround(ground);
+        ((DinosaurMap) map()).groundChanged(this, previous, ground);
+        if (holdsProduce(previous) || holdsProduce(ground))
+            FlowFields.notifyChangeAt(this, FlowFields.Change.PRODUCE);
+    }
+
+    /**
+     * Checks whether a Ground is holding any produce.
+     *
+     * @param ground The Ground
+     * @return true if it is a SearchableGround holding at least a piece of produce
+     */
+    private static boolean holdsProduce(Ground ground) {
+        return ground instanceof SearchableGround && !((SearchableGround) ground).getProduce().isEmpty();
+    }
+
+    /**
+     * Add an item to this location.
+     * Overridden to schedule the item on the ItemTimers of the map, to count it in its FoodIndex,
+     * and to let the FlowFields know if a new type of food lies here.
+     *
+     * @param item the item to add
+     */
+    @Override
+    public void addItem(Item item) {
+        super.addItem(item);
+        ((DinosaurMap) map()).timers.placed(this, item);
+        if (((DinosaurMap) map()).food.placed(this, item))
+            FlowFields.notifyChangeAt(this, FlowFields.Change.ITEMS);
+    }
+
+    /**
+     * Remove an item from this location, if it is here.
+     * Overridden to cancel the item on the ItemTimers of the map, to stop counting it in its FoodIndex,
+     * and to let the FlowFields know if a type of food no longer lies here.
+     *
+     * @param item the item to remove
+     */
+    @Override
+    public void removeItem(Item item) {
+        if (!getItems().contains(item))
+            return;
+
+        super.removeItem(item);
+        ((DinosaurMap) map()).timers.removed(item);
+        if (((DinosaurMap) map()).food.removed(this, item))
+            FlowFields.notifyChangeAt(this, FlowFields.Change.ITEMS);
+    }
+
+    /**
+     * Called once per turn, to update the Ground terrain, then tick it.
      * Overridden to update the Ground type on each Location by defined rules.
+     * The Items here are not ticked: those that change over time are TimedItems,
+     * woken up by the ItemTimers of the map on the turns they are due.
      */
     @Override
     public void tick() {
-        updateLocation();
-        super.tick();
+        updateLocation(false);
+        tickGround();
+    }
+
+    /**
+     * Lets the Ground here experience the passage of time, timed by the Metrics of the world.
+     */
+    void tickGround() {
+        Metrics metrics = ((DinosaurMap) map()).metrics;
+        if (metrics == null) {
+            getGround().tick(this);
+            return;
+        }
+        long start = metrics.start();
+        getGround().tick(this);
+        metrics.stop(Phase.GROUND_TICK, start);
     }
 
     /**
      * Updates this Location based on the defined set of rules.
+     *
+     * @param initial True while the initial Grounds are laid out, see nextGround()
+     */
+    void updateLocation(boolean initial) {
+        Ground nextGround = nextGround(initial);
+        if (nextGround != getGround())
+            growGround(nextGround);
+    }
+
+    /**
+     * Returns the Ground this Location should have according to the defined set of rules,
+     * without changing anything. Only reads this Location and its neighbours.
+     *
+     * Whether a Bush sprouts on its own is not rolled every turn: the map schedules the turns
+     * it may next sprout on (see turnsUntilSprouting()), except while the initial Grounds are laid out.
+     *
+     * @param initial True while the initial Grounds are laid out, to roll the chance of sprouting here
+     * @return A new Ground if the rules replace the current one, otherwise the current Ground
      */
-    void updateLocation() {
-        if (getGround().hasCapability(GroundCapability.FERTILE) && countNeighbour(GroundCapability.BLOCKS_SHORT_PLANT_GROWTH) == 0) {
-            if ((countNeighbour(GroundCapability.SHORT_PLANT)>=2 && rand.nextDouble()<=0.1) || rand.nextDouble() <= 0.01)
-                setGround(new Bush());
+    Ground nextGround(boolean initial) {
+        SplittableRandom rand = RandomSource.at(RandomSource.Stream.GROWTH, this);
+        DinosaurMap map = (DinosaurMap) map();
+        if (getGround().hasCapability(GroundCapability.FERTILE)
+                && map.countNeighbours(this, GroundCapability.BLOCKS_SHORT_PLANT_GROWTH) == 0) {
+            if ((map.countNeighbours(this, GroundCapability.SHORT_PLANT) >= 2 && rand.nextDouble() <= SPREAD_CHANCE)
+                    || (initial ? rand.nextDouble() <= SPROUT_CHANCE : map.sproutsThisTurn(this)))
+                return new Bush();
         } else if (Objects.nonNull(getActor()) &&
                 getActor().hasCapability(ActorCapability.CRUSH_GROUND) &&
                 getGround().hasCapability(GroundCapability.CRUSHABLE) && rand.nextBoolean())
-            setGround(new Dirt());
+            return CRUSHED_GROUND;
+        return getGround();
     }
 
     /**
-     * Count number of neighbouring Locations with Ground with target capability.
+     * Returns the number of turns until a Bush may next sprout here on its own, counting this one,
+     * drawn so that a Bush has the same chance of sprouting on every turn.
      *
-     * @param capability An enumeration used to identify Grounds
-     * @return Number of neighbouring Locations with Ground that has target capability.
+     * @return The number of turns, at least 1
      */
-    private int countNeighbour(Enum<?> capability) {
-        Objects.requireNonNull(capability);
-        return (int) getExits().stream().map(exit -> exit.getDestination().getGround())
-                .filter(ground -> ground.hasCapability(capability)).count();
+    int turnsUntilSprouting() {
+        double roll = 1 - RandomSource.at(RandomSource.Stream.SPROUTING, this).nextDouble();
+        return 1 + (int) Math.min(Math.log(roll) / Math.log(1 - SPROUT_CHANCE), Integer.MAX_VALUE - 1);
     }
 
 }
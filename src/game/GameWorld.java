@@ -2,30 +2,83 @@ package game;
 
 import edu.monash.fit2099.engine.*;
 import game.dinosaurs.Dinosaur;
-import game.grounds.WaterBody;
+import game.events.MovesLeft;
+import game.events.TurnProfiled;
+import game.metrics.Counter;
+import game.metrics.Phase;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 
 /**
  * The world that all the maps are in,
  * represents the virtual world that we are interacting with.
  * The world stops running when player is absent.
+ * Worlds share nothing with each other (see WorldContext),
+ * so several of them can be played at once, each on a thread of its own.
  *
  * @author Ci Leong Ong
  */
 public class GameWorld extends World {
 
     /**
-     * Used to simulate probability.
+     * First int of every snapshot file, "DINO" in ASCII.
      */
-    private static final Random rand = new Random();
+    private static final int SNAPSHOT_MAGIC = 0x44494E4F;
 
     /**
-     * Stores the only Player in the game.
+     * Version of the snapshot format, incremented whenever the format changes.
      */
-    private static Player player;
+    private static final int SNAPSHOT_VERSION = 3;
+
+    /**
+     * Stores the only Player in the world.
+     */
+    private Player player;
+
+    /**
+     * The Player, random numbers and Dinosaur IDs of this world, shared with everything in it.
+     */
+    private final WorldContext context;
+
+    /**
+     * Distance fields leading Dinosaurs to the resources they are looking for.
+     */
+    private final FlowFields flowFields = new FlowFields();
+
+    /**
+     * Delivers the events of this world to whoever subscribed to them.
+     */
+    private final EventBus events = new EventBus();
+
+    /**
+     * Decides where and when it rains.
+     */
+    private final Weather weather = new Weather();
+
+    /**
+     * Times the phases of every turn, when enabled.
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * The pool used to tick the maps in parallel.
+     * Null if the maps are ticked sequentially.
+     */
+    private ForkJoinPool tickPool;
+
+    /**
+     * The pool Dinosaurs decide what to do in, all at once.
+     * Null if every Actor plays its whole turn before the next one starts.
+     */
+    private ForkJoinPool decisionPool;
 
     /**
      * Number of turns since start of the game.
@@ -45,19 +98,50 @@ public class GameWorld extends World {
     private final Integer winningPoints;
 
     /**
-     * Constructor.
+     * Constructor, for a world starting from a different seed every time.
      *
      * @param display the Display that will display this World.
      */
     public GameWorld(Display display, Integer maxTurns, Integer winningPoints) {
+        this(display, maxTurns, winningPoints, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor, for a world that plays out the same way every time it is started from the same seed.
+     *
+     * @param display the Display that will display this World.
+     * @param seed    the seed every random number of this World is derived from
+     */
+    public GameWorld(Display display, Integer maxTurns, Integer winningPoints, long seed) {
         super(display);
         this.maxTurns = maxTurns;
         this.winningPoints = winningPoints;
+        this.context = new WorldContext(seed);
         turns = 0;
     }
 
     /**
-     * Store the Player to be accessed later.
+     * Add a GameMap to the World.
+     * Overridden so the FlowFields cover the map.
+     *
+     * @param gameMap the GameMap to add
+     */
+    @Override
+    public void addGameMap(GameMap gameMap) {
+        super.addGameMap(gameMap);
+        flowFields.addMap(gameMap);
+        if (gameMap instanceof DinosaurMap) {
+            ((DinosaurMap) gameMap).index = gameMaps.size() - 1;
+            ((DinosaurMap) gameMap).events = events;
+            ((DinosaurMap) gameMap).metrics = metrics;
+            ((DinosaurMap) gameMap).context = context;
+            ((DinosaurMap) gameMap).weather = weather;
+            weather.addMap((DinosaurMap) gameMap);
+        }
+    }
+
+    /**
+     * Store the Player to be accessed later, through the WorldContext.
      * The map is drawn just before the Player's turn
      *
      * @param player   The player to add
@@ -65,17 +149,227 @@ public class GameWorld extends World {
      */
     public void addPlayer(Player player, Location location) {
         super.addPlayer(player, location);
-        GameWorld.player = player;
+        this.player = player;
+        context.setPlayer(player);
+        player.events = events;
+    }
+
+    /**
+     * Returns the WorldContext of this world.
+     *
+     * @return The WorldContext shared by everything in this world
+     */
+    public WorldContext getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the EventBus of this world, to subscribe to what happens in it.
+     *
+     * @return The EventBus of this world
+     */
+    public EventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the Weather of this world, to change how it rains.
+     *
+     * @return The Weather of this world
+     */
+    public Weather getWeather() {
+        return weather;
+    }
+
+    /**
+     * Returns the Metrics of this world, to profile its turns.
+     *
+     * @return The Metrics of this world
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of turns since the start of the game.
+     *
+     * @return The number of turns played
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Ticks the Grounds of the maps in parallel using the given pool,
+     * or sequentially if the pool is null.
+     *
+     * @param pool The pool to run the ticks on, or null
+     */
+    public void setTickPool(ForkJoinPool pool) {
+        tickPool = pool;
+    }
+
+    /**
+     * Lets the Dinosaurs decide what to do in parallel using the given pool,
+     * or one after another if the pool is null.
+     *
+     * When deciding in parallel, each turn is played in three steps. First the Player, and any other
+     * Actor that is not a Dinosaur, plays its turn, and every Dinosaur prepares its turn (ages, gets hungry,
+     * lays its eggs), one at a time. Then every conscious Dinosaur decides on an Action at once,
+     * all of them seeing the world as it is after the first step. Finally the Actions are executed
+     * one at a time, in the order the Actors take their turns, which gives Actors earlier in the turn
+     * priority over later ones: when an Action is no longer valid, because an earlier Actor has
+     * taken the same Location, prey or partner, the Dinosaur decides again against the world as it is now.
+     * Games started from the same seed still play out the same way every time, whatever the number of threads,
+     * but not the same way as when the Dinosaurs decide one after another.
+     *
+     * @param pool The pool to decide in, or null
+     */
+    public void setDecisionPool(ForkJoinPool pool) {
+        decisionPool = pool;
+    }
+
+    /**
+     * Saves the state of the world to a file, so that it can be restored later with restoreSnapshot().
+     *
+     * The snapshot holds the number of turns played, the Ground and Items of every cell,
+     * and every Actor with its Location, the Player first.
+     * It is built in memory and written to the file in a single pass.
+     *
+     * @param file The file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the player doesn't exist, or a map is not a DinosaurMap
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        if (player == null)
+            throw new IllegalStateException();
+
+        SnapshotOutput out = new SnapshotOutput();
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(turns);
+        out.writeInt(context.getDinosaurCount());
+        out.writeLong(context.getRandom().getSeed());
+
+        out.writeInt(gameMaps.size());
+        for (GameMap gameMap : gameMaps) {
+            if (!(gameMap instanceof DinosaurMap))
+                throw new IllegalStateException("Only a DinosaurMap can be saved in a snapshot.");
+            ((DinosaurMap) gameMap).writeState(out);
+        }
+
+        writeLocation(out, actorLocations.locationOf(player));
+        player.writeState(out);
+
+        List<Actor> others = new ArrayList<>();
+        for (Actor actor : actorLocations) {
+            if (actor != player)
+                others.add(actor);
+        }
+        out.writeInt(others.size());
+        for (Actor actor : others) {
+            writeLocation(out, actorLocations.locationOf(actor));
+            out.writeObject(actor);
+        }
+
+        out.writeTo(file);
+    }
+
+    /**
+     * Restores the state of the world from a file written by saveSnapshot().
+     *
+     * The world must have been built with the same maps as the world the snapshot was taken of,
+     * as the exits between Locations are not saved. Every Ground, Item and Actor is replaced,
+     * except for the Player, whose state and Location are restored in place.
+     * Multi-turn Actions in progress and rain cells are not saved, so every Actor starts afresh, under a clear sky.
+     * The random streams are restarted from the seed saved in the snapshot (see RandomSource.restart()),
+     * so the restored game plays out the same way every time.
+     *
+     * @param file The file to read
+     * @throws IOException if the file cannot be read or is not a valid snapshot of this world.
+     * The world is left unchanged if the header of the snapshot does not match,
+     * but may be partially restored if the rest of it is invalid.
+     * @throws IllegalStateException if the player doesn't exist
+     */
+    public void restoreSnapshot(Path file) throws IOException {
+        if (player == null)
+            throw new IllegalStateException();
+
+        SnapshotInput in = SnapshotInput.readFrom(file);
+        try {
+            if (in.readInt() != SNAPSHOT_MAGIC)
+                throw new SnapshotFormatException("Not a snapshot");
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION)
+                throw new SnapshotFormatException("Unsupported snapshot version " + version);
+            int savedTurns = in.readInt();
+            int savedDinoCounter = in.readInt();
+            long seed = in.readLong();
+            int mapCount = in.readInt();
+            if (mapCount != gameMaps.size())
+                throw new SnapshotFormatException(String.format("Snapshot has %d maps where this world has %d",
+                        mapCount, gameMaps.size()));
+
+            List<Actor> others = new ArrayList<>();
+            for (Actor actor : actorLocations) {
+                if (actor != player)
+                    others.add(actor);
+            }
+            for (Actor actor : others)
+                actorLocations.remove(actor);
+
+            for (GameMap gameMap : gameMaps)
+                ((DinosaurMap) gameMap).readState(in);
+
+            actorLocations.move(player, readLocation(in));
+            player.readState(in);
+
+            int actorCount = in.readInt();
+            for (int i = 0; i < actorCount; i++) {
+                Location location = readLocation(in);
+                Actor actor = in.readObject(Actor.class);
+                if (actorLocations.isAnActorAt(location))
+                    throw new SnapshotFormatException("Two Actors at " + location.x() + "," + location.y());
+                actorLocations.add(actor, location);
+            }
+
+            turns = savedTurns;
+            context.setDinosaurCount(savedDinoCounter);
+            context.getRandom().restart(seed, savedTurns);
+            weather.clear();
+            lastActionMap.clear();
+        } catch (SnapshotFormatException e) {
+            throw new IOException("Invalid snapshot " + file + ": " + e.getMessage(), e);
+        }
     }
 
     /**
-     * Returns the only player in the world,
-     * so we do not have to loop through all actors and find the player.
+     * Writes a Location as the index of its map, followed by its coordinates.
      *
-     * @return The only player in the game
+     * @param out      Where to write the Location
+     * @param location The Location
      */
-    public static Player getPlayer() {
-        return player;
+    private void writeLocation(SnapshotOutput out, Location location) {
+        out.writeInt(gameMaps.indexOf(location.map()));
+        out.writeInt(location.x());
+        out.writeInt(location.y());
+    }
+
+    /**
+     * Reads a Location written by writeLocation().
+     *
+     * @param in Where to read the Location from
+     * @return The Location
+     * @throws SnapshotFormatException if there is no such Location in this world
+     */
+    private Location readLocation(SnapshotInput in) {
+        int mapIndex = in.readInt();
+        int x = in.readInt();
+        int y = in.readInt();
+        if (mapIndex < 0 || mapIndex >= gameMaps.size()
+                || !gameMaps.get(mapIndex).getXRange().contains(x) || !gameMaps.get(mapIndex).getYRange().contains(y))
+            throw new SnapshotFormatException(String.format("No Location at %d,%d on map %d", x, y, mapIndex));
+        return gameMaps.get(mapIndex).at(x, y);
     }
 
     /**
@@ -85,7 +379,7 @@ public class GameWorld extends World {
      * map - processes the actions of every Actor in the game, regardless of map
      *
      * Every 10 turns, there is a chance of raining that will add water points to
-     * unconscious Dinosaurs and add sips to the water bodies.
+     * unconscious Dinosaurs and add sips to the water bodies (see Weather).
      *
      * @throws IllegalStateException if the player doesn't exist
      */
@@ -94,52 +388,180 @@ public class GameWorld extends World {
         if (player == null)
             throw new IllegalStateException();
 
-        // initialize the last action map to nothing actions;
-        for (Actor actor : actorLocations)
-            lastActionMap.put(actor, new DoNothingAction());
+        initialiseLastActions();
 
         // This loop is basically the whole game
-        while (stillRunning()) {
-            GameMap playersMap = actorLocations.locationOf(player).map();
-            playersMap.draw(display);
-
-            int sipsAdded = 0;
-            int rainDrops = 0;
-            if (turns%10 == 0 && rand.nextDouble() <= 0.2) {
-                System.out.println("###   It's raining!   ###");
-                double rainfall = rand.nextDouble() * 0.5 + 0.1;
-                sipsAdded = (int) Math.floor(rainfall * 20);
-                rainDrops = 10;
-            }
+        while (stillRunning())
+            playTurn();
+
+        display.println(endGameMessage());
+    }
+
+    /**
+     * Run the game for at most the given number of turns, without displaying
+     * the end game message. Stops early if the game is no longer running.
+     * Used for batch simulations, usually with a HeadlessDisplay and a HeadlessPlayer,
+     * so the turns are played as fast as possible.
+     *
+     * @param numberOfTurns Maximum number of turns to play
+     * @throws IllegalStateException if the player doesn't exist
+     */
+    public void simulate(int numberOfTurns) {
+        if (player == null)
+            throw new IllegalStateException();
 
-            // Display number of moves left
-            if (isChallengeMode())
-                System.out.printf("###   %d moves left!   ###%n", maxTurns - turns);
+        initialiseLastActions();
 
-            // Process all the actors.
+        for (int i = 0; i < numberOfTurns && stillRunning(); i++)
+            playTurn();
+    }
+
+    /**
+     * Initialise the last action map to nothing actions.
+     */
+    private void initialiseLastActions() {
+        for (Actor actor : actorLocations)
+            lastActionMap.putIfAbsent(actor, new DoNothingAction());
+    }
+
+    /**
+     * Play a single turn of the game.
+     * Draws the player's map, processes every Actor, then ticks over all the maps.
+     */
+    private void playTurn() {
+        GameMap playersMap = actorLocations.locationOf(player).map();
+        long start = metrics.start();
+        playersMap.draw(display);
+        metrics.stop(Phase.DRAW, start);
+        context.getRandom().setTurn(turns);
+        weather.startTurn(turns, context.getRandom(), events);
+
+        if (isChallengeMode())
+            events.publish(new MovesLeft(maxTurns - turns));
+
+        // Process all the actors.
+        if (decisionPool != null)
+            processActorTurnsInParallel();
+        else {
             for (Actor actor : actorLocations) {
                 if (stillRunning())
                     processActorTurn(actor);
             }
+        }
 
-            // Tick over all the maps. For the map stuff.
-            for (GameMap gameMap : gameMaps) {
+        // Tick over all the maps. For the map stuff.
+        for (GameMap gameMap : gameMaps) {
+            start = metrics.start();
+            if (tickPool != null && gameMap instanceof DinosaurMap)
+                ((DinosaurMap) gameMap).tick(tickPool);
+            else
                 gameMap.tick();
-                for (int x : gameMap.getXRange()) {
-                    for (int y: gameMap.getYRange()) {
-                        Location here = gameMap.at(x, y);
-                        if (here.getGround() instanceof WaterBody)
-                            ((WaterBody) here.getGround()).addSips(sipsAdded);
-                        if (here.containsAnActor() && !here.getActor().equals(player))
-                            ((Dinosaur) here.getActor()).quenchThirst(rainDrops);
-                    }
-                }
+            metrics.stop(Phase.MAP_TICK, start);
+
+            start = metrics.start();
+            weather.rain(gameMap);
+            metrics.stop(Phase.RAIN, start);
+        }
+
+        // Grounds may have grown or run out of produce, and water bodies run dry or been refilled
+        flowFields.endTurn();
+
+        TurnProfiled profile = metrics.endTurn(turns);
+        if (profile != null)
+            events.publish(profile);
+
+        turns++;
+    }
+
+    /**
+     * Processes the turns of all the Actors, with the Dinosaurs deciding in parallel.
+     * See setDecisionPool() for how the turn is played.
+     */
+    private void processActorTurnsInParallel() {
+        List<Dinosaur> dinosaurs = new ArrayList<>();
+        List<Long> preparationNanos = new ArrayList<>();
+
+        // Step 1: the other Actors play and the Dinosaurs prepare, one at a time
+        for (Actor actor : actorLocations) {
+            if (!stillRunning())
+                return;
+            if (!(actor instanceof Dinosaur)) {
+                processActorTurn(actor);
+                continue;
             }
 
-            turns++;
+            Dinosaur dinosaur = (Dinosaur) actor;
+            long start = metrics.start();
+            boolean conscious = dinosaur.prepareTurn(actorLocations.locationOf(dinosaur).map());
+            if (conscious) {
+                dinosaurs.add(dinosaur);
+                preparationNanos.add(start == 0 ? 0 : System.nanoTime() - start);
+            } else {
+                lastActionMap.put(dinosaur, new DoNothingAction());
+                metrics.stop(Phase.ACTOR_TURN, start);
+                metrics.count(Counter.ACTOR_TURNS, 1);
+            }
         }
 
-        display.println(endGameMessage());
+        // Step 2: the conscious Dinosaurs decide all at once
+        Action[] decisions = new Action[dinosaurs.size()];
+        long start = metrics.start();
+        decisionPool.submit(() -> IntStream.range(0, decisions.length).parallel().forEach(i -> {
+            Dinosaur dinosaur = dinosaurs.get(i);
+            decisions[i] = dinosaur.decide(actorLocations.locationOf(dinosaur).map());
+        })).join();
+        metrics.stop(Phase.DECIDE, start);
+
+        // Step 3: the decisions are carried out one at a time, deciding again if they are no longer valid
+        for (int i = 0; i < decisions.length; i++) {
+            Dinosaur dinosaur = dinosaurs.get(i);
+            if (!stillRunning())
+                return;
+            if (!actorLocations.contains(dinosaur))
+                continue;
+
+            start = metrics.start();
+            GameMap map = actorLocations.locationOf(dinosaur).map();
+            Action action = decisions[i];
+            if (!action.isStillValid(dinosaur, map))
+                action = dinosaur.decide(map);
+            lastActionMap.put(dinosaur, action);
+            display.println(action.execute(dinosaur, map));
+            // The turn of a Dinosaur is its preparation and its Action, its decision is timed as part of DECIDE
+            metrics.stop(Phase.ACTOR_TURN, start == 0 ? 0 : start - preparationNanos.get(i));
+            metrics.count(Counter.ACTOR_TURNS, 1);
+            metrics.count(Counter.ACTIONS, 1);
+        }
+    }
+
+    /**
+     * Gives an Actor its turn.
+     * Overridden to time the turn and count the Actions the Actor chose from and took.
+     *
+     * @param actor the Actor whose turn it is.
+     */
+    @Override
+    protected void processActorTurn(Actor actor) {
+        long start = metrics.start();
+        super.processActorTurn(actor);
+        metrics.stop(Phase.ACTOR_TURN, start);
+        metrics.count(Counter.ACTOR_TURNS, 1);
+        metrics.count(Counter.ACTIONS, 1);
+    }
+
+    /**
+     * Returns the Actions an Actor can take from where it is.
+     * Overridden to count them.
+     *
+     * @param actor the Actor whose turn it is
+     * @param here the Location of the Actor
+     * @return the Actions the Actor can take
+     */
+    @Override
+    protected Actions allowableActions(Actor actor, Location here) {
+        Actions actions = super.allowableActions(actor, here);
+        metrics.count(Counter.ACTIONS, actions.size());
+        return actions;
     }
 
     /**
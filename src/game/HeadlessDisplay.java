@@ -0,0 +1,71 @@
+package game;
+
+import edu.monash.fit2099.engine.Display;
+import edu.monash.fit2099.engine.Printable;
+
+
+/**
+ * A Display that discards everything written to it.
+ * Used for headless batch simulations, where console output
+ * would otherwise dominate the time spent on each turn.
+ *
+ * @author Ci Leong Ong
+ */
+public class HeadlessDisplay extends Display {
+
+    /**
+     * Discards the displayable object.
+     *
+     * @param printable the object to display
+     */
+    @Override
+    public void print(Printable printable) {
+    }
+
+    /**
+     * Frames would only be discarded, so the maps need not work them out.
+     *
+     * @return false
+     */
+    @Override
+    public boolean wantsFrames() {
+        return false;
+    }
+
+    /**
+     * Discards the frame.
+     *
+     * @param frame the rows of characters to display
+     */
+    @Override
+    public void printFrame(char[][] frame) {
+    }
+
+    /**
+     * Discards the String.
+     *
+     * @param s the string to print
+     */
+    @Override
+    public void println(String s) {
+    }
+
+    /**
+     * Discards the line terminator.
+     */
+    @Override
+    public void endLine() {
+    }
+
+    /**
+     * There is no one to read from in a headless simulation,
+     * where every Actor, the HeadlessPlayer included, decides without a menu.
+     *
+     * @throws IllegalStateException always, as nothing should ask a headless simulation for input
+     */
+    @Override
+    public char readChar() {
+        throw new IllegalStateException("A headless simulation cannot read input.");
+    }
+
+}
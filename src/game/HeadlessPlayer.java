@@ -0,0 +1,52 @@
+package game;
+
+import edu.monash.fit2099.engine.*;
+
+
+/**
+ * A Player that is not controlled by a human.
+ * Used in headless batch simulations, it idles every turn
+ * so that the ecosystem runs without waiting for input.
+ *
+ * @author Ci Leong Ong
+ */
+public class HeadlessPlayer extends Player {
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name        Name to call the player in the UI
+	 * @param displayChar Character to represent the player in the UI
+	 * @param hitPoints   Player's starting hitpoints
+	 */
+	public HeadlessPlayer(String name, char displayChar, int hitPoints) {
+		super(name, displayChar, hitPoints);
+	}
+
+	/**
+	 * Continues a multi-turn Action if there is one, otherwise does nothing.
+	 *
+	 * @param actions    Collection of possible actions
+	 * @param lastAction The Action the Player took last turn.
+	 * @param map        The map containing the Actor
+	 * @param display    The I/O object to which messages may be written
+	 * @return The action to be performed by the Player this turn
+	 */
+	@Override
+	public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+		if (lastAction != null && lastAction.getNextAction() != null)
+			return lastAction.getNextAction();
+
+		return new DoNothingAction();
+	}
+
+	/**
+	 * The headless Player never looks at the menu of Actions.
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean usesActionMenu() {
+		return false;
+	}
+}
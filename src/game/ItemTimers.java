@@ -0,0 +1,212 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Item;
+import edu.monash.fit2099.engine.Location;
+import game.items.TimedItem;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Wakes up the TimedItems lying on a map on the turns they are due,
+ * so that Items waiting to hatch, rot or spoil cost nothing on the other turns.
+ *
+ * Every DinosaurMap has its own timers, advanced once per turn at the end of its tick.
+ * Items are scheduled when put down on the map and cancelled when picked up,
+ * by the GameLocations they are put on. Each Item is told how long it has
+ * lain on the ground whenever it is woken up or leaves the ground.
+ *
+ * @author Ci Leong Ong
+ */
+public class ItemTimers {
+
+    /**
+     * A TimedItem lying on a cell of the map.
+     */
+    private static final class Placement {
+        private final TimedItem item;
+        private final int x;
+        private final int y;
+
+        /**
+         * The turn, as counted by the wheel, from which the Item has lain on the ground without being told.
+         */
+        private long since;
+
+        private Placement(TimedItem item, int x, int y, long since) {
+            this.item = item;
+            this.x = x;
+            this.y = y;
+            this.since = since;
+        }
+    }
+
+    /**
+     * Wakes up Items in the order they would have been ticked: by row, then by column.
+     */
+    private static final Comparator<TimerWheel.Timer<Placement>> CELL_ORDER =
+            Comparator.comparingInt((TimerWheel.Timer<Placement> timer) -> timer.value().y)
+                    .thenComparingInt(timer -> timer.value().x);
+
+    /**
+     * The map the Items lie on.
+     */
+    private final GameMap map;
+
+    /**
+     * The turns the Items are due on, one tick per turn.
+     */
+    private final TimerWheel<Placement> wheel = new TimerWheel<>();
+
+    /**
+     * The timer of every TimedItem lying on the map.
+     */
+    private final Map<TimedItem, TimerWheel.Timer<Placement>> timers = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param map The map the Items lie on
+     */
+    ItemTimers(GameMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns the ItemTimers of a map.
+     *
+     * @param map The map
+     * @return The ItemTimers of the map
+     * @throws IllegalStateException if the map is not a DinosaurMap
+     */
+    public static ItemTimers of(GameMap map) {
+        if (!(map instanceof DinosaurMap))
+            throw new IllegalStateException("Only a DinosaurMap has ItemTimers.");
+        return ((DinosaurMap) map).timers;
+    }
+
+    /**
+     * Schedules an Item that has just been put down, if it is a TimedItem.
+     *
+     * @param location Where the Item was put down
+     * @param item     The Item
+     */
+    void placed(Location location, Item item) {
+        if (item instanceof TimedItem)
+            schedule((TimedItem) item, location.x(), location.y(), wheel.now());
+    }
+
+    /**
+     * Cancels an Item that has just been picked up, if it is a TimedItem,
+     * telling it how long it has lain on the ground.
+     *
+     * @param item The Item
+     */
+    void removed(Item item) {
+        if (!(item instanceof TimedItem))
+            return;
+
+        TimerWheel.Timer<Placement> timer;
+        synchronized (timers) {
+            timer = timers.remove(item);
+        }
+        if (timer != null) {
+            wheel.cancel(timer);
+            ((TimedItem) item).lieFor((int) (wheel.now() - timer.value().since));
+        }
+    }
+
+    /**
+     * Lets the timers know that something about an Item on the ground has changed,
+     * so that it may be due sooner or later than it was.
+     *
+     * @param location Where the Item lies
+     * @param item     The Item
+     */
+    public void changed(Location location, Item item) {
+        if (item instanceof TimedItem) {
+            removed(item);
+            placed(location, item);
+        }
+    }
+
+    /**
+     * Wakes up the Items due this turn, in the order they would have been ticked,
+     * then moves on to the next turn.
+     */
+    void advance() {
+        List<TimerWheel.Timer<Placement>> due = wheel.advance();
+        due.sort(CELL_ORDER);
+        long turn = wheel.now() - 1;
+
+        for (TimerWheel.Timer<Placement> timer : due) {
+            Placement placement = timer.value();
+            synchronized (timers) {
+                if (timers.get(placement.item) != timer)
+                    continue;
+                timers.remove(placement.item);
+            }
+
+            Location location = map.at(placement.x, placement.y);
+            placement.item.lieFor((int) (turn + 1 - placement.since));
+            placement.item.due(location);
+            if (location.getItems().contains((Item) placement.item))
+                schedule(placement.item, placement.x, placement.y, turn + 1);
+        }
+    }
+
+    /**
+     * Tells every Item on the ground how long it has lain there, so that its state can be saved.
+     */
+    void settle() {
+        long now = wheel.now();
+        for (TimerWheel.Timer<Placement> timer : wheel.waiting()) {
+            timer.value().item.lieFor((int) (now - timer.value().since));
+            timer.value().since = now;
+        }
+    }
+
+    /**
+     * Forgets every Item, and schedules the TimedItems among those given, as if they had just been put down.
+     * Used when the Items of the map have been replaced, e.g. by restoring a snapshot.
+     *
+     * @param items The Items now lying on each cell of the map, by the index of the cell
+     * @param width The width of the map
+     */
+    void reset(Map<Integer, ? extends List<Item>> items, int width) {
+        wheel.clear();
+        synchronized (timers) {
+            timers.clear();
+        }
+        for (Map.Entry<Integer, ? extends List<Item>> entry : items.entrySet()) {
+            for (Item item : entry.getValue()) {
+                if (item instanceof TimedItem)
+                    schedule((TimedItem) item, entry.getKey() % width, entry.getKey() / width, wheel.now());
+            }
+        }
+    }
+
+    /**
+     * Schedules an Item lying on the ground from a given turn.
+     *
+     * @param item  The Item
+     * @param x     X coordinate of its cell
+     * @param y     Y coordinate of its cell
+     * @param since The turn it lies on the ground from
+     */
+    private void schedule(TimedItem item, int x, int y, long since) {
+        int turns = item.turnsUntilDue();
+        if (turns <= 0)
+            return;
+
+        TimerWheel.Timer<Placement> timer = wheel.schedule(new Placement(item, x, y, since), since + turns - 1);
+        synchronized (timers) {
+            timers.put(item, timer);
+        }
+    }
+
+}
@@ -0,0 +1,309 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import game.events.TurnProfiled;
+import game.metrics.Counter;
+import game.metrics.LatencyHistogram;
+import game.metrics.MetricsMXBean;
+import game.metrics.Phase;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ * Times the phases of every turn of a world, and counts the work done in them.
+ *
+ * Every GameWorld has its own Metrics, which do nothing until they are enabled,
+ * so that the game pays a single check per timed phase when it is not being profiled.
+ * Durations are kept in a LatencyHistogram per Phase, and per class of Behaviour,
+ * for the whole game. At the end of every turn, the time spent in each Phase during
+ * the turn is published as a TurnProfiled event.
+ *
+ * Phases are nested: BEHAVIOUR is part of ACTOR_TURN, and GROUND_TICK is part of MAP_TICK.
+ * Phases may be timed from several threads at once, as Grounds are ticked in parallel.
+ *
+ * @author Ci Leong Ong
+ */
+public class Metrics implements MetricsMXBean {
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    /**
+     * Durations of each class of Behaviour, keyed by its simple name.
+     */
+    private final Map<String, LatencyHistogram> behaviourHistograms = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray totals = new AtomicLongArray(COUNTERS.length);
+
+    private final AtomicLongArray turnNanos = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray turnCounts = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray turnCounters = new AtomicLongArray(COUNTERS.length);
+
+    private volatile boolean enabled;
+
+    private volatile int turnsProfiled;
+
+    /**
+     * Name this object is registered under in the platform MBeanServer, null if it is not registered.
+     */
+    private ObjectName objectName;
+
+    /**
+     * Constructor. The Metrics start disabled.
+     */
+    public Metrics() {
+        for (Phase phase : PHASES)
+            histograms[phase.ordinal()] = new LatencyHistogram();
+    }
+
+    /**
+     * Returns the Metrics of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The Metrics of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static Metrics of(GameMap map) {
+        if (!(map instanceof DinosaurMap) || ((DinosaurMap) map).metrics == null)
+            throw new IllegalStateException("The map has not been added to a GameWorld.");
+        return ((DinosaurMap) map).metrics;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a phase. Pass the result to stop() once the phase is over.
+     *
+     * @return The current time in nanoseconds, or 0 if the Metrics are disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing a phase.
+     * Nothing is recorded if the Metrics were disabled when the phase started.
+     *
+     * @param phase The Phase
+     * @param start The value returned by start() when the phase started
+     */
+    public void stop(Phase phase, long start) {
+        if (start != 0)
+            record(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Stops timing a Behaviour deciding on an Action, recorded as the BEHAVIOUR Phase
+     * and against the class of the Behaviour.
+     *
+     * @param behaviour The Behaviour
+     * @param start     The value returned by start() when the Behaviour started
+     */
+    public void stopBehaviour(Behaviour behaviour, long start) {
+        if (start == 0)
+            return;
+        long nanos = System.nanoTime() - start;
+        record(Phase.BEHAVIOUR, nanos);
+        behaviourHistograms.computeIfAbsent(behaviour.getClass().getSimpleName(), name -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    /**
+     * Adds to a Counter, if the Metrics are enabled.
+     *
+     * @param counter The Counter
+     * @param amount  The amount to add
+     */
+    public void count(Counter counter, long amount) {
+        if (enabled) {
+            totals.addAndGet(counter.ordinal(), amount);
+            turnCounters.addAndGet(counter.ordinal(), amount);
+        }
+    }
+
+    private void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+        turnNanos.addAndGet(phase.ordinal(), nanos);
+        turnCounts.incrementAndGet(phase.ordinal());
+    }
+
+    /**
+     * Ends a turn, returning what was measured during it and starting afresh for the next turn.
+     *
+     * @param turn The turn that has ended
+     * @return What was measured during the turn, or null if the Metrics are disabled
+     */
+    TurnProfiled endTurn(int turn) {
+        if (!enabled)
+            return null;
+        turnsProfiled++;
+        return new TurnProfiled(turn, drain(turnNanos), drain(turnCounts), drain(turnCounters));
+    }
+
+    private static long[] drain(AtomicLongArray values) {
+        long[] drained = new long[values.length()];
+        for (int i = 0; i < drained.length; i++)
+            drained[i] = values.getAndSet(i, 0);
+        return drained;
+    }
+
+    /**
+     * Returns the durations of a Phase recorded so far.
+     *
+     * @param phase The Phase
+     * @return The histogram of its durations
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the total of a Counter so far.
+     *
+     * @param counter The Counter
+     * @return Its total
+     */
+    public long getCount(Counter counter) {
+        return totals.get(counter.ordinal());
+    }
+
+    @Override
+    public int getTurnsProfiled() {
+        return turnsProfiled;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (Counter counter : COUNTERS)
+            counters.put(counter.name(), getCount(counter));
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        allHistograms().forEach((name, histogram) -> timings.put(name, histogram.getCount()));
+        return timings;
+    }
+
+    @Override
+    public Map<String, Double> getMeanMicros() {
+        return micros(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return micros(histogram -> histogram.getPercentile(0.5));
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return micros(histogram -> histogram.getPercentile(0.99));
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        return micros(LatencyHistogram::getMax);
+    }
+
+    private Map<String, Double> micros(ToDoubleFunction<LatencyHistogram> nanos) {
+        Map<String, Double> micros = new LinkedHashMap<>();
+        allHistograms().forEach((name, histogram) -> micros.put(name, nanos.applyAsDouble(histogram) / 1000));
+        return micros;
+    }
+
+    /**
+     * Returns the histograms of every Phase, followed by those of every class of Behaviour.
+     *
+     * @return The histograms, keyed by name
+     */
+    private Map<String, LatencyHistogram> allHistograms() {
+        Map<String, LatencyHistogram> all = new LinkedHashMap<>();
+        for (Phase phase : PHASES)
+            all.put(phase.name(), histograms[phase.ordinal()]);
+        behaviourHistograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> all.put("BEHAVIOUR:" + entry.getKey(), entry.getValue()));
+        return all;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms)
+            histogram.reset();
+        behaviourHistograms.clear();
+        drain(totals);
+        drain(turnNanos);
+        drain(turnCounts);
+        drain(turnCounters);
+        turnsProfiled = 0;
+    }
+
+    /**
+     * Returns a table of the durations recorded so far, in microseconds,
+     * followed by the totals of the Counters.
+     *
+     * @return The table, one line per Phase or class of Behaviour
+     */
+    public String summary() {
+        StringBuilder table = new StringBuilder(String.format("%-32s %10s %10s %10s %10s %10s%n",
+                "phase (us)", "count", "mean", "p50", "p99", "max"));
+        allHistograms().forEach((name, histogram) -> table.append(String.format("%-32s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                name, histogram.getCount(), histogram.getMean() / 1000, histogram.getPercentile(0.5) / 1000.0,
+                histogram.getPercentile(0.99) / 1000.0, histogram.getMax() / 1000.0)));
+        for (Counter counter : COUNTERS)
+            table.append(String.format("%-32s %10d%n", counter.name(), getCount(counter)));
+        return table.toString();
+    }
+
+    /**
+     * Registers these Metrics in the platform MBeanServer, so that they can be watched
+     * with JMX tools such as JConsole while the game runs. Replaces any Metrics
+     * registered under the same name.
+     *
+     * @param name The name to register under, as "game:type=Metrics,name=" followed by the quoted name
+     * @throws JMException if the Metrics cannot be registered
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName newName = new ObjectName("game:type=Metrics,name=" + ObjectName.quote(name));
+        unregisterMBean();
+        if (server.isRegistered(newName))
+            server.unregisterMBean(newName);
+        server.registerMBean(this, newName);
+        objectName = newName;
+    }
+
+    /**
+     * Removes these Metrics from the platform MBeanServer, if they were registered.
+     *
+     * @throws JMException if the Metrics cannot be unregistered
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+}
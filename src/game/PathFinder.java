@@ -0,0 +1,268 @@
+package game;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Exit;
+import edu.monash.fit2099.engine.Location;
+import game.metrics.Counter;
+
+import java.util.*;
+
+
+/**
+ * Finds the shortest path for an Actor to a goal Location on the same map, using the A* algorithm,
+ * and remembers it so that following the path does not search again every turn.
+ *
+ * Every step, straight or diagonal, takes one turn, so the number of steps ignoring obstacles
+ * (the Chebyshev distance, see ComputeDistance) never overestimates the length of a path,
+ * and the paths found are the shortest.
+ * Terrain the Actor cannot enter is avoided. Other Actors are only avoided when they are
+ * next to the Actor, as those further away will have moved by the time the Actor gets there.
+ *
+ * The path is kept until the Actor strays from it, its next step is blocked, or the goal moves.
+ * A goal moving a single step is followed by extending the path, unless the path has grown
+ * much longer than the distance to the goal. A goal that cannot be reached is remembered,
+ * so it is not searched for again until the Actor or the goal moves.
+ *
+ * Each Actor needs its own PathFinder, only used from the thread the Actor decides in.
+ *
+ * @author Ci Leong Ong
+ */
+public class PathFinder implements ComputeDistance {
+
+    /**
+     * Largest number of Locations expanded by a single search.
+     * Bounds the time spent looking for a goal far away on a large map.
+     */
+    private static final int MAX_EXPANSIONS = 4096;
+
+    /**
+     * A Location reached by the search.
+     */
+    private static class Node {
+        private final Location location;
+        private final int heuristic;
+        private int cost;
+        private Node parent;
+        private boolean closed;
+
+        private Node(Location location, int heuristic) {
+            this.location = location;
+            this.heuristic = heuristic;
+        }
+    }
+
+    /**
+     * An entry of the open set. Nodes are queued again when a shorter path to them is found,
+     * the older entries are skipped once the Node is closed.
+     */
+    private record Entry(Node node, int estimate, int heuristic, int order) {
+    }
+
+    /**
+     * Expands the entry with the lowest estimated path length first, then the one nearest to the goal,
+     * then the one queued first, so that the same path is found every time.
+     */
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparingInt(Entry::estimate)
+            .thenComparingInt(Entry::heuristic)
+            .thenComparingInt(Entry::order);
+
+    /**
+     * The steps left to the goal, the goal last. Null if there is no path.
+     */
+    private Deque<Location> path;
+
+    /**
+     * The goal of the path.
+     */
+    private Location pathGoal;
+
+    /**
+     * The goal last found to be unreachable, and where the Actor was when it was searched for.
+     */
+    private Location unreachableGoal, unreachableFrom;
+
+    /**
+     * Returns the Location the Actor should step to next to get to the goal.
+     *
+     * @param actor The Actor
+     * @param here  Where the Actor is
+     * @param goal  The Location to get to, which may have another Actor in it
+     * @return The next Location on the shortest path to the goal, or null if the goal cannot be reached,
+     * or the Actor is already next to the goal and cannot enter it
+     */
+    public Location nextStep(Actor actor, Location here, Location goal) {
+        Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
+        Objects.requireNonNull(here, "Expected Location type argument, but null is received.");
+        Objects.requireNonNull(goal, "Expected Location type argument, but null is received.");
+
+        if (here.equals(goal))
+            return null;
+
+        if (path != null && !followsGoal(here, goal))
+            path = null;
+        if (path != null && here.equals(path.peekFirst()))
+            path.removeFirst();
+        if (path != null && !path.isEmpty() && isStepFrom(here, path.peekFirst())) {
+            Location next = path.peekFirst();
+            if (next.canActorEnter(actor))
+                return next;
+            if (next.equals(goal))
+                return null;
+        }
+
+        if (goal.equals(unreachableGoal) && here.equals(unreachableFrom))
+            return null;
+
+        path = search(actor, here, goal);
+        pathGoal = goal;
+        if (path == null) {
+            unreachableGoal = goal;
+            unreachableFrom = here;
+            return null;
+        }
+
+        Location next = path.peekFirst();
+        return next.canActorEnter(actor) ? next : null;
+    }
+
+    /**
+     * Updates the path for a goal that may have moved, if it is still worth following.
+     *
+     * @param here Where the Actor is
+     * @param goal The current goal
+     * @return true if the path leads to the goal, false if a new one must be found
+     */
+    private boolean followsGoal(Location here, Location goal) {
+        if (goal.equals(pathGoal))
+            return true;
+        if (!isStepFrom(pathGoal, goal) || path.size() >= 2 * distanceBetween(here, goal) + 2)
+            return false;
+
+        path.addLast(goal);
+        pathGoal = goal;
+        return true;
+    }
+
+    /**
+     * Returns true if there is an exit from one Location to the other.
+     *
+     * @param from The Location to step from
+     * @param to   The Location to step to
+     * @return true if to can be reached from from in a single step
+     */
+    private static boolean isStepFrom(Location from, Location to) {
+        for (Exit exit : from.getExits()) {
+            if (exit.getDestination().equals(to))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Searches for the shortest path from start to goal on the map of start, using A*.
+     * Gives up after MAX_EXPANSIONS Locations, returning a single step that brings
+     * the Actor closer to the goal, if there is one.
+     *
+     * @param actor The Actor
+     * @param start Where the Actor is
+     * @param goal  The Location to get to
+     * @return The steps from start to goal, goal included, or null if the goal cannot be reached
+     */
+    private Deque<Location> search(Actor actor, Location start, Location goal) {
+        if (start.map() != goal.map())
+            return null;
+
+        Map<Location, Node> nodes = new HashMap<>();
+        PriorityQueue<Entry> open = new PriorityQueue<>(ENTRY_ORDER);
+        Node first = new Node(start, distanceBetween(start, goal));
+        nodes.put(start, first);
+        open.add(new Entry(first, first.heuristic, first.heuristic, 0));
+
+        int order = 1;
+        int expansions = 0;
+        try {
+            while (!open.isEmpty()) {
+                Node node = open.remove().node();
+                if (node.closed)
+                    continue;
+                node.closed = true;
+
+                if (node.location.equals(goal))
+                    return pathTo(node);
+                if (++expansions > MAX_EXPANSIONS)
+                    return greedyStep(actor, start, goal);
+
+                for (Exit exit : node.location.getExits()) {
+                    Location destination = exit.getDestination();
+                    if (destination.map() != start.map() || !canPass(actor, start, destination, goal))
+                        continue;
+
+                    int cost = node.cost + 1;
+                    Node next = nodes.get(destination);
+                    if (next == null) {
+                        next = new Node(destination, distanceBetween(destination, goal));
+                        nodes.put(destination, next);
+                    } else if (next.closed || cost >= next.cost)
+                        continue;
+
+                    next.cost = cost;
+                    next.parent = node;
+                    open.add(new Entry(next, cost + next.heuristic, next.heuristic, order++));
+                }
+            }
+            return null;
+        } finally {
+            if (start.map() instanceof DinosaurMap && ((DinosaurMap) start.map()).metrics != null)
+                ((DinosaurMap) start.map()).metrics.count(Counter.PATH_NODES, expansions);
+        }
+    }
+
+    /**
+     * Returns true if the search may go through a Location.
+     *
+     * @param actor       The Actor
+     * @param start       Where the Actor is
+     * @param location    The Location to go through
+     * @param goal        The Location to get to, which can always be reached
+     * @return true if the Actor can enter the terrain, and no other Actor is in the way next to it
+     */
+    private boolean canPass(Actor actor, Location start, Location location, Location goal) {
+        if (location.equals(goal))
+            return true;
+        if (!location.getGround().canActorEnter(actor))
+            return false;
+        return !location.containsAnActor() || distanceBetween(start, location) > 1;
+    }
+
+    /**
+     * Returns the steps leading to a Node, from the step after the start.
+     *
+     * @param node The last Node of the path
+     * @return The steps, in order
+     */
+    private static Deque<Location> pathTo(Node node) {
+        Deque<Location> steps = new ArrayDeque<>();
+        for (Node step = node; step.parent != null; step = step.parent)
+            steps.addFirst(step.location);
+        return steps;
+    }
+
+    /**
+     * Returns a single step that brings the Actor closer to the goal, ignoring what lies beyond it.
+     *
+     * @param actor The Actor
+     * @param start Where the Actor is
+     * @param goal  The Location to get to
+     * @return The step, or null if there is none
+     */
+    private Deque<Location> greedyStep(Actor actor, Location start, Location goal) {
+        int currentDistance = distanceBetween(start, goal);
+        for (Exit exit : start.getExits()) {
+            Location destination = exit.getDestination();
+            if (destination.canActorEnter(actor) && distanceBetween(destination, goal) < currentDistance)
+                return new ArrayDeque<>(List.of(destination));
+        }
+        return null;
+    }
+
+}
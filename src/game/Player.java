@@ -1,16 +1,20 @@
 package game;
 
 import edu.monash.fit2099.engine.*;
+import game.events.EcoPointsEarned;
+import game.grounds.Produce;
 import game.grounds.SearchableGround;
 import game.items.Corpse;
 
+import java.util.ArrayList;
+
 
 /**
  * The Player of the game.
  *
  * @author Ci Leong Ong
  */
-public class Player extends Actor {
+public class Player extends Actor implements Snapshottable {
 
 	/**
 	 * Menu used for displaying the selections of actions the Player can choose from.
@@ -23,6 +27,11 @@ public class Player extends Actor {
 	 */
 	private int ecoPoints;
 
+	/**
+	 * The EventBus of the world the Player is in, set when the Player is added to a GameWorld.
+	 */
+	EventBus events;
+
 	/**
 	 * Constructor.
 	 *
@@ -48,11 +57,14 @@ public class Player extends Actor {
 
 	/**
 	 * Increment player's eco points.
+	 * Synchronized, so that it is safe to call from any thread.
 	 *
 	 * @param amount Number of eco points to add to the Player.
 	 */
-	public void earnEcoPoints(int amount) {
+	public synchronized void earnEcoPoints(int amount) {
 		ecoPoints += amount;
+		if (events != null)
+			events.publish(new EcoPointsEarned(amount, ecoPoints));
 	}
 
 	/**
@@ -88,15 +100,15 @@ public class Player extends Actor {
 	 */
 	@Override
 	public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
-		System.out.printf("Eco points: %d%n", ecoPoints);
+		display.println(String.format("Eco points: %d", ecoPoints));
 
 		actions.add(new QuitAction());
 
 		Ground groundHere = map.locationOf(this).getGround();
 
 		if (groundHere instanceof SearchableGround) {
-			for (Item item : ((SearchableGround) groundHere).getItemList())
-				actions.add(new SearchItemAction((SearchableGround) groundHere, item));
+			for (Produce produce : ((SearchableGround) groundHere).getProduce())
+				actions.add(new SearchItemAction((SearchableGround) groundHere, produce));
 		}
 
 		for (Item item : getInventory()) {
@@ -109,4 +121,33 @@ public class Player extends Actor {
 
 		return menu.showMenu(this, actions, display);
 	}
+
+	/**
+	 * Writes the hit points, eco points and inventory of the Player.
+	 *
+	 * @param out Where to write the state
+	 */
+	@Override
+	public void writeState(SnapshotOutput out) {
+		out.writeInt(hitPoints);
+		out.writeInt(maxHitPoints);
+		out.writeInt(ecoPoints);
+		out.writeObjects(inventory);
+	}
+
+	/**
+	 * Reads back the state written by writeState(), replacing the inventory.
+	 *
+	 * @param in Where to read the state from
+	 */
+	@Override
+	public void readState(SnapshotInput in) {
+		hitPoints = in.readInt();
+		maxHitPoints = in.readInt();
+		ecoPoints = in.readInt();
+		for (Item item : new ArrayList<>(getInventory()))
+			removeItemFromInventory(item);
+		for (Item item : in.readObjects(Item.class))
+			addItemToInventory(item);
+	}
 }
@@ -0,0 +1,250 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.dinosaurs.Dinosaur;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+
+/**
+ * Provides every random number used in the game, so that a simulation
+ * started with the same seed plays out the same way every time.
+ *
+ * Each subsystem draws from its own stream, so that rolling more dice in one
+ * subsystem does not change the numbers drawn in another.
+ * Code that may run in parallel (updating and ticking Grounds, Dinosaurs deciding what to do) draws from a stream
+ * of its own Location instead, derived from the seed, the turn and the coordinates,
+ * so the numbers do not depend on which thread gets to a Location first.
+ *
+ * Every GameWorld has a RandomSource of its own (see WorldContext), so worlds played
+ * at the same time do not draw from each other's streams.
+ *
+ * @author Ci Leong Ong
+ */
+public final class RandomSource {
+
+    /**
+     * The subsystems drawing random numbers.
+     */
+    public enum Stream {
+
+        /**
+         * Rain.
+         */
+        WEATHER,
+
+        /**
+         * Bushes sprouting and Grounds being crushed.
+         */
+        GROWTH,
+
+        /**
+         * Grounds producing Fruits and Fish.
+         */
+        PRODUCE,
+
+        /**
+         * Dinosaurs being born.
+         */
+        DINOSAURS,
+
+        /**
+         * Dinosaurs wandering around.
+         */
+        MOVEMENT,
+
+        /**
+         * Attacks and shots.
+         */
+        COMBAT,
+
+        /**
+         * Searching and fishing in Grounds.
+         */
+        SEARCH,
+
+        /**
+         * When Bushes next sprout on their own.
+         */
+        SPROUTING,
+
+        /**
+         * Rain cells forming on the edges of maps.
+         */
+        RAIN_CELLS
+
+    }
+
+    /**
+     * The seed all streams are derived from.
+     */
+    private long seed;
+
+    /**
+     * The stream of each subsystem, created when first used.
+     */
+    private final Map<Stream, SplittableRandom> streams = new EnumMap<>(Stream.class);
+
+    /**
+     * The turn being played, used to derive the streams of Locations.
+     */
+    private int turn;
+
+    /**
+     * The turn the streams of subsystems were last restarted from.
+     * Zero, unless the game was restored from a snapshot.
+     */
+    private int streamsStart;
+
+    /**
+     * Constructor.
+     *
+     * @param seed The seed all streams are derived from
+     */
+    RandomSource(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the RandomSource of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The RandomSource of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static RandomSource of(GameMap map) {
+        return WorldContext.of(map).getRandom();
+    }
+
+    /**
+     * Returns a new stream for a subsystem at a Location in the current turn of its world.
+     * Shorthand for {@code RandomSource.of(location.map()).streamAt(stream, location)}.
+     *
+     * @param stream   The subsystem
+     * @param location The Location
+     * @return A random number generator for the subsystem at the Location
+     * @throws IllegalStateException if the map of the Location has not been added to a GameWorld
+     */
+    public static SplittableRandom at(Stream stream, Location location) {
+        return of(location.map()).streamAt(stream, location);
+    }
+
+    /**
+     * Returns a new stream for a subsystem acting for a Dinosaur at a Location in the current turn of its world.
+     * Shorthand for {@code RandomSource.of(location.map()).streamAt(stream, location, dinosaur.getDinoId())}.
+     *
+     * @param stream   The subsystem
+     * @param location The Location
+     * @param dinosaur The Dinosaur
+     * @return A random number generator for the subsystem, the Dinosaur and the Location
+     * @throws IllegalStateException if the map of the Location has not been added to a GameWorld
+     */
+    public static SplittableRandom at(Stream stream, Location location, Dinosaur dinosaur) {
+        return of(location.map()).streamAt(stream, location, dinosaur.getDinoId());
+    }
+
+    /**
+     * Sets the turn being played, so that Locations draw new numbers every turn.
+     *
+     * @param newTurn The number of turns since the start of the game
+     */
+    void setTurn(int newTurn) {
+        turn = newTurn;
+    }
+
+    /**
+     * Returns the seed all streams are derived from.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Restarts every stream from the given seed, as if the game had been played up to the given turn.
+     * Used when a world is restored from a snapshot: the position of a stream cannot be saved,
+     * so the streams of subsystems are started afresh from a point that depends on the turn,
+     * while the streams of Locations carry on exactly as in the game the snapshot was taken of.
+     *
+     * @param newSeed  The seed
+     * @param fromTurn The turn the game continues from
+     */
+    void restart(long newSeed, int fromTurn) {
+        seed = newSeed;
+        streams.clear();
+        streamsStart = fromTurn;
+        turn = fromTurn;
+    }
+
+    /**
+     * Returns the stream of a subsystem.
+     * Must only be used by code that is never run in parallel.
+     *
+     * @param stream The subsystem
+     * @return The random number generator of the subsystem
+     */
+    public SplittableRandom stream(Stream stream) {
+        return streams.computeIfAbsent(stream, s -> {
+            long key = mix(seed ^ mix(s.ordinal() + 1));
+            return new SplittableRandom(streamsStart == 0 ? key : mix(key ^ streamsStart));
+        });
+    }
+
+    /**
+     * Returns a new stream for a subsystem at a Location in the current turn.
+     * Safe to use from any thread: asking twice for the same subsystem, Location and turn
+     * gives the same numbers.
+     *
+     * @param stream   The subsystem
+     * @param location The Location
+     * @return A random number generator for the subsystem at the Location
+     */
+    public SplittableRandom streamAt(Stream stream, Location location) {
+        return new SplittableRandom(keyAt(stream, location));
+    }
+
+    /**
+     * Returns a new stream for a subsystem acting for an Actor at a Location in the current turn.
+     * Safe to use from any thread. Actors with different IDs draw different numbers at the same Location,
+     * while asking twice for the same subsystem, Actor, Location and turn gives the same numbers.
+     *
+     * @param stream   The subsystem
+     * @param location The Location
+     * @param actorId  The ID of the Actor, e.g. the ID of a Dinosaur
+     * @return A random number generator for the subsystem, the Actor and the Location
+     */
+    public SplittableRandom streamAt(Stream stream, Location location, int actorId) {
+        return new SplittableRandom(mix(keyAt(stream, location) ^ mix(actorId)));
+    }
+
+    /**
+     * Returns the seed of the stream of a subsystem at a Location in the current turn.
+     *
+     * @param stream   The subsystem
+     * @param location The Location
+     * @return The seed of the stream
+     */
+    private long keyAt(Stream stream, Location location) {
+        int mapIndex = location.map() instanceof DinosaurMap ? ((DinosaurMap) location.map()).index : 0;
+        long key = mix(seed ^ mix(stream.ordinal() + 1));
+        key = mix(key ^ turn);
+        return mix(key ^ ((long) mapIndex << 48 ^ (long) location.y() << 24 ^ location.x()));
+    }
+
+    /**
+     * Scrambles the bits of a number (the finaliser of MurmurHash3).
+     *
+     * @param z The number to scramble
+     * @return The scrambled number
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+}
@@ -4,10 +4,9 @@ import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Item;
+import game.grounds.Produce;
 import game.grounds.SearchableGround;
 
-import java.util.Random;
-
 
 /**
  * Player searches for Item from within the SearchableGround.
@@ -16,33 +15,29 @@ import java.util.Random;
  */
 public class SearchItemAction extends Action {
 
-    /**
-     * Used to determine whether the item can be found.
-     */
-    private final Random rand = new Random();
-
     /**
      * Target Ground to be searched for item.
      */
     private final SearchableGround groundHere;
 
     /**
-     * The Item the Player is trying to search for.
+     * The kind of produce the Player is trying to search for.
      */
-    private final Item item;
+    private final Produce produce;
 
     /**
      * Constructor.
      *
-     * @param ground Target Plant to be searched for Fruits
+     * @param ground  Target Plant to be searched for Fruits
+     * @param produce The kind of produce to search for
      */
-    public SearchItemAction(SearchableGround ground, Item item) {
+    public SearchItemAction(SearchableGround ground, Produce produce) {
         groundHere = ground;
-        this.item = item;
+        this.produce = produce;
     }
 
     /**
-     * Has 40% chance to obtain the Item from the SearchableGround.
+     * Has 40% chance to obtain an Item of the produce from the SearchableGround.
      * Player gains 10 eco points if so.
      *
      * @param player The Actor searching the SearchableGround
@@ -51,10 +46,13 @@ public class SearchItemAction extends Action {
      */
     @Override
     public String execute(Actor player, GameMap map) {
-        if (rand.nextDouble() <= 0.4) {
-            groundHere.getItemList().remove(item);
+        WorldContext context = WorldContext.of(map);
+        if (context.getRandom().stream(RandomSource.Stream.SEARCH).nextDouble() <= 0.4) {
+            Item item = groundHere.take(map.locationOf(player), produce);
+            if (item == null)
+                return "Player could not find anything useful.";
             player.addItemToInventory(item);
-            GameWorld.getPlayer().earnEcoPoints(10);
+            context.getPlayer().earnEcoPoints(10);
             return String.format("Player found %s from the %s.", item, groundHere.getClass().getSimpleName());
         } else
             return "Player could not find anything useful.";
@@ -68,7 +66,7 @@ public class SearchItemAction extends Action {
      */
     @Override
     public String menuDescription(Actor actor) {
-        return String.format("Player searches for %s", item);
+        return String.format("Player searches for %s", produce);
     }
 
 }
@@ -3,24 +3,15 @@ package game;
 import edu.monash.fit2099.engine.*;
 import game.dinosaurs.DieAction;
 
-import java.util.Random;
-
 
 /**
  * Handles ranged weapon shooting action/logic,
  * performed exclusively by Player.
- * Implements ComputeActorDistance to calculate
- * the distance between two Actors.
  *
  * @author Ci Leong Ong
  * @author Toh Zhen Kang
  */
-public class ShootAction extends Action implements ComputeDistance {
-
-    /**
-     * Random used to determine if the shot is a critical hit.
-     */
-    private final Random rand = new Random();
+public class ShootAction extends Action {
 
     /**
      * The victim Actor.
@@ -61,7 +52,7 @@ public class ShootAction extends Action implements ComputeDistance {
         if (target == null)
             return String.format("%s %s the air", shooter, weapon.verb());
 
-        int damage = rand.nextBoolean() ? target.getMaxHitPoints() : (int) (target.getMaxHitPoints() * 0.8);
+        int damage = RandomSource.of(map).stream(RandomSource.Stream.COMBAT).nextBoolean() ? target.getMaxHitPoints() : (int) (target.getMaxHitPoints() * 0.8);
         target.hurt(damage);
         result = String.format("%s zapped %s.%n", shooter, target);
         result += String.format("%s %s %s for %s damage.%n", shooter, weapon.verb(), target, damage);
@@ -102,14 +93,6 @@ public class ShootAction extends Action implements ComputeDistance {
         int SHOOTING_RANGE = 20;
         Location here = map.locationOf(shooter);
 
-        // Iterate through locations from nearest to farthest from here
-        for (Location location : (GameLocation) here) {
-            if (distanceBetween(here, location) >= SHOOTING_RANGE)
-                break;
-            else if (location.containsAnActor() && !location.getActor().equals(shooter))
-                return location.getActor();
-        }
-
-        return null;
+        return map.nearestActor(here, actor -> !actor.equals(shooter), SHOOTING_RANGE - 1);
     }
 }
\ No newline at end of file
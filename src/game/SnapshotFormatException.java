@@ -0,0 +1,23 @@
+package game;
+
+
+/**
+ * Thrown when a world snapshot cannot be decoded,
+ * because it is truncated, corrupted, or was taken of a different world.
+ *
+ * @author Ci Leong Ong
+ */
+public class SnapshotFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message Describes what is wrong with the snapshot
+     */
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+
+}
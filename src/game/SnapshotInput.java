@@ -0,0 +1,176 @@
+package game;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Reads back a world snapshot written by SnapshotOutput.
+ * The whole file is read into memory in one go, and then decoded from there.
+ *
+ * @author Ci Leong Ong
+ */
+public final class SnapshotInput {
+
+    /**
+     * The contents of the snapshot, positioned at the next value to read.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor.
+     *
+     * @param buffer The contents of the snapshot
+     */
+    private SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads a whole snapshot file.
+     *
+     * @param file The file to read
+     * @return The snapshot, positioned at its start
+     * @throws IOException if the file cannot be read, or is too large to be a snapshot
+     */
+    public static SnapshotInput readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Snapshot is too large: " + file);
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    throw new IOException("Snapshot was truncated while reading: " + file);
+            }
+            return new SnapshotInput(buffer.flip());
+        }
+    }
+
+    /**
+     * Reads an int.
+     *
+     * @return The int read
+     * @throws SnapshotFormatException if the snapshot ends too early
+     */
+    public int readInt() {
+        try {
+            return buffer.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return The long read
+     * @throws SnapshotFormatException if the snapshot ends too early
+     */
+    public long readLong() {
+        try {
+            return buffer.getLong();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    /**
+     * Reads a char.
+     *
+     * @return The char read
+     * @throws SnapshotFormatException if the snapshot ends too early
+     */
+    public char readChar() {
+        try {
+            return buffer.getChar();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return The boolean read
+     * @throws SnapshotFormatException if the snapshot ends too early
+     */
+    public boolean readBoolean() {
+        try {
+            return buffer.get() != 0;
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    /**
+     * Reads a String.
+     *
+     * @return The String read
+     * @throws SnapshotFormatException if the snapshot ends too early
+     */
+    public String readString() {
+        int length = readInt();
+        if (length < 0 || length > buffer.remaining())
+            throw truncated();
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an object written by SnapshotOutput.writeObject().
+     *
+     * @param type The type the object is expected to have
+     * @param <T>  The type the object is expected to have
+     * @return The object read
+     * @throws SnapshotFormatException if the snapshot ends too early, or the object does not have the expected type
+     */
+    public <T> T readObject(Class<T> type) {
+        Object object = SnapshotTypes.newInstance(readInt());
+        if (!type.isInstance(object))
+            throw new SnapshotFormatException("Expected a " + type.getSimpleName() + " but found a "
+                    + object.getClass().getSimpleName());
+        if (object instanceof Snapshottable)
+            ((Snapshottable) object).readState(this);
+        return type.cast(object);
+    }
+
+    /**
+     * Reads a list of objects written by SnapshotOutput.writeObjects().
+     *
+     * @param type The type the objects are expected to have
+     * @param <T>  The type the objects are expected to have
+     * @return The objects read
+     * @throws SnapshotFormatException if the snapshot ends too early, or an object does not have the expected type
+     */
+    public <T> List<T> readObjects(Class<T> type) {
+        int size = readInt();
+        if (size < 0 || size > buffer.remaining())
+            throw truncated();
+
+        List<T> objects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            objects.add(readObject(type));
+        return objects;
+    }
+
+    /**
+     * Returns the exception thrown when the snapshot ends before a value could be read.
+     *
+     * @return The exception to throw
+     */
+    private SnapshotFormatException truncated() {
+        return new SnapshotFormatException("Snapshot ends unexpectedly at byte " + buffer.position());
+    }
+
+}
@@ -0,0 +1,135 @@
+package game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+
+/**
+ * Builds a world snapshot in memory, and writes it to a file in one go.
+ *
+ * Numbers are written in big-endian order, Strings as their length followed by their UTF-8 bytes,
+ * and objects as their type tag (see SnapshotTypes) followed by their state.
+ *
+ * @author Ci Leong Ong
+ */
+public final class SnapshotOutput {
+
+    /**
+     * The bytes written so far, between the start and the position of the buffer.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    /**
+     * Writes an int.
+     *
+     * @param value The int to write
+     */
+    public void writeInt(int value) {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Writes a long.
+     *
+     * @param value The long to write
+     */
+    public void writeLong(long value) {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    /**
+     * Writes a char.
+     *
+     * @param value The char to write
+     */
+    public void writeChar(char value) {
+        ensureRemaining(Character.BYTES);
+        buffer.putChar(value);
+    }
+
+    /**
+     * Writes a boolean, as a single byte.
+     *
+     * @param value The boolean to write
+     */
+    public void writeBoolean(boolean value) {
+        ensureRemaining(1);
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    /**
+     * Writes a String.
+     *
+     * @param value The String to write
+     */
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureRemaining(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes an object of a type registered in SnapshotTypes, with its state if it has any.
+     *
+     * @param object The object to write
+     * @throws IllegalArgumentException if the type of the object is not registered
+     */
+    public void writeObject(Object object) {
+        writeInt(SnapshotTypes.tagOf(object));
+        if (object instanceof Snapshottable)
+            ((Snapshottable) object).writeState(this);
+    }
+
+    /**
+     * Writes a list of objects, preceded by its size.
+     *
+     * @param objects The objects to write
+     * @throws IllegalArgumentException if the type of an object is not registered
+     */
+    public void writeObjects(List<?> objects) {
+        writeInt(objects.size());
+        for (Object object : objects)
+            writeObject(object);
+    }
+
+    /**
+     * Writes everything written so far to a file, replacing its contents.
+     *
+     * @param file The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        ByteBuffer contents = buffer.duplicate().flip();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining())
+                channel.write(contents);
+        }
+    }
+
+    /**
+     * Grows the buffer, if needed, so that it can take the given number of bytes.
+     *
+     * @param bytes Number of bytes about to be written
+     */
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < bytes)
+            capacity *= 2;
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+
+}
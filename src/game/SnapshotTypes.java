@@ -0,0 +1,129 @@
+package game;
+
+import edu.monash.fit2099.engine.Ground;
+import game.dinosaurs.Allosaur;
+import game.dinosaurs.Brachiosaur;
+import game.dinosaurs.Pterodactyl;
+import game.dinosaurs.Stegosaur;
+import game.grounds.*;
+import game.items.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * The types of the Grounds, Items and Actors that can appear in a world snapshot.
+ *
+ * Every type has a tag, its position in the list below, which is written in place of its name.
+ * New types must therefore be added at the end, and removing or reordering types
+ * requires a new snapshot version.
+ *
+ * @author Ci Leong Ong
+ */
+final class SnapshotTypes {
+
+    /**
+     * The registered types, in tag order.
+     */
+    private static final List<Class<?>> types = new ArrayList<>();
+
+    /**
+     * Creates a blank instance of each registered type, in tag order.
+     * The blank instance is then filled in by Snapshottable.readState(), if the type has any state.
+     */
+    private static final List<Supplier<?>> factories = new ArrayList<>();
+
+    /**
+     * Maps each registered type to its tag.
+     */
+    private static final Map<Class<?>, Integer> tags = new HashMap<>();
+
+    static {
+        registerGround(Dirt.class, Dirt::new);
+        registerGround(Wall.class, Wall::new);
+        registerGround(Floor.class, Floor::new);
+        registerGround(Tree.class, Tree::new);
+        registerGround(Bush.class, Bush::new);
+        registerGround(Lake.class, Lake::new);
+        registerGround(VendingMachine.class, VendingMachine::new);
+
+        register(Fruit.class, Fruit::new);
+        register(Fish.class, Fish::new);
+        register(Corpse.class, () -> new Corpse("", 0, 0));
+        // Dinosaurs and Eggs only come from factories, every field is then read back from the snapshot
+        register(Egg.class, () -> Egg.getEgg(Stegosaur.getNewDino("baby", 'M')));
+        register(VegetarianMealKit.class, VegetarianMealKit::new);
+        register(CarnivoreMealKit.class, CarnivoreMealKit::new);
+        register(WaterBottle.class, WaterBottle::new);
+        register(LaserGun.class, LaserGun::new);
+
+        register(Stegosaur.class, () -> Stegosaur.getNewDino("adult", 'M'));
+        register(Brachiosaur.class, () -> Brachiosaur.getNewDino("adult", 'M'));
+        register(Allosaur.class, () -> Allosaur.getNewDino("adult", 'M'));
+        register(Pterodactyl.class, () -> Pterodactyl.getNewDino("adult", 'M'));
+    }
+
+    /**
+     * Not instantiable.
+     */
+    private SnapshotTypes() {
+    }
+
+    /**
+     * Registers a type, giving it the next tag.
+     *
+     * @param type    The type
+     * @param factory Creates a blank instance of the type
+     * @param <T>     The type
+     */
+    private static <T> void register(Class<T> type, Supplier<? extends T> factory) {
+        tags.put(type, types.size());
+        types.add(type);
+        factories.add(factory);
+    }
+
+    /**
+     * Returns the tag of the type of an object.
+     *
+     * @param object The object
+     * @return The tag of its type
+     * @throws IllegalArgumentException if the type of the object is not registered
+     */
+    static int tagOf(Object object) {
+        Integer tag = tags.get(object.getClass());
+        if (tag == null)
+            throw new IllegalArgumentException(object.getClass().getName() + " cannot be saved in a snapshot");
+        return tag;
+    }
+
+    /**
+     * Registers a type of Ground, giving it the next tag.
+     * Every restored cell of a stateless Ground shares a single instance.
+     *
+     * @param type    The type
+     * @param factory Creates a blank instance of the type
+     * @param <T>     The type
+     */
+    private static <T extends Ground> void registerGround(Class<T> type, Supplier<T> factory) {
+        T prototype = factory.get();
+        register(type, prototype.isStateless() ? () -> prototype : factory);
+    }
+
+    /**
+     * Creates a blank instance of the type with the given tag.
+     *
+     * @param tag The tag of the type
+     * @return A blank instance of the type
+     * @throws SnapshotFormatException if no type has the tag
+     */
+    static Object newInstance(int tag) {
+        if (tag < 0 || tag >= factories.size())
+            throw new SnapshotFormatException("Unknown type tag " + tag);
+        return factories.get(tag).get();
+    }
+
+}
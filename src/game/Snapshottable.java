@@ -0,0 +1,29 @@
+package game;
+
+
+/**
+ * Something whose state is saved in a world snapshot.
+ *
+ * A blank instance is created when the snapshot is restored, and readState()
+ * then reads back exactly what writeState() wrote, in the same order.
+ * Classes that can appear in a snapshot are registered in SnapshotTypes.
+ *
+ * @author Ci Leong Ong
+ */
+public interface Snapshottable {
+
+    /**
+     * Writes the state of this object.
+     *
+     * @param out Where to write the state
+     */
+    void writeState(SnapshotOutput out);
+
+    /**
+     * Replaces the state of this object with the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    void readState(SnapshotInput in);
+
+}
@@ -0,0 +1,225 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Schedules values to come due on a given tick, and hands them back on that tick,
+ * using a hierarchical timer wheel.
+ *
+ * The first level has a slot for each of the next 64 ticks, the second a slot for each of the next
+ * 64 runs of 64 ticks, and so on for four levels, with timers further away than that kept aside.
+ * Scheduling and cancelling a timer take constant time, and advancing a tick only touches the timers
+ * due on it, plus the timers of a slot of a higher level moved down once every 64 ticks or more.
+ * Ticks on which nothing is due cost next to nothing, however many timers are waiting.
+ *
+ * Timers due on the same tick are handed back in the order they reached the first level,
+ * which for timers scheduled within 64 ticks of coming due is the order they were scheduled in.
+ * Safe to use from several threads at once.
+ *
+ * @param <T> The type of values scheduled
+ * @author Ci Leong Ong
+ */
+class TimerWheel<T> {
+
+    /**
+     * Number of bits of a tick each level covers.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * Number of slots of each level.
+     */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * Number of levels.
+     */
+    private static final int LEVELS = 4;
+
+    /**
+     * A value scheduled to come due on a tick.
+     *
+     * @param <T> The type of the value
+     */
+    static final class Timer<T> {
+        private final T value;
+        private final long due;
+        private boolean cancelled;
+
+        private Timer(T value, long due) {
+            this.value = value;
+            this.due = due;
+        }
+
+        /**
+         * @return The value scheduled
+         */
+        T value() {
+            return value;
+        }
+
+        /**
+         * @return The tick the value comes due on
+         */
+        long due() {
+            return due;
+        }
+    }
+
+    /**
+     * The timers waiting in each slot of each level.
+     */
+    private final List<List<Timer<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    /**
+     * The timers due too far away for any level.
+     */
+    private List<Timer<T>> overflow = new ArrayList<>();
+
+    /**
+     * The next tick to come.
+     */
+    private long now;
+
+    /**
+     * Constructor.
+     */
+    TimerWheel() {
+        for (int i = 0; i < LEVELS * SLOTS; i++)
+            slots.add(new ArrayList<>());
+    }
+
+    /**
+     * Returns the next tick to come, the first one values can still be scheduled on.
+     *
+     * @return The number of ticks advanced so far
+     */
+    synchronized long now() {
+        return now;
+    }
+
+    /**
+     * Schedules a value to come due on a tick.
+     *
+     * @param value The value
+     * @param due   The tick, moved to now() if it has already passed
+     * @return The timer, to cancel it
+     */
+    synchronized Timer<T> schedule(T value, long due) {
+        Timer<T> timer = new Timer<>(value, Math.max(due, now));
+        place(timer);
+        return timer;
+    }
+
+    /**
+     * Cancels a timer, so its value is not handed back. Does nothing if it already has been.
+     *
+     * @param timer The timer
+     */
+    synchronized void cancel(Timer<T> timer) {
+        timer.cancelled = true;
+    }
+
+    /**
+     * Moves on to the next tick.
+     *
+     * @return The timers due on the tick just passed that were not cancelled
+     */
+    synchronized List<Timer<T>> advance() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((now & (1L << SLOT_BITS * level) - 1) == 0)
+                cascade(slotOf(level, now));
+        }
+        if ((now & (1L << SLOT_BITS * LEVELS) - 1) == 0) {
+            List<Timer<T>> waiting = overflow;
+            overflow = new ArrayList<>();
+            for (Timer<T> timer : waiting) {
+                if (!timer.cancelled)
+                    place(timer);
+            }
+        }
+
+        List<Timer<T>> slot = slotOf(0, now);
+        List<Timer<T>> due = new ArrayList<>(slot.size());
+        for (Timer<T> timer : slot) {
+            if (!timer.cancelled)
+                due.add(timer);
+        }
+        slot.clear();
+        now++;
+        return due;
+    }
+
+    /**
+     * Cancels every timer, keeping the current tick.
+     */
+    synchronized void clear() {
+        for (List<Timer<T>> slot : slots)
+            slot.clear();
+        overflow.clear();
+    }
+
+    /**
+     * Returns every timer not cancelled yet, in no particular order.
+     *
+     * @return The timers waiting
+     */
+    synchronized List<Timer<T>> waiting() {
+        List<Timer<T>> waiting = new ArrayList<>();
+        for (List<Timer<T>> slot : slots) {
+            for (Timer<T> timer : slot) {
+                if (!timer.cancelled)
+                    waiting.add(timer);
+            }
+        }
+        for (Timer<T> timer : overflow) {
+            if (!timer.cancelled)
+                waiting.add(timer);
+        }
+        return waiting;
+    }
+
+    /**
+     * Moves the timers of a slot of a higher level down to the lower levels, now that their run of ticks has come.
+     *
+     * @param slot The slot
+     */
+    private void cascade(List<Timer<T>> slot) {
+        List<Timer<T>> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer<T> timer : timers) {
+            if (!timer.cancelled)
+                place(timer);
+        }
+    }
+
+    /**
+     * Puts a timer in the lowest level whose slots cover its tick.
+     *
+     * @param timer The timer, due no earlier than now
+     */
+    private void place(Timer<T> timer) {
+        for (int level = 0; level < LEVELS; level++) {
+            int above = SLOT_BITS * (level + 1);
+            if (timer.due >>> above == now >>> above) {
+                slotOf(level, timer.due).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    /**
+     * Returns the slot of a level a tick falls in.
+     *
+     * @param level The level
+     * @param tick  The tick
+     * @return The slot
+     */
+    private List<Timer<T>> slotOf(int level, long tick) {
+        return slots.get(level * SLOTS + (int) (tick >>> SLOT_BITS * level & SLOTS - 1));
+    }
+
+}
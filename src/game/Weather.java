@@ -0,0 +1,298 @@
+package game;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+import game.dinosaurs.Dinosaur;
+import game.events.RainCellFormed;
+import game.events.RainFell;
+import game.grounds.WaterBody;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+
+/**
+ * The weather of a world, deciding where and when it rains.
+ *
+ * Every 10 turns, there is a chance of rain falling on every map, that adds sips to the water bodies
+ * and water points to the Dinosaurs. Rain cells may also form on the edge of a map, drift across it
+ * and rain on the Locations under them every turn, until they leave the map. Rain cells only form when
+ * asked for with setRainCellChance(), so by default it rains the way it always has.
+ *
+ * Rain only touches the Locations it falls on: the water bodies under it are looked up in the index
+ * of their map, and the Dinosaurs under it in the spatial index of the Actors, so turns without rain cost nothing.
+ * Every GameWorld has its own Weather, drawing from the WEATHER stream of its RandomSource for the rain
+ * falling on every map, and from the RAIN_CELLS stream for the rain cells, so that rain cells do not change
+ * when it rains everywhere.
+ *
+ * @author Ci Leong Ong
+ */
+public class Weather {
+
+    /**
+     * Number of turns between the chances of rain falling on every map.
+     */
+    private static final int RAIN_PERIOD = 10;
+
+    /**
+     * Chance of rain falling on every map, once every RAIN_PERIOD turns.
+     */
+    private static final double RAIN_CHANCE = 0.2;
+
+    /**
+     * Water points rain gives every Dinosaur it falls on.
+     */
+    private static final int RAIN_DROPS = 10;
+
+    /**
+     * Smallest and largest radius of a rain cell.
+     */
+    private static final int MIN_CELL_RADIUS = 3, MAX_CELL_RADIUS = 8;
+
+    /**
+     * Largest number of cells a rain cell drifts by each turn, along and across its way.
+     */
+    private static final double MAX_CELL_SPEED = 2.0, MAX_CELL_DRIFT = 0.5;
+
+    /**
+     * Largest number of sips and water points a rain cell gives every turn.
+     */
+    private static final int MAX_CELL_SIPS = 5, MAX_CELL_DROPS = 5;
+
+    /**
+     * A patch of rain drifting across a map.
+     */
+    private static final class RainCell {
+        private final DinosaurMap map;
+        private final int radius;
+        private final double dx;
+        private final double dy;
+        private final int sips;
+        private final int drops;
+        private double x;
+        private double y;
+
+        private RainCell(DinosaurMap map, double x, double y, double dx, double dy, int radius, int sips, int drops) {
+            this.map = map;
+            this.x = x;
+            this.y = y;
+            this.dx = dx;
+            this.dy = dy;
+            this.radius = radius;
+            this.sips = sips;
+            this.drops = drops;
+        }
+
+        /**
+         * Returns true once the rain cell has drifted off its map.
+         *
+         * @return true if no Location of the map is under the rain cell
+         */
+        private boolean hasLeft() {
+            return x + radius < 0 || y + radius < 0
+                    || x - radius > map.getXRange().max() || y - radius > map.getYRange().max();
+        }
+    }
+
+    /**
+     * The maps rain falls on.
+     */
+    private final List<DinosaurMap> maps = new ArrayList<>();
+
+    /**
+     * The rain cells drifting across the maps, in the order they formed.
+     */
+    private final List<RainCell> rainCells = new ArrayList<>();
+
+    /**
+     * Chance of a rain cell forming on each map every turn.
+     */
+    private double rainCellChance;
+
+    /**
+     * Sips and water points the rain falling on every map gives this turn, 0 if it does not rain.
+     */
+    private int sipsAdded, rainDrops;
+
+    /**
+     * Returns the Weather of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The Weather of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static Weather of(GameMap map) {
+        if (!(map instanceof DinosaurMap) || ((DinosaurMap) map).weather == null)
+            throw new IllegalStateException("The map has not been added to a GameWorld.");
+        return ((DinosaurMap) map).weather;
+    }
+
+    /**
+     * Lets rain fall on a map.
+     *
+     * @param map The map
+     */
+    void addMap(DinosaurMap map) {
+        maps.add(map);
+    }
+
+    /**
+     * Sets the chance of a rain cell forming on each map every turn.
+     *
+     * @param chance The chance, 0 for no rain cells
+     * @throws IllegalArgumentException if the chance is not between 0 and 1
+     */
+    public void setRainCellChance(double chance) {
+        if (chance < 0 || chance > 1)
+            throw new IllegalArgumentException("Chance of a rain cell forming must be between 0 and 1.");
+        rainCellChance = chance;
+    }
+
+    /**
+     * Returns the number of rain cells drifting across the maps.
+     *
+     * @return The number of rain cells
+     */
+    public int getRainCellCount() {
+        return rainCells.size();
+    }
+
+    /**
+     * Decides whether it rains on every map this turn, and forms the rain cells of this turn.
+     *
+     * @param turn   The number of the turn
+     * @param random The random numbers of the world
+     * @param events Where to publish the rain
+     */
+    void startTurn(int turn, RandomSource random, EventBus events) {
+        SplittableRandom rand = random.stream(RandomSource.Stream.WEATHER);
+        sipsAdded = 0;
+        rainDrops = 0;
+        if (turn % RAIN_PERIOD == 0 && rand.nextDouble() <= RAIN_CHANCE) {
+            double rainfall = rand.nextDouble() * 0.5 + 0.1;
+            sipsAdded = (int) Math.floor(rainfall * 20);
+            rainDrops = RAIN_DROPS;
+            events.publish(new RainFell(sipsAdded, rainDrops));
+        }
+
+        if (rainCellChance == 0)
+            return;
+        rand = random.stream(RandomSource.Stream.RAIN_CELLS);
+        for (DinosaurMap map : maps) {
+            if (rand.nextDouble() < rainCellChance) {
+                RainCell cell = formRainCell(map, rand);
+                rainCells.add(cell);
+                events.publish(new RainCellFormed((int) Math.round(cell.x), (int) Math.round(cell.y), cell.radius));
+            }
+        }
+    }
+
+    /**
+     * Forms a rain cell on a random edge of a map, heading across it.
+     *
+     * @param map    The map
+     * @param random The RAIN_CELLS stream
+     * @return The rain cell
+     */
+    private static RainCell formRainCell(DinosaurMap map, SplittableRandom random) {
+        int width = map.getXRange().size();
+        int height = map.getYRange().size();
+        int radius = random.nextInt(MIN_CELL_RADIUS, MAX_CELL_RADIUS + 1);
+        double speed = 0.5 + random.nextDouble() * (MAX_CELL_SPEED - 0.5);
+        double drift = (random.nextDouble() * 2 - 1) * MAX_CELL_DRIFT;
+        int sips = random.nextInt(1, MAX_CELL_SIPS + 1);
+        int drops = random.nextInt(1, MAX_CELL_DROPS + 1);
+
+        return switch (random.nextInt(4)) {
+            case 0 -> new RainCell(map, -radius, random.nextDouble() * height, speed, drift, radius, sips, drops);
+            case 1 -> new RainCell(map, width - 1 + radius, random.nextDouble() * height, -speed, drift, radius, sips, drops);
+            case 2 -> new RainCell(map, random.nextDouble() * width, -radius, drift, speed, radius, sips, drops);
+            default -> new RainCell(map, random.nextDouble() * width, height - 1 + radius, drift, -speed, radius, sips, drops);
+        };
+    }
+
+    /**
+     * Lets the rain of this turn fall on a map, once it has been ticked,
+     * then moves the rain cells over it along.
+     *
+     * @param map The map
+     */
+    void rain(GameMap map) {
+        if (!(map instanceof DinosaurMap))
+            return;
+
+        DinosaurMap dinosaurMap = (DinosaurMap) map;
+        if (sipsAdded > 0 || rainDrops > 0) {
+            int radius = Math.max(map.getXRange().max(), map.getYRange().max());
+            rainOn(dinosaurMap, map.getXRange().max() / 2, map.getYRange().max() / 2, radius, sipsAdded, rainDrops);
+        }
+
+        Iterator<RainCell> cells = rainCells.iterator();
+        while (cells.hasNext()) {
+            RainCell cell = cells.next();
+            if (cell.map != map)
+                continue;
+
+            rainOn(dinosaurMap, (int) Math.round(cell.x), (int) Math.round(cell.y), cell.radius, cell.sips, cell.drops);
+            cell.x += cell.dx;
+            cell.y += cell.dy;
+            if (cell.hasLeft())
+                cells.remove();
+        }
+    }
+
+    /**
+     * Adds sips to the water bodies and water points to the Dinosaurs within a number of steps of a point.
+     *
+     * @param map    The map
+     * @param x      X coordinate of the point the rain is centred on, which may be off the map
+     * @param y      Y coordinate of the point the rain is centred on, which may be off the map
+     * @param radius The largest number of steps from the point the rain falls on
+     * @param sips   Sips to add to every water body
+     * @param drops  Water points to give every Dinosaur
+     */
+    private static void rainOn(DinosaurMap map, int x, int y, int radius, int sips, int drops) {
+        // Every Location of the map within radius of the point is within radius of the nearest Location to it
+        Location nearest = map.at(Math.max(0, Math.min(x, map.getXRange().max())),
+                Math.max(0, Math.min(y, map.getYRange().max())));
+        if (Math.max(Math.abs(x - nearest.x()), Math.abs(y - nearest.y())) > radius)
+            return;
+
+        if (sips > 0) {
+            for (Location location : map.waterBodiesWithin(nearest, radius)) {
+                if (isWithin(location, x, y, radius))
+                    ((WaterBody) location.getGround()).addSips(location, sips);
+            }
+        }
+        if (drops > 0) {
+            for (Actor actor : map.actorsWithin(nearest, radius)) {
+                if (actor instanceof Dinosaur && isWithin(map.locationOf(actor), x, y, radius))
+                    ((Dinosaur) actor).quenchThirst(drops);
+            }
+        }
+    }
+
+    /**
+     * Returns true if a Location is within a number of steps of a point.
+     *
+     * @param location The Location
+     * @param x        X coordinate of the point
+     * @param y        Y coordinate of the point
+     * @param radius   The largest number of steps
+     * @return true if the Location is no more than radius steps from the point
+     */
+    private static boolean isWithin(Location location, int x, int y, int radius) {
+        return Math.max(Math.abs(location.x() - x), Math.abs(location.y() - y)) <= radius;
+    }
+
+    /**
+     * Forgets the rain cells, as they are not part of a snapshot.
+     */
+    void clear() {
+        rainCells.clear();
+    }
+
+}
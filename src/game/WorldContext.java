@@ -0,0 +1,126 @@
+package game;
+
+import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
+
+
+/**
+ * Everything a single GameWorld shares between the objects in it:
+ * its Player, who earns the eco points, the source of its random numbers,
+ * and the numbering of its Dinosaurs.
+ *
+ * Nothing in the game is shared between worlds, so several worlds can be
+ * played at once, each on a thread of its own, without affecting one another.
+ *
+ * @author Ci Leong Ong
+ */
+public class WorldContext {
+
+    /**
+     * The random numbers of the world.
+     */
+    private final RandomSource random;
+
+    /**
+     * The only Player in the world, null until added.
+     */
+    private Player player;
+
+    /**
+     * The number of Dinosaurs that have entered the world so far.
+     * Used to give each Dinosaur a unique ID.
+     */
+    private int dinosaurCount;
+
+    /**
+     * Constructor.
+     *
+     * @param seed The seed all the random numbers of the world are derived from
+     */
+    WorldContext(long seed) {
+        random = new RandomSource(seed);
+    }
+
+    /**
+     * Returns the WorldContext of the world containing the map.
+     *
+     * @param map A map in the world
+     * @return The WorldContext of the world
+     * @throws IllegalStateException if the map has not been added to a GameWorld
+     */
+    public static WorldContext of(GameMap map) {
+        if (!(map instanceof DinosaurMap) || ((DinosaurMap) map).context == null)
+            throw new IllegalStateException("The map has not been added to a GameWorld.");
+        return ((DinosaurMap) map).context;
+    }
+
+    /**
+     * Returns the only Player in the world,
+     * so we do not have to loop through all actors and find the player.
+     *
+     * @return The Player, or null if it has not been added yet
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Sets the only Player in the world.
+     *
+     * @param player The Player
+     */
+    void setPlayer(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Rewards the Player for something that happened on a Location, such as a Tree bearing fruit.
+     * While the Grounds of its map are ticked in parallel, the eco points are held back
+     * and given once they have all been ticked, in the order of their cells.
+     *
+     * @param location The Location
+     * @param amount   The number of eco points
+     */
+    public void earnEcoPoints(Location location, int amount) {
+        if (!(location.map() instanceof DinosaurMap) || !((DinosaurMap) location.map()).holdReward(location, amount))
+            player.earnEcoPoints(amount);
+    }
+
+    /**
+     * Returns the random numbers of the world.
+     *
+     * @return The RandomSource of the world
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * Returns a new unique ID for a Dinosaur entering the world.
+     *
+     * @return The ID, starting from 1
+     */
+    public int nextDinosaurId() {
+        return ++dinosaurCount;
+    }
+
+    /**
+     * Returns the number of Dinosaurs that have entered the world so far.
+     *
+     * @return The number of IDs given out
+     */
+    int getDinosaurCount() {
+        return dinosaurCount;
+    }
+
+    /**
+     * Sets the number of Dinosaurs that have entered the world so far.
+     * Used when restoring a snapshot, so that new Dinosaurs keep getting unique IDs.
+     *
+     * @param count The number of IDs given out
+     */
+    void setDinosaurCount(int count) {
+        dinosaurCount = count;
+    }
+
+}
@@ -3,7 +3,8 @@ package game.dinosaurs;
 import edu.monash.fit2099.engine.*;
 import game.ActorCapability;
 import game.Behaviour;
-import game.Visitor;
+import game.SnapshotInput;
+import game.SnapshotOutput;
 import game.items.Corpse;
 import game.items.Egg;
 
@@ -125,13 +126,13 @@ public class Allosaur extends Dinosaur implements Huntable {
 
     /**
      * Static method for creating Allosaur.
-     * This static method will randomised a gender for the dinosaur.
+     * The gender of the dinosaur is randomised when it first enters a world.
      *
      * @param growthStage The growth stage of the Allosaur.
      * @return An Allosaur.
      */
     public static Allosaur getNewDino(String growthStage) {
-        return getNewDino(growthStage, rand.nextBoolean() ? 'M' : 'F');
+        return withRandomGender(getNewDino(growthStage, 'M'));
     }
 
     /**
@@ -147,7 +148,7 @@ public class Allosaur extends Dinosaur implements Huntable {
 
     /**
      * Adds the attacked prey to the blacklist.
-     * Called after the hunter has attacked its prey.
+     * Called when the hunter attacks its prey, whether it hits or misses.
      *
      * @param id The ID of the prey
      */
@@ -157,25 +158,13 @@ public class Allosaur extends Dinosaur implements Huntable {
     }
 
     /**
-     * Accepts the visitor, and calls the visit() method of it,
-     * to perform the declared operation for the visitable.
-     */
-    @Override
-    public <T> T accept(Visitor<T> visitor) {
-        return visitor.visit(this);
-    }
-
-    /**
-     * Returns a set of classes representing the food that this Dinosaur can eat.
+     * Returns the species of the Dinosaur.
      *
-     * @return Set of classes representing the food that this Dinosaur can eat
+     * @return Species.ALLOSAUR
      */
     @Override
-    public Set<Class<?>> getValidFoods() {
-        return new HashSet<>() {{
-            add(Egg.class);
-            add(Corpse.class);
-        }};
+    public Species getSpecies() {
+        return Species.ALLOSAUR;
     }
 
     /**
@@ -203,14 +192,11 @@ public class Allosaur extends Dinosaur implements Huntable {
      * been unharmed by this Allosaur for 20 turns. If true, remove from flag candidates, otherwise increase
      * the turns of left unharmed.
      *
-     * @param actions    collection of possible Actions for this Actor
-     * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
-     * @param map        the map containing the Actor
-     * @param display    the I/O object to which messages may be written
-     * @return The action to be performed by this Allosaur this turn.
+     * @param map the map containing the dinosaur
+     * @return true if the dinosaur is conscious and can decide what to do, false otherwise
      */
     @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public boolean prepareTurn(GameMap map) {
         blacklist.values().remove(20);
 
         if (!blacklist.isEmpty()){
@@ -218,7 +204,7 @@ public class Allosaur extends Dinosaur implements Huntable {
                 entry.setValue(entry.getValue() + 1);
         }
 
-        return super.playTurn(actions,lastAction, map, display);
+        return super.prepareTurn(map);
     }
 
     /**
@@ -286,6 +272,35 @@ public class Allosaur extends Dinosaur implements Huntable {
         return Egg.getEgg(getNewDino("baby"));
     }
 
+    /**
+     * Writes the state of the Dinosaur, followed by the blacklist.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        super.writeState(out);
+        out.writeInt(blacklist.size());
+        for (Map.Entry<Integer, Integer> entry : blacklist.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        super.readState(in);
+        blacklist.clear();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+            blacklist.put(in.readInt(), in.readInt());
+    }
+
     /**
      * Get the corpse of Allosaur.
      *
@@ -1,12 +1,13 @@
 package game.dinosaurs;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Item;
 import edu.monash.fit2099.engine.Weapon;
+import game.RandomSource;
 
 
 /**
@@ -21,12 +22,6 @@ public class AttackAction extends Action {
 	 */
 	protected Actor target;
 
-	/**
-	 * Random number generator,
-	 * used to simulate probability
-	 */
-	protected Random rand = new Random();
-
 	/**
 	 * Constructor.
 	 * 
@@ -39,6 +34,7 @@ public class AttackAction extends Action {
 	/**
 	 * The actor attempts to attack the target,
 	 * has 50% chance to succeed.
+	 * A hunter will not attack the same Dinosaur again for a while, whether it hits or misses.
 	 * Execute DieAction on the target if it is dead.
 	 *
 	 * @param actor The attacking Actor.
@@ -48,6 +44,12 @@ public class AttackAction extends Action {
 	@Override
 	public String execute(Actor actor, GameMap map) {
 
+		// Blacklisted here rather than when deciding to attack, as the attack may no longer be valid by now
+		if (actor instanceof Huntable && target instanceof Dinosaur)
+			((Huntable) actor).addToBlacklist(((Dinosaur) target).getDinoId());
+
+		// The stream is looked up here rather than when deciding to attack, as Dinosaurs may decide in parallel
+		SplittableRandom rand = RandomSource.of(map).stream(RandomSource.Stream.COMBAT);
 		if (rand.nextBoolean())
 			return actor + " misses " + target + ".";
 
@@ -68,6 +70,19 @@ public class AttackAction extends Action {
 		return result;
 	}
 
+	/**
+	 * Returns true if the target is still standing next to the attacker.
+	 *
+	 * @param actor The attacking Actor.
+	 * @param map The map the Actor is on.
+	 * @return true if the target can still be attacked
+	 */
+	@Override
+	public boolean isStillValid(Actor actor, GameMap map) {
+		return map.contains(target) && map.locationOf(actor).getExits().stream()
+				.anyMatch(exit -> exit.getDestination().getActor() == target);
+	}
+
 	/**
 	 * Returns a descriptive string.
 	 *
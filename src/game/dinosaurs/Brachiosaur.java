@@ -2,7 +2,6 @@ package game.dinosaurs;
 
 import game.ActorCapability;
 import game.Behaviour;
-import game.Visitor;
 import game.items.Corpse;
 import game.items.Egg;
 
@@ -115,22 +114,23 @@ public class Brachiosaur extends Dinosaur {
 
     /**
      * Static method for creating Brachiosaur.
-     * This static method will randomised a gender for the dinosaur.
+     * The gender of the dinosaur is randomised when it first enters a world.
      *
      * @param growthStage The growthStage of the Brachiosaur.
      * @return A Brachiosaur.
      */
     public static Brachiosaur getNewDino(String growthStage) {
-        return getNewDino(growthStage, rand.nextBoolean() ? 'M' : 'F');
+        return withRandomGender(getNewDino(growthStage, 'M'));
     }
 
     /**
-     * Accepts the visitor, and calls the visit() method of it,
-     * to perform the declared operation for the visitable.
+     * Returns the species of the Dinosaur.
+     *
+     * @return Species.BRACHIOSAUR
      */
     @Override
-    public <T> T accept(Visitor<T> visitor) {
-        return visitor.visit(this);
+    public Species getSpecies() {
+        return Species.BRACHIOSAUR;
     }
 
     /**
@@ -4,6 +4,9 @@ import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Item;
+import edu.monash.fit2099.engine.Location;
+import game.EventBus;
+import game.events.ActorDied;
 
 import java.util.Objects;
 
@@ -47,10 +50,12 @@ public class DieAction extends Action {
         for (Item item : target.getInventory())
             item.getDropAction().execute(target, map);
 
+        Location here = map.locationOf(target);
         if (dropCorpse)
-            map.locationOf(target).addItem(target.getCorpse());
+            here.addItem(target.getCorpse());
 
         map.removeActor(target);
+        EventBus.of(map).publish(new ActorDied(target, here.x(), here.y(), dropCorpse));
 
         return menuDescription(target);
     }
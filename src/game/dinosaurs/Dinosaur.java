@@ -2,7 +2,7 @@ package game.dinosaurs;
 
 import edu.monash.fit2099.engine.*;
 import game.*;
-import game.items.ConsumableItem;
+import game.events.*;
 import game.items.Egg;
 
 import java.util.*;
@@ -17,18 +17,8 @@ import java.util.*;
  * @author Ci Leong Ong
  * @author Toh Zhen Kang
  */
-public abstract class Dinosaur extends Actor implements Visitable {
+public abstract class Dinosaur extends Actor implements Snapshottable {
 
-    /**
-     * Randomize gender for dinosaurs
-     */
-    protected static final Random rand = new Random();
-
-    /**
-     * Stores the total number of Dinosaurs that have been on the map.
-     * Used to generate unique ID for each Dinosaur.
-     */
-    protected static int dinoCounter = 0;
 
     /**
      * A list of Behaviours.
@@ -38,9 +28,15 @@ public abstract class Dinosaur extends Actor implements Visitable {
     protected Behaviour[] actionFactories;
 
     /**
-     * Unique ID for Dinosaur
+     * Unique ID for Dinosaur within its world.
+     * Zero until the Dinosaur first enters a world, given by its WorldContext.
      */
-    protected final int dinoId;
+    protected int dinoId;
+
+    /**
+     * True if the gender of the Dinosaur is picked at random when it first enters a world.
+     */
+    protected boolean genderUndecided;
 
     /**
      * Defines dinosaur's max water level capacity
@@ -68,6 +64,19 @@ public abstract class Dinosaur extends Actor implements Visitable {
      */
     protected int turnsBeingUnconscious;
 
+    /**
+     * Leaves the gender of a new Dinosaur to be picked at random when it first enters a world,
+     * as only then is it known which world's random numbers to draw from.
+     *
+     * @param dinosaur The new Dinosaur
+     * @param <T>      The type of Dinosaur
+     * @return The same Dinosaur
+     */
+    protected static <T extends Dinosaur> T withRandomGender(T dinosaur) {
+        dinosaur.genderUndecided = true;
+        return dinosaur;
+    }
+
     /**
      * Constructor for creating dinosaurs.
      *
@@ -78,20 +87,53 @@ public abstract class Dinosaur extends Actor implements Visitable {
     protected Dinosaur(String name, char displayChar, int hitPoints, int waterLevel) {
         super(name, displayChar, hitPoints);
         this.waterLevel = waterLevel;
+    }
 
-        this.dinoId = ++dinoCounter;
+    /**
+     * Called when the Dinosaur is added to a map of a world.
+     * Gives the Dinosaur its ID the first time, and picks its gender if it was left undecided,
+     * with equal chance of being male or female.
+     *
+     * @param context The WorldContext of the world
+     */
+    public void enterWorld(WorldContext context) {
+        if (dinoId == 0)
+            dinoId = context.nextDinosaurId();
+        if (genderUndecided) {
+            if (context.getRandom().stream(RandomSource.Stream.DINOSAURS).nextBoolean())
+                removeCapability(ActorCapability.FEMALE);
+            else
+                addCapability(ActorCapability.FEMALE);
+            genderUndecided = false;
+        }
     }
 
     /**
-     * Returns a set of classes representing the food that this Dinosaur can eat.
+     * Returns the species of the Dinosaur, to look up what it eats (see Nutrition).
      *
-     * @return Set of classes representing the food that this Dinosaur can eat
+     * @return The species
      */
-    public Set<Class<?>> getValidFoods() {
-        return new HashSet<>();
+    public abstract Species getSpecies();
+
+    /**
+     * Plays a whole turn: prepares it with prepareTurn(), then decides on the Action to take with decide().
+     *
+     * @param actions    collection of possible Actions for this Actor
+     * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
+     * @param map        the map containing the Actor
+     * @param display    the I/O object to which messages may be written
+     * @return The action to be performed by the dinosaur this turn.
+     */
+    @Override
+    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+        if (!prepareTurn(map))
+            return new DoNothingAction();
+        return decide(map);
     }
 
     /**
+     * Prepares the turn of the dinosaur, before it decides what to do.
+     *
      * During every turn, the dinosaur's age is incremented, and the if the age is higher or equal the adult growth stage,
      * it will add a capability ADULT and change its display character to uppercase.
      * Dinosaur will be labeled as fertile by adding capability FERTILE, if it fulfills the requirement to be fertile,
@@ -103,19 +145,14 @@ public abstract class Dinosaur extends Actor implements Visitable {
      * and the turns of being unconscious will be recorded and it will only do the do nothing action until the player
      * feeds and heal the dinosaur or the turns of being unconscious reached a certain number and it dies. The dinosaur
      * is then replace with its corpse.
-     * If the dinosaur's hit points are below a certain threshold, it will add the hungry capability else the removed.
-     * During every turn, the dinosaur will loop through a list of behaviours to behave which ever it meets the
-     * requirement first and the action returned from the behaviour is executed by the dinosaur.
-     * If there is no action returned from the list of behaviours, the dinosaur will do nothing.
+     * Hunger, thirst, fertility and unconsciousness are published as events on the EventBus of the world.
      *
-     * @param actions    collection of possible Actions for this Actor
-     * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
-     * @param map        the map containing the Actor
-     * @param display    the I/O object to which messages may be written
-     * @return The action to be performed by the dinosaur this turn.
+     * Changes the world, so dinosaurs must prepare their turns one at a time.
+     *
+     * @param map the map containing the dinosaur
+     * @return true if the dinosaur is conscious and can decide what to do, false otherwise
      */
-    @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public boolean prepareTurn(GameMap map) {
         Location currentLocation = map.locationOf(this);
         int xLoc = currentLocation.x();
         int yLoc = currentLocation.y();
@@ -127,14 +164,15 @@ public abstract class Dinosaur extends Actor implements Visitable {
         }
 
         // Label dinosaur as fertile if it is able to mate
+        EventBus events = EventBus.of(map);
         if (isFertile(map))
-            System.out.printf("%s at (%d, %d) is looking for mating partners.%n", this, xLoc, yLoc);
+            events.publish(new DinosaurFertile(this, xLoc, yLoc));
 
         // Pregnancy
         if (hasCapability(ActorCapability.PREGNANT)) {
             turnsBeingPregnant++;
             if (isGivingBirth()) {
-                System.out.println(new LayEggAction(getEgg()).execute(this, map));
+                new LayEggAction(getEgg()).execute(this, map);
                 turnsBeingPregnant = 0;
             }
         }
@@ -144,30 +182,59 @@ public abstract class Dinosaur extends Actor implements Visitable {
         dehydrate(1);
 
         if (!isConscious()) {
-            System.out.printf("%s at (%d, %d) is unconscious!%n", name, xLoc, yLoc);
+            events.publish(new DinosaurUnconscious(this, xLoc, yLoc));
             turnsBeingUnconscious++;
             if (!isAlive())
-                System.out.println(new DieAction(true).execute(this, map));
-            return new DoNothingAction();
+                new DieAction(true).execute(this, map);
+            return false;
         } else
             turnsBeingUnconscious = 0;
 
         // Hunger
         if (isHungry())
-            System.out.printf("%s at (%d, %d) is getting hungry!%n", this, xLoc, yLoc);
+            events.publish(new DinosaurHungry(this, xLoc, yLoc));
 
         // Thirst
         if (isThirsty())
-            System.out.printf("%s at (%d, %d) is getting thirsty!%n", this, xLoc, yLoc);
+            events.publish(new DinosaurThirsty(this, xLoc, yLoc));
+
+        return true;
+    }
 
+    /**
+     * Decides on the Action to take this turn.
+     * The dinosaur will loop through a list of behaviours to behave which ever it meets the
+     * requirement first and the action returned from the behaviour is executed by the dinosaur.
+     * If there is no action returned from the list of behaviours, the dinosaur will do nothing.
+     *
+     * Only reads the world, apart from the dinosaur itself, so that dinosaurs can decide
+     * in parallel once they have all prepared their turns.
+     *
+     * @param map the map containing the dinosaur
+     * @return The action to be performed by the dinosaur this turn.
+     */
+    public Action decide(GameMap map) {
+        Metrics metrics = Metrics.of(map);
         for (Behaviour factory : actionFactories) {
+            long start = metrics.start();
             Action action = factory.getAction(this, map);
+            metrics.stopBehaviour(factory, start);
             if (action != null)
                 return action;
         }
         return new DoNothingAction();
     }
 
+    /**
+     * Dinosaurs decide what to do using their Behaviours, so they never need the menu of Actions.
+     *
+     * @return false
+     */
+    @Override
+    public boolean usesActionMenu() {
+        return false;
+    }
+
     /**
      * Allows actor to commit some actions when adjacent to the dinosaur.
      * Player is able to heal this dinosaur when standing beside it, by looping through the player's inventory
@@ -182,9 +249,9 @@ public abstract class Dinosaur extends Actor implements Visitable {
     public Actions getAllowableActions(Actor otherActor, String direction, GameMap map) {
         Actions actions = new Actions();
 
-        if (otherActor.equals(GameWorld.getPlayer())) {
+        if (otherActor.equals(WorldContext.of(map).getPlayer())) {
             for (Item item : otherActor.getInventory()) {
-                if (item instanceof ConsumableItem && Objects.nonNull(this.accept((ConsumableItem) item)))
+                if (Nutrition.isEdible(this, item))
                     actions.add(new FeedAction(this, item));
             }
         }
@@ -349,6 +416,62 @@ public abstract class Dinosaur extends Actor implements Visitable {
         return isConscious() && isAdult() && canBreed() && !hasCapability(ActorCapability.PREGNANT);
     }
 
+    /**
+     * Writes everything that changes while the Dinosaur lives,
+     * including which ActorCapabilities it currently has.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        out.writeString(name);
+        out.writeChar(displayChar);
+        out.writeInt(hitPoints);
+        out.writeInt(maxHitPoints);
+        out.writeInt(dinoId);
+        out.writeBoolean(genderUndecided);
+        out.writeInt(maxWaterLevel);
+        out.writeInt(waterLevel);
+        out.writeInt(age);
+        out.writeInt(turnsBeingPregnant);
+        out.writeInt(turnsBeingUnconscious);
+
+        int capabilityMask = 0;
+        for (ActorCapability capability : ActorCapability.values()) {
+            if (hasCapability(capability))
+                capabilityMask |= 1 << capability.ordinal();
+        }
+        out.writeInt(capabilityMask);
+    }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        name = in.readString();
+        displayChar = in.readChar();
+        hitPoints = in.readInt();
+        maxHitPoints = in.readInt();
+        dinoId = in.readInt();
+        genderUndecided = in.readBoolean();
+        maxWaterLevel = in.readInt();
+        waterLevel = in.readInt();
+        age = in.readInt();
+        turnsBeingPregnant = in.readInt();
+        turnsBeingUnconscious = in.readInt();
+
+        int capabilityMask = in.readInt();
+        for (ActorCapability capability : ActorCapability.values()) {
+            if ((capabilityMask & 1 << capability.ordinal()) != 0)
+                addCapability(capability);
+            else
+                removeCapability(capability);
+        }
+    }
+
     /**
      * Defines how Dinosaurs should be behave as a String.
      *
@@ -20,6 +20,11 @@ public class DrinkAction extends Action {
      */
     private WaterBody waterBody;
 
+    /**
+     * The Location of the water source
+     */
+    private Location waterLocation;
+
     /**
      * The amount of water points the target will restore
      */
@@ -46,6 +51,7 @@ public class DrinkAction extends Action {
             Location destination = exit.getDestination();
             if (destination.getGround() instanceof WaterBody && ((WaterBody) destination.getGround()).hasSips()) {
                 waterBody = (WaterBody) destination.getGround();
+                waterLocation = destination;
                 break;
             }
         }
@@ -63,12 +69,24 @@ public class DrinkAction extends Action {
         Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
         Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
-        waterBody.decrementSips();
+        waterBody.decrementSips(waterLocation);
         waterHealingPoints = target.hasCapability(ActorCapability.TALL) ? 80 : 30;
         target.quenchThirst(waterHealingPoints);
         return menuDescription(actor);
     }
 
+    /**
+     * Returns true if the water source still has sips left.
+     *
+     * @param actor The actor performing the action
+     * @param map   The map the actor is on
+     * @return true if the target can still drink
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return waterBody != null && waterBody.hasSips();
+    }
+
     /**
      * Returns a descriptive string.
      *
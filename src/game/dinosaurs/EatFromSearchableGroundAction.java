@@ -59,8 +59,8 @@ public class EatFromSearchableGroundAction extends Action {
 
         groundHere = (SearchableGround) map.locationOf(actor).getGround();
 
-        foodHealingPoints = groundHere.getFoodPoints(target, false);
-        waterHealingPoints = groundHere.getWaterPoints(target, false);
+        foodHealingPoints = groundHere.getFoodPoints(target, map.locationOf(actor), false);
+        waterHealingPoints = groundHere.getWaterPoints(target, map.locationOf(actor), false);
 
         if (Objects.nonNull(foodHealingPoints))
             target.heal(foodHealingPoints);
@@ -2,6 +2,8 @@ package game.dinosaurs;
 
 import edu.monash.fit2099.engine.*;
 import game.ActorCapability;
+import game.FoodIndex;
+import game.ItemTimers;
 import game.items.ConsumableItem;
 
 import java.util.Objects;
@@ -57,25 +59,34 @@ public class EatItemOnGroundAction extends Action {
         Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
         Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
-        for (Item item : map.locationOf(target).getItems()) {
-            int[] tuple = target.accept((ConsumableItem) item);
+        // Only look through the Items if there is something the target can eat among them
+        Location here = map.locationOf(target);
+        if ((FoodIndex.of(map).typesAt(here) & Nutrition.edibleFoods(target)) == 0)
+            return menuDescription(actor);
+
+        for (Item item : here.getItems()) {
 
             // If the item is a valid food for target
-            if (Objects.nonNull(tuple)) {
+            if (Nutrition.isEdible(target, item)) {
 
                 // Perform actions that target displays before eating
                 target.executePreEatingAction();
 
                 food = item;
 
-                foodHealingPoints = tuple[0];
-                waterHealingPoints = tuple[1];
+                foodHealingPoints = Nutrition.foodPoints(target, (ConsumableItem) item);
+                waterHealingPoints = Nutrition.waterPoints(target, (ConsumableItem) item);
 
                 target.heal(foodHealingPoints);
                 target.quenchThirst(waterHealingPoints);
 
+                // Tiny Actors only eat part of the Item, which may now be used up sooner
                 if (!actor.hasCapability(ActorCapability.TINY))
-                    map.locationOf(target).removeItem(food);
+                    here.removeItem(food);
+                else {
+                    ((ConsumableItem) food).nibble(foodHealingPoints);
+                    ItemTimers.of(map).changed(here, food);
+                }
 
                 break;
             }
@@ -84,6 +95,19 @@ public class EatItemOnGroundAction extends Action {
         return menuDescription(actor);
     }
 
+    /**
+     * Returns true if it is still safe for the target to eat where it stands,
+     * as other Actors may have come close since it decided to eat.
+     *
+     * @param actor The actor performing the action.
+     * @param map The map the actor is on.
+     * @return true if the target can still eat here
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        return target.isSafeToEatFrom(map.locationOf(target));
+    }
+
     /**
      * Returns a descriptive string.
      *
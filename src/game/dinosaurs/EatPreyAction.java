@@ -0,0 +1,84 @@
+package game.dinosaurs;
+
+import edu.monash.fit2099.engine.Action;
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Exit;
+import edu.monash.fit2099.engine.GameMap;
+import game.EventBus;
+import game.events.PreyEaten;
+
+import java.util.Objects;
+
+
+/**
+ * For hunters to swallow a tiny prey whole, healing the hunter fully.
+ *
+ * @author Ci Leong Ong
+ */
+public class EatPreyAction extends Action {
+
+    /**
+     * The prey that will be eaten.
+     */
+    private final Dinosaur prey;
+
+    /**
+     * Constructor.
+     *
+     * @param prey The prey that will be eaten
+     */
+    public EatPreyAction(Dinosaur prey) {
+        Objects.requireNonNull(prey, "Expected Dinosaur type argument, but null is received.");
+        this.prey = prey;
+    }
+
+    /**
+     * Perform the Action.
+     *
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return A description of what happened that can be displayed to the user.
+     */
+    @Override
+    public String execute(Actor actor, GameMap map) {
+        Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
+        Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
+
+        new DieAction(false).execute(prey, map);
+        actor.heal(actor.getMaxHitPoints());
+        EventBus.of(map).publish(new PreyEaten(actor, prey));
+        return menuDescription(actor);
+    }
+
+    /**
+     * Returns true if the prey is still standing next to the hunter.
+     *
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return true if the prey can still be eaten
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        if (!map.contains(prey))
+            return false;
+
+        for (Exit exit : map.locationOf(actor).getExits()) {
+            if (exit.getDestination().getActor() == prey)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a descriptive string.
+     *
+     * @param actor The actor performing the action.
+     * @return The text we put on the menu
+     */
+    @Override
+    public String menuDescription(Actor actor) {
+        Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
+        return String.format("%s eats %s whole.", actor, prey);
+    }
+
+}
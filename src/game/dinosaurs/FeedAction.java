@@ -4,7 +4,7 @@ import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Item;
-import game.GameWorld;
+import game.WorldContext;
 import game.items.ConsumableItem;
 
 import java.util.Objects;
@@ -51,9 +51,8 @@ public class FeedAction extends Action {
         this.target = target;
         this.item = item;
 
-        int[] tuple = target.accept((ConsumableItem) item);
-        foodPoints = tuple[0];
-        waterPoints = tuple[1];
+        foodPoints = Nutrition.foodPoints(target, (ConsumableItem) item);
+        waterPoints = Nutrition.waterPoints(target, (ConsumableItem) item);
     }
 
     /**
@@ -68,7 +67,7 @@ public class FeedAction extends Action {
         Objects.requireNonNull(actor, "Expected Actor type argument, but null is received.");
         Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
-        GameWorld.getPlayer().earnEcoPoints(10);
+        WorldContext.of(map).getPlayer().earnEcoPoints(10);
         actor.removeItemFromInventory(item);
         target.heal(foodPoints);
         target.quenchThirst(waterPoints);
@@ -2,23 +2,37 @@ package game.dinosaurs;
 
 import edu.monash.fit2099.engine.*;
 import game.Behaviour;
-import game.ComputeDistance;
+import game.PathFinder;
 
 import java.util.Objects;
 
 
 /**
  * A class that figures out a MoveAction that will move the actor one step 
- * closer to a target Actor.
+ * closer to a target Actor, along the shortest path around the obstacles in between.
+ *
+ * The path is found by a PathFinder and followed over the next turns, so a FollowBehaviour
+ * should be kept by the Actor using it, and pointed at the new Location of the target every turn.
  *
  * @author Ci Leong Ong
  */
-public class FollowBehaviour implements Behaviour, ComputeDistance {
+public class FollowBehaviour implements Behaviour {
 
 	/**
 	 * Target location that the Actor is trying to get to
 	 */
-	private final Location objective;
+	private Location objective;
+
+	/**
+	 * Finds and remembers the path to the objective.
+	 */
+	private final PathFinder pathFinder = new PathFinder();
+
+	/**
+	 * Constructor for a FollowBehaviour that has nowhere to go until setObjective() is called.
+	 */
+	public FollowBehaviour() {
+	}
 
 	/**
 	 * Constructor.
@@ -26,6 +40,16 @@ public class FollowBehaviour implements Behaviour, ComputeDistance {
 	 * @param destination the Actor to follow
 	 */
 	public FollowBehaviour(Location destination) {
+		setObjective(destination);
+	}
+
+	/**
+	 * Sets the Location the Actor is trying to get to.
+	 * The path found so far is kept, and repaired if the objective has only moved a step.
+	 *
+	 * @param destination the Location of the Actor to follow
+	 */
+	public void setObjective(Location destination) {
 		Objects.requireNonNull(destination, "Expected Location type argument, but null is received.");
 		this.objective = destination;
 	}
@@ -35,19 +59,19 @@ public class FollowBehaviour implements Behaviour, ComputeDistance {
 		Objects.requireNonNull(dinosaur, "Expected Dinosaur type argument, but null is received.");
 		Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
+		if (objective == null)
+			return null;
+
 		Location here = map.locationOf(dinosaur);
-		Location there = objective;
+		Location next = pathFinder.nextStep(dinosaur, here, objective);
+		if (next == null)
+			return null;
 
-		int currentDistance = distanceBetween(here, there);
 		for (Exit exit : here.getExits()) {
-			Location destination = exit.getDestination();
-			if (destination.canActorEnter(dinosaur)) {
-				int newDistance = distanceBetween(destination, there);
-				if (newDistance < currentDistance)
-					return new MoveActorAction(destination, exit.getName());
-			}
+			if (exit.getDestination().equals(next))
+				return new MoveActorAction(next, exit.getName());
 		}
 		return null;
 	}
 
-}
\ No newline at end of file
+}
@@ -2,10 +2,15 @@ package game.dinosaurs;
 
 import edu.monash.fit2099.engine.*;
 import game.Behaviour;
+import game.DistanceField;
+import game.FlowFields;
+import game.FoodIndex;
 import game.GameLocation;
 import game.grounds.SearchableGround;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 
 /**
@@ -16,6 +21,12 @@ import java.util.Objects;
  */
 public class HungryBehaviour implements Behaviour {
 
+    /**
+     * Food lies on the ground as Items, and grows within Grounds.
+     */
+    private static final Set<FlowFields.Change> FOOD_CHANGES =
+            EnumSet.of(FlowFields.Change.ITEMS, FlowFields.Change.PRODUCE);
+
     /**
      * Decides which action to return based on the attributes of the
      *
@@ -33,26 +44,62 @@ public class HungryBehaviour implements Behaviour {
         if (!dinosaur.isHungry())
             return null;
 
-        // Iterates through locations from nearest to the farthest from here
-        for (Location destination : (GameLocation) map.locationOf(dinosaur)) {
-            if (isOnGroundFood(dinosaur, destination)) {
-                if (map.locationOf(dinosaur).equals(destination))
-                    return new EatItemOnGroundAction(dinosaur);
-                else
-                    return new FollowBehaviour(destination).getAction(dinosaur, map);
-            }
-
-            if (isInGroundFood(dinosaur, destination)) {
-                if (map.locationOf(dinosaur).equals(destination))
-                    return new EatFromSearchableGroundAction(dinosaur);
-                else
-                    return new FollowBehaviour(destination).getAction(dinosaur, map);
-            }
-        }
+        Location here = map.locationOf(dinosaur);
+        if (isOnGroundFood(dinosaur, here))
+            return new EatItemOnGroundAction(dinosaur);
+
+        if (isInGroundFood(dinosaur, here))
+            return new EatFromSearchableGroundAction(dinosaur);
+
+        // Every Dinosaur of the same species is looking for the same food
+        int foods = Nutrition.foragedFoods(dinosaur);
+        DistanceField field = FlowFields.of(map).get(dinosaur.getClass(), dinosaur, FOOD_CHANGES,
+                mapToSearch -> FoodIndex.of(mapToSearch).foodSources(foods), location -> hasFood(dinosaur, location));
 
+        // The field does not know whether it is safe to eat at a source, so check the one it is leading to
+        Exit exit = field.downhillExit(here, dinosaur);
+        Location next = exit == null ? here : exit.getDestination();
+        if (field.distanceAt(next) == 0 && !isOnGroundFood(dinosaur, next) && !isInGroundFood(dinosaur, next))
+            return towardsSafeFood(dinosaur, map);
+        if (exit == null)
+            return null;
+
+        return new MoveActorAction(exit.getDestination(), exit.getName());
+    }
+
+    /**
+     * Steps towards the nearest food the dinosaur can safely eat, searching the map from nearest to farthest.
+     * Only used when the nearest food is not safe to eat, which is rare, as the search visits the whole map.
+     *
+     * @param dinosaur The hungry Dinosaur
+     * @param map      The GameMap containing the Dinosaur
+     * @return A step towards the food, or null if there is none the dinosaur can reach
+     */
+    private Action towardsSafeFood(Dinosaur dinosaur, GameMap map) {
+        Location here = map.locationOf(dinosaur);
+        for (Location destination : (GameLocation) here) {
+            if (!destination.equals(here) && (isOnGroundFood(dinosaur, destination) || isInGroundFood(dinosaur, destination)))
+                return new FollowBehaviour(destination).getAction(dinosaur, map);
+        }
         return null;
     }
 
+    /**
+     * Checks whether there is food for the dinosaur at the target location,
+     * either on the ground or within it. Unlike isOnGroundFood, does not check
+     * whether it is safe to eat there, as that changes whenever an Actor moves.
+     *
+     * @param dinosaur The Dinosaur used to check for valid food
+     * @param location The Location to check for food
+     * @return true if there is valid food for the dinosaur, false otherwise
+     */
+    private boolean hasFood(Dinosaur dinosaur, Location location) {
+        if ((FoodIndex.of(location.map()).typesAt(location) & Nutrition.foragedFoods(dinosaur)) != 0)
+            return true;
+
+        return isInGroundFood(dinosaur, location);
+    }
+
     /**
      * Checks whether the target location contains at least one valid food for the dinosaur.
      *
@@ -64,12 +111,8 @@ public class HungryBehaviour implements Behaviour {
         Objects.requireNonNull(dinosaur, "Expected Dinosaur type argument, but null is received.");
         Objects.requireNonNull(location, "Expected Location type argument, but null is received.");
 
-        for (Item item : location.getItems()) {
-            if (dinosaur.isSafeToEatFrom(location) && dinosaur.getValidFoods().contains(item.getClass()))
-                return true;
-        }
-
-        return false;
+        return (FoodIndex.of(location.map()).typesAt(location) & Nutrition.foragedFoods(dinosaur)) != 0
+                && dinosaur.isSafeToEatFrom(location);
     }
 
     /**
@@ -84,7 +127,7 @@ public class HungryBehaviour implements Behaviour {
         Objects.requireNonNull(location, "Expected Location type argument, but null is received.");
 
         return location.getGround() instanceof SearchableGround
-                && ((SearchableGround) location.getGround()).getFoodPoints(dinosaur, true) != null;
+                && ((SearchableGround) location.getGround()).getFoodPoints(dinosaur, location, true) != null;
     }
 
 }
\ No newline at end of file
@@ -20,7 +20,7 @@ public interface Huntable {
 
     /**
      * Adds the attacked prey to the blacklist.
-     * Called after the hunter has attacked its prey.
+     * Called when the hunter attacks its prey, whether it hits or misses.
      *
      * @param id The ID of the prey
      */
@@ -3,7 +3,10 @@ package game.dinosaurs;
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.GameMap;
+import edu.monash.fit2099.engine.Location;
 import game.ActorCapability;
+import game.EventBus;
+import game.events.EggLaid;
 import game.items.Egg;
 
 import java.util.Objects;
@@ -43,8 +46,10 @@ public class LayEggAction extends Action {
         Objects.requireNonNull(parent, "Expected Actor type argument, but null is received.");
         Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
-        map.locationOf(parent).addItem(egg);
+        Location here = map.locationOf(parent);
+        here.addItem(egg);
         parent.removeCapability(ActorCapability.PREGNANT);
+        EventBus.of(map).publish(new EggLaid(parent, here.x(), here.y()));
         return menuDescription(parent);
     }
 
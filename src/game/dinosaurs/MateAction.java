@@ -2,6 +2,7 @@ package game.dinosaurs;
 
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.Exit;
 import edu.monash.fit2099.engine.GameMap;
 import game.ActorCapability;
 
@@ -53,6 +54,25 @@ public class MateAction extends Action {
         return menuDescription(actor);
     }
 
+    /**
+     * Returns true if the partners are still next to each other, and both still fertile.
+     *
+     * @param actor The actor performing the action.
+     * @param map   The map the actor is on.
+     * @return true if the Dinosaurs can still mate
+     */
+    @Override
+    public boolean isStillValid(Actor actor, GameMap map) {
+        if (!map.contains(d1) || !map.contains(d2) || !d1.isFertile(map) || !d2.isFertile(map))
+            return false;
+
+        for (Exit exit : map.locationOf(d1).getExits()) {
+            if (exit.getDestination().getActor() == d2)
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Returns a descriptive string.
      *
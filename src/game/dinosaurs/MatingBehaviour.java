@@ -15,6 +15,11 @@ import java.util.Objects;
  */
 public class MatingBehaviour implements Behaviour {
 
+    /**
+     * Leads the dinosaur to its partner, remembering the way between turns.
+     */
+    private final FollowBehaviour follow = new FollowBehaviour();
+
     /**
      * Approaches the suitable partner if there is one and this dinosaur is not next to it,
      * mate with the partner if already next to it.
@@ -31,24 +36,22 @@ public class MatingBehaviour implements Behaviour {
         Objects.requireNonNull(dinosaur, "Expected Dinosaur type argument, but null is received.");
         Objects.requireNonNull(map, "Expected GameMap type argument, but null is received.");
 
-        // Iterates through nearest to farthest locations from where the dinosaur is
-        for (Location location: (GameLocation) map.locationOf(dinosaur)) {
-            if (location.containsAnActor()
-                    && location.getActor().getClass().isInstance(dinosaur)
-                    && isCompatibleWith(dinosaur, (Dinosaur) location.getActor(), map)) {
+        Actor nearestPartner = map.nearestActor(map.locationOf(dinosaur),
+                actor -> actor.getClass().isInstance(dinosaur) && isCompatibleWith(dinosaur, (Dinosaur) actor, map),
+                Integer.MAX_VALUE);
+        if (nearestPartner == null)
+            return null;
 
-                Dinosaur partner = (Dinosaur) location.getActor();
+        Dinosaur partner = (Dinosaur) nearestPartner;
 
-                for (Exit exit : map.locationOf(dinosaur).getExits()) {
-                    Location destination = exit.getDestination();
-                    if (destination.containsAnActor() && destination.getActor().equals(partner))
-                        return new MateAction(dinosaur, partner);
-                }
-
-                return new FollowBehaviour(map.locationOf(partner)).getAction(dinosaur, map);
-            }
+        for (Exit exit : map.locationOf(dinosaur).getExits()) {
+            Location destination = exit.getDestination();
+            if (destination.containsAnActor() && destination.getActor().equals(partner))
+                return new MateAction(dinosaur, partner);
         }
-        return null;
+
+        follow.setObjective(map.locationOf(partner));
+        return follow.getAction(dinosaur, map);
     }
 
     /**
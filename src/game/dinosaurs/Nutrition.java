@@ -0,0 +1,171 @@
+package game.dinosaurs;
+
+import edu.monash.fit2099.engine.Item;
+import game.items.ConsumableItem;
+import game.items.FoodType;
+
+
+/**
+ * What every type of ConsumableItem is worth to every species of Dinosaur,
+ * in a table built once, so that looking it up allocates nothing.
+ *
+ * For every species, the table holds the food and water points each type of food heals,
+ * and which types it can eat at all, fed by the Player or found on the ground.
+ * Each species also has the types it goes looking for on the ground, which may be fewer:
+ * a Brachiosaur only eats from Trees. Sets of types are bitmasks of FoodType.bit().
+ *
+ * @author Ci Leong Ong
+ */
+public final class Nutrition {
+
+    /**
+     * Points standing for as many as the Dinosaur can take, its maximum.
+     */
+    private static final int FULL = -1;
+
+    /**
+     * Points standing for the healing points of the Item itself, see ConsumableItem.getHealingPoints().
+     */
+    private static final int ITEM = -2;
+
+    /**
+     * Number of types of food, the width of a row of the table.
+     */
+    private static final int FOOD_TYPES = FoodType.values().length;
+
+    /**
+     * Food points healed, by species then type of food.
+     */
+    private static final int[] FOOD_POINTS = new int[Species.values().length * FOOD_TYPES];
+
+    /**
+     * Water points healed, by species then type of food.
+     */
+    private static final int[] WATER_POINTS = new int[Species.values().length * FOOD_TYPES];
+
+    /**
+     * The types of food each species can eat.
+     */
+    private static final int[] EDIBLE = new int[Species.values().length];
+
+    /**
+     * The types of food each species goes looking for on the ground.
+     */
+    private static final int[] FORAGED = new int[Species.values().length];
+
+    static {
+        define(Species.STEGOSAUR, FoodType.FRUIT, 20, 0);
+        define(Species.STEGOSAUR, FoodType.VEGETARIAN_MEAL_KIT, FULL, 0);
+        define(Species.STEGOSAUR, FoodType.WATER_BOTTLE, 0, FULL);
+        forage(Species.STEGOSAUR, FoodType.FRUIT);
+
+        define(Species.BRACHIOSAUR, FoodType.FRUIT, 20, 0);
+        define(Species.BRACHIOSAUR, FoodType.VEGETARIAN_MEAL_KIT, FULL, 0);
+        define(Species.BRACHIOSAUR, FoodType.WATER_BOTTLE, 0, FULL);
+
+        define(Species.ALLOSAUR, FoodType.EGG, 10, 0);
+        define(Species.ALLOSAUR, FoodType.CORPSE, ITEM, 0);
+        define(Species.ALLOSAUR, FoodType.CARNIVORE_MEAL_KIT, FULL, 0);
+        define(Species.ALLOSAUR, FoodType.WATER_BOTTLE, 0, FULL);
+        forage(Species.ALLOSAUR, FoodType.EGG, FoodType.CORPSE);
+
+        define(Species.PTERODACTYL, FoodType.FISH, 5, 0);
+        define(Species.PTERODACTYL, FoodType.EGG, 10, 0);
+        define(Species.PTERODACTYL, FoodType.CORPSE, 10, 0);
+        define(Species.PTERODACTYL, FoodType.CARNIVORE_MEAL_KIT, FULL, 0);
+        define(Species.PTERODACTYL, FoodType.WATER_BOTTLE, 0, FULL);
+        forage(Species.PTERODACTYL, FoodType.CORPSE, FoodType.EGG);
+    }
+
+    /**
+     * Not to be instantiated, the table is shared by every world.
+     */
+    private Nutrition() {
+    }
+
+    /**
+     * Lets a species eat a type of food.
+     *
+     * @param species The species
+     * @param type    The type of food
+     * @param food    The food points it heals, or FULL or ITEM
+     * @param water   The water points it heals, or FULL
+     */
+    private static void define(Species species, FoodType type, int food, int water) {
+        FOOD_POINTS[species.ordinal() * FOOD_TYPES + type.ordinal()] = food;
+        WATER_POINTS[species.ordinal() * FOOD_TYPES + type.ordinal()] = water;
+        EDIBLE[species.ordinal()] |= type.bit();
+    }
+
+    /**
+     * Lets a species go looking for types of food on the ground.
+     *
+     * @param species The species
+     * @param types   The types of food
+     */
+    private static void forage(Species species, FoodType... types) {
+        for (FoodType type : types)
+            FORAGED[species.ordinal()] |= type.bit();
+    }
+
+    /**
+     * Returns true if a Dinosaur can eat an Item.
+     *
+     * @param dinosaur The Dinosaur
+     * @param item     The Item
+     * @return true if the Item is a ConsumableItem the species of the Dinosaur can eat, false otherwise
+     */
+    public static boolean isEdible(Dinosaur dinosaur, Item item) {
+        return item instanceof ConsumableItem
+                && (EDIBLE[dinosaur.getSpecies().ordinal()] & ((ConsumableItem) item).getFoodType().bit()) != 0;
+    }
+
+    /**
+     * Returns the types of food a Dinosaur can eat.
+     *
+     * @param dinosaur The Dinosaur
+     * @return The set of types, as a bitmask of FoodType.bit()
+     */
+    public static int edibleFoods(Dinosaur dinosaur) {
+        return EDIBLE[dinosaur.getSpecies().ordinal()];
+    }
+
+    /**
+     * Returns the types of food a Dinosaur goes looking for on the ground.
+     *
+     * @param dinosaur The Dinosaur
+     * @return The set of types, as a bitmask of FoodType.bit()
+     */
+    public static int foragedFoods(Dinosaur dinosaur) {
+        return FORAGED[dinosaur.getSpecies().ordinal()];
+    }
+
+    /**
+     * Returns the food points an Item heals a Dinosaur by.
+     *
+     * @param dinosaur The Dinosaur
+     * @param item     The Item, which the Dinosaur can eat
+     * @return The food points
+     */
+    public static int foodPoints(Dinosaur dinosaur, ConsumableItem item) {
+        int points = FOOD_POINTS[dinosaur.getSpecies().ordinal() * FOOD_TYPES + item.getFoodType().ordinal()];
+        if (points == FULL)
+            return dinosaur.getMaxHitPoints();
+        if (points == ITEM)
+            return item.getHealingPoints();
+        return points;
+    }
+
+    /**
+     * Returns the water points an Item heals a Dinosaur by.
+     *
+     * @param dinosaur The Dinosaur
+     * @param item     The Item, which the Dinosaur can eat
+     * @return The water points
+     */
+    public static int waterPoints(Dinosaur dinosaur, ConsumableItem item) {
+        int points = WATER_POINTS[dinosaur.getSpecies().ordinal() * FOOD_TYPES + item.getFoodType().ordinal()];
+        return points == FULL ? dinosaur.getMaxWaterLevel() : points;
+    }
+
+}
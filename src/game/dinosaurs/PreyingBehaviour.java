@@ -3,7 +3,6 @@ package game.dinosaurs;
 import edu.monash.fit2099.engine.*;
 import game.ActorCapability;
 import game.Behaviour;
-import game.GameLocation;
 
 import java.util.Objects;
 
@@ -17,6 +16,11 @@ import java.util.Objects;
  */
 public class PreyingBehaviour implements Behaviour {
 
+    /**
+     * Leads the hunter to its prey, remembering the way between turns.
+     */
+    private final FollowBehaviour follow = new FollowBehaviour();
+
     /**
      * The hunter closes in on the prey if it is not next to it,
      * attacks the prey if next to it.
@@ -25,7 +29,8 @@ public class PreyingBehaviour implements Behaviour {
      * @param dinosaur The hunting dinosaur
      * @param map      The GameMap containing the dinosaur
      * @return null if the Actor acting is not hungry or there is no valid prey
-     * AttackAction when the prey and carnivorous dinosaurs are adjacent
+     * EatPreyAction when a tiny prey that cannot fly is adjacent,
+     * AttackAction when any other prey and carnivorous dinosaurs are adjacent
      * FollowBehaviour otherwise.
      */
     @Override
@@ -39,17 +44,13 @@ public class PreyingBehaviour implements Behaviour {
         else
             hunter = (Huntable) dinosaur;
 
-        Location preyLocation = null;
-        for (Location destination: (GameLocation) map.locationOf(dinosaur)) {
-            if (hasPrey(hunter, destination))
-                preyLocation = destination;
-        }
-
-        if (preyLocation == null)
+        Location hunterLocation = map.locationOf(dinosaur);
+        Actor nearestPrey = map.nearestActor(hunterLocation, actor -> isPrey(hunter, actor), Integer.MAX_VALUE);
+        if (nearestPrey == null)
             return null;
 
-        Dinosaur prey = (Dinosaur) preyLocation.getActor();
-        Location hunterLocation = map.locationOf(dinosaur);
+        Dinosaur prey = (Dinosaur) nearestPrey;
+        Location preyLocation = map.locationOf(prey);
 
         // Iterates through the nearest to farthest locations from the hunter
         for (Exit exit : hunterLocation.getExits()) {
@@ -58,34 +59,31 @@ public class PreyingBehaviour implements Behaviour {
             // Attacks if hunter is next to prey
             if (destination.containsAnActor() && destination.getActor().equals(prey)) {
                 if (prey.hasCapability(ActorCapability.TINY) && !prey.hasCapability(ActorCapability.FLY)) {
-                    new DieAction(false).execute(prey, map);
-                    ((Actor) hunter).heal(((Actor) hunter).getMaxHitPoints());
-                    System.out.printf("%s has eaten the %s%n", hunter, prey);
-                    return null;
+                    return new EatPreyAction(prey);
                 } else {
-                    hunter.addToBlacklist(prey.getDinoId());
                     return new AttackAction(prey);
                 }
             }
         }
 
-        return new FollowBehaviour(preyLocation).getAction((Dinosaur) hunter, map);
+        follow.setObjective(preyLocation);
+        return follow.getAction((Dinosaur) hunter, map);
     }
 
     /**
-     * Returns true if target location contains the hunter's prey.
+     * Returns true if the target Actor is the hunter's prey.
      *
-     * @param hunter   The hunting Actor
-     * @param location The target Location
-     * @return true if target location contains the hunter's prey, otherwise false.
+     * @param hunter The hunting Actor
+     * @param target The target Actor
+     * @return true if the target Actor is the hunter's prey, otherwise false.
      */
-    private boolean hasPrey(Huntable hunter, Location location) {
+    private boolean isPrey(Huntable hunter, Actor target) {
         Objects.requireNonNull(hunter, "Expected Huntable type argument, but null is received.");
-        Objects.requireNonNull(location, "Expected Location type argument, but null is received.");
+        Objects.requireNonNull(target, "Expected Actor type argument, but null is received.");
 
-        return location.containsAnActor() && location.getActor().hasCapability(ActorCapability.PREY)
-                && !location.getActor().hasCapability(ActorCapability.FLY)
-                && !location.getActor().equals(hunter)
-                && !(hunter.getBlacklist().containsKey(((Dinosaur) location.getActor()).dinoId));
+        return target.hasCapability(ActorCapability.PREY)
+                && !target.hasCapability(ActorCapability.FLY)
+                && !target.equals(hunter)
+                && !(hunter.getBlacklist().containsKey(((Dinosaur) target).dinoId));
     }
 }
\ No newline at end of file
@@ -3,13 +3,13 @@ package game.dinosaurs;
 import edu.monash.fit2099.engine.*;
 import game.ActorCapability;
 import game.Behaviour;
+import game.EventBus;
 import game.GroundCapability;
-import game.Visitor;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.events.FlightChanged;
 import game.items.*;
 
-import java.util.HashSet;
-import java.util.Set;
-
 
 /**
  * A tiny flying dinosaur.
@@ -132,55 +132,43 @@ public class Pterodactyl extends Dinosaur {
 
     /**
      * Static method for creating Pterodactyl.
-     * This static method will randomised a gender for the dinosaur.
+     * The gender of the dinosaur is randomised when it first enters a world.
      *
      * @param growthStage The growth stage of the Pterodactyl.
      * @return A Pterodactyl.
      */
     public static Pterodactyl getNewDino(String growthStage) {
-        return getNewDino(growthStage, rand.nextBoolean() ? 'M' : 'F');
-    }
-
-    /**
-     * Accepts the visitor, and calls the visit() method of it,
-     * to perform the declared operation for the visitable.
-     */
-    @Override
-    public <T> T accept(Visitor<T> visitor) {
-        return visitor.visit(this);
+        return withRandomGender(getNewDino(growthStage, 'M'));
     }
 
     /**
-     * Returns a set of classes representing the food that this Dinosaur can eat.
+     * Returns the species of the Dinosaur.
      *
-     * @return Set of classes representing the food that this Dinosaur can eat
+     * @return Species.PTERODACTYL
      */
-    public Set<Class<?>> getValidFoods() {
-        return new HashSet<>() {{
-            add(Corpse.class);
-            add(Egg.class);
-        }};
+    @Override
+    public Species getSpecies() {
+        return Species.PTERODACTYL;
     }
 
     /**
      * Every turn for Pterodactyl, it will check if this Pterodactyl should has the capability fly
      *
-     * @param actions    collection of possible Actions for this Actor
-     * @param lastAction The Action this Actor took last turn. Can do interesting things in conjunction with Action.getNextAction()
-     * @param map        the map containing the Actor
-     * @param display    the I/O object to which messages may be written
-     * @return The action to be performed by this Allosaur this turn.
+     * @param map the map containing the dinosaur
+     * @return true if the dinosaur is conscious and can decide what to do, false otherwise
      */
     @Override
-    public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+    public boolean prepareTurn(GameMap map) {
         this.currentLocation = map.locationOf(this);
+        boolean couldFly = hasCapability(ActorCapability.FLY);
         setFlyingTurns();
         if (this.flyingTurns > 0)
             addCapability(ActorCapability.FLY);
 
-        System.out.println("Can Fly" + this.hasCapability(ActorCapability.FLY));
+        if (hasCapability(ActorCapability.FLY) != couldFly)
+            EventBus.of(map).publish(new FlightChanged(this, !couldFly));
 
-        return super.playTurn(actions,lastAction, map, display);
+        return super.prepareTurn(map);
     }
 
     /**
@@ -299,6 +287,29 @@ public class Pterodactyl extends Dinosaur {
         return new Corpse("Dead " + name, 40, 30);
     }
 
+    /**
+     * Writes the state of the Dinosaur, followed by its remaining flying turns.
+     * The current Location is not written, as it is looked up again at the start of every turn.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        super.writeState(out);
+        out.writeInt(flyingTurns);
+    }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        super.readState(in);
+        flyingTurns = in.readInt();
+    }
+
     /**
      * Returns true if Dinosaur is fertile.
      * i.e. Has met all the requirements required as an individual to mate with others.
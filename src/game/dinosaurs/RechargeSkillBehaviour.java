@@ -1,11 +1,11 @@
 package game.dinosaurs;
 
-import edu.monash.fit2099.engine.Action;
-import edu.monash.fit2099.engine.GameMap;
-import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.*;
 import game.Behaviour;
-import game.GameLocation;
+import game.DistanceField;
+import game.FlowFields;
 
+import java.util.EnumSet;
 import java.util.Objects;
 
 
@@ -44,7 +44,7 @@ public class RechargeSkillBehaviour implements Behaviour {
 
     /**
      * If the dinosaur already has the skill (i.e. no recharging required), returns null.
-     * Otherwise, call FollowBehaviour to close in on the target Ground.
+     * Otherwise, step towards the nearest target Ground.
      *
      * @param dinosaur the Actor acting
      * @param map the GameMap containing the Actor
@@ -59,11 +59,14 @@ public class RechargeSkillBehaviour implements Behaviour {
         if (dinosaur.hasCapability(actorSkill))
             return null;
 
-        for (Location destination : (GameLocation) map.locationOf(dinosaur)) {
-            if (destination.getGround().hasCapability(groundIdentifier))
-                return new FollowBehaviour(destination).getAction(dinosaur, map);
-        }
+        // Only replacing the Ground changes where the skill can be recharged
+        DistanceField field = FlowFields.of(map).get(groundIdentifier, dinosaur, EnumSet.noneOf(FlowFields.Change.class),
+                location -> location.getGround().hasCapability(groundIdentifier));
 
-        return null;
+        Exit exit = field.downhillExit(map.locationOf(dinosaur), dinosaur);
+        if (exit == null)
+            return null;
+
+        return new MoveActorAction(exit.getDestination(), exit.getName());
     }
 }
@@ -0,0 +1,19 @@
+package game.dinosaurs;
+
+
+/**
+ * The species of Dinosaurs, used to look up what each of them eats (see Nutrition).
+ *
+ * @author Ci Leong Ong
+ */
+public enum Species {
+
+    STEGOSAUR,
+
+    BRACHIOSAUR,
+
+    ALLOSAUR,
+
+    PTERODACTYL
+
+}
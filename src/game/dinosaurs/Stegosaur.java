@@ -2,13 +2,8 @@ package game.dinosaurs;
 
 import game.ActorCapability;
 import game.Behaviour;
-import game.Visitor;
 import game.items.Corpse;
 import game.items.Egg;
-import game.items.Fruit;
-
-import java.util.HashSet;
-import java.util.Set;
 
 
 /**
@@ -120,13 +115,13 @@ public class Stegosaur extends Dinosaur {
 
 	/**
 	 * Static method for creating Stegosaur.
-	 * This static method will randomised a gender for the dinosaur.
+	 * The gender of the dinosaur is randomised when it first enters a world.
 	 *
 	 * @param growthStage The growth stage of the Stegosaur.
 	 * @return A Stegosaur.
 	 */
 	public static Stegosaur getNewDino(String growthStage) {
-		return getNewDino(growthStage, rand.nextBoolean() ? 'M' : 'F');
+		return withRandomGender(getNewDino(growthStage, 'M'));
 	}
 
 	/**
@@ -205,26 +200,12 @@ public class Stegosaur extends Dinosaur {
 	}
 
 	/**
-	 * Accept the value that is meant for Stegosaur
-	 *
-	 * @param visitor Stegosaur
-	 * @param <T> value data type
-	 * @return value
-	 */
-	@Override
-	public <T> T accept(Visitor<T> visitor) {
-		return visitor.visit(this);
-	}
-
-	/**
-	 * Returns a set of classes representing the food that this Dinosaur can eat.
+	 * Returns the species of the Dinosaur.
 	 *
-	 * @return Set of classes representing the food that this Dinosaur can eat
+	 * @return Species.STEGOSAUR
 	 */
 	@Override
-	public Set<Class<?>> getValidFoods() {
-		return new HashSet<>() {{
-			add(Fruit.class);
-		}};
+	public Species getSpecies() {
+		return Species.STEGOSAUR;
 	}
 }
\ No newline at end of file
@@ -1,14 +1,14 @@
 package game.dinosaurs;
 
-import edu.monash.fit2099.engine.Action;
-import edu.monash.fit2099.engine.Exit;
-import edu.monash.fit2099.engine.GameMap;
-import edu.monash.fit2099.engine.Location;
+import edu.monash.fit2099.engine.*;
 import game.Behaviour;
-import game.GameLocation;
+import game.DistanceField;
+import game.FlowFields;
 import game.grounds.WaterBody;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 
 /**
@@ -19,6 +19,11 @@ import java.util.Objects;
  */
 public class ThirstyBehaviour implements Behaviour {
 
+    /**
+     * Water bodies are refilled by rain and emptied by drinking.
+     */
+    private static final Set<FlowFields.Change> WATER_CHANGES = EnumSet.of(FlowFields.Change.WATER);
+
     /**
      * Decides which action to return so the target can move towards or drink from a water source,
      * based on:
@@ -27,7 +32,7 @@ public class ThirstyBehaviour implements Behaviour {
      * @param map      the GameMap containing the Dinosaur
      * @return null if dinosaur is not thirsty or water source location not found.
      * DrinkAction if at least one of dinosaur's exits is a water source.
-     * Utilises FollowBehaviour to approach the water source otherwise.
+     * Steps towards the nearest water source otherwise.
      */
     @Override
     public Action getAction(Dinosaur dinosaur, GameMap map) {
@@ -37,17 +42,18 @@ public class ThirstyBehaviour implements Behaviour {
         if (!dinosaur.isThirsty())
             return null;
 
-        // Iterates through the nearest to farthest locations from here
-        for (Location destination : (GameLocation) map.locationOf(dinosaur)) {
-            if (isNextToWaterSource(destination)) {
-                if (map.locationOf(dinosaur).equals(destination))
-                    return new DrinkAction(dinosaur, destination);
-                else
-                    return new FollowBehaviour(destination).getAction(dinosaur, map);
-            }
-        }
+        Location here = map.locationOf(dinosaur);
+        if (isNextToWaterSource(here))
+            return new DrinkAction(dinosaur, here);
+
+        DistanceField field = FlowFields.of(map).get(WaterBody.class, dinosaur, WATER_CHANGES,
+                this::isNextToWaterSource);
+
+        Exit exit = field.downhillExit(here, dinosaur);
+        if (exit == null)
+            return null;
 
-        return null;
+        return new MoveActorAction(exit.getDestination(), exit.getName());
     }
 
     /**
@@ -2,13 +2,13 @@ package game.dinosaurs;
 
 import java.util.ArrayList;
 import java.util.Objects;
-import java.util.Random;
 
 import edu.monash.fit2099.engine.Action;
 import edu.monash.fit2099.engine.Exit;
 import edu.monash.fit2099.engine.GameMap;
 import edu.monash.fit2099.engine.Location;
 import game.Behaviour;
+import game.RandomSource;
 
 
 /**
@@ -16,14 +16,11 @@ import game.Behaviour;
  */
 public class WanderBehaviour implements Behaviour {
 
-	/**
-	 * Random number generator
-	 */
-	private final Random random = new Random();
-
 	/**
 	 * Returns a MoveAction to wander to a random location, if possible.  
 	 * If no movement is possible, returns null.
+	 * The Location is picked with the random stream of the Actor where it stands,
+	 * so that Actors can wander in parallel, and independently of one another.
 	 * 
 	 * @param dinosaur the Actor enacting the behaviour
 	 * @param map the map that actor is currently on
@@ -36,14 +33,15 @@ public class WanderBehaviour implements Behaviour {
 
 		ArrayList<Action> actions = new ArrayList<>();
 
-		for (Exit exit : map.locationOf(dinosaur).getExits()) {
+		Location here = map.locationOf(dinosaur);
+		for (Exit exit : here.getExits()) {
             Location destination = exit.getDestination();
             if (destination.canActorEnter(dinosaur))
             	actions.add(exit.getDestination().getMoveAction(dinosaur, "around", exit.getHotKey()));
         }
 		
 		if (!actions.isEmpty())
-			return actions.get(random.nextInt(actions.size()));
+			return actions.get(RandomSource.at(RandomSource.Stream.MOVEMENT, here, dinosaur).nextInt(actions.size()));
 		else
 			return null;
 
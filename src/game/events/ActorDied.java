@@ -0,0 +1,22 @@
+package game.events;
+
+import edu.monash.fit2099.engine.Actor;
+
+
+/**
+ * An Actor has died and been removed from the map.
+ *
+ * @param actor          The dead Actor
+ * @param x              X coordinate where the Actor died
+ * @param y              Y coordinate where the Actor died
+ * @param corpseDropped  Whether the Actor left a Corpse behind
+ * @author Ci Leong Ong
+ */
+public record ActorDied(Actor actor, int x, int y, boolean corpseDropped) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s is dead.", actor);
+    }
+
+}
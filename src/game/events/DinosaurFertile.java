@@ -0,0 +1,21 @@
+package game.events;
+
+import game.dinosaurs.Dinosaur;
+
+
+/**
+ * A Dinosaur is fertile and looking for mating partners.
+ *
+ * @param dinosaur The fertile Dinosaur
+ * @param x        X coordinate of the Dinosaur
+ * @param y        Y coordinate of the Dinosaur
+ * @author Ci Leong Ong
+ */
+public record DinosaurFertile(Dinosaur dinosaur, int x, int y) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s at (%d, %d) is looking for mating partners.", dinosaur, x, y);
+    }
+
+}
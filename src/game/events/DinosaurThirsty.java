@@ -0,0 +1,21 @@
+package game.events;
+
+import game.dinosaurs.Dinosaur;
+
+
+/**
+ * A Dinosaur is getting thirsty.
+ *
+ * @param dinosaur The thirsty Dinosaur
+ * @param x        X coordinate of the Dinosaur
+ * @param y        Y coordinate of the Dinosaur
+ * @author Ci Leong Ong
+ */
+public record DinosaurThirsty(Dinosaur dinosaur, int x, int y) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s at (%d, %d) is getting thirsty!", dinosaur, x, y);
+    }
+
+}
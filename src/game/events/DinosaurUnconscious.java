@@ -0,0 +1,21 @@
+package game.events;
+
+import game.dinosaurs.Dinosaur;
+
+
+/**
+ * A Dinosaur has run out of hit points or water, and is unconscious for another turn.
+ *
+ * @param dinosaur The unconscious Dinosaur
+ * @param x        X coordinate of the Dinosaur
+ * @param y        Y coordinate of the Dinosaur
+ * @author Ci Leong Ong
+ */
+public record DinosaurUnconscious(Dinosaur dinosaur, int x, int y) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s at (%d, %d) is unconscious!", dinosaur, x, y);
+    }
+
+}
@@ -0,0 +1,18 @@
+package game.events;
+
+
+/**
+ * The Player has earned eco points.
+ *
+ * @param amount Number of eco points earned
+ * @param total  Number of eco points the Player has now
+ * @author Ci Leong Ong
+ */
+public record EcoPointsEarned(int amount, int total) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("Player earned %d eco points, now has %d.", amount, total);
+    }
+
+}
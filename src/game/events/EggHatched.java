@@ -0,0 +1,21 @@
+package game.events;
+
+import game.dinosaurs.Dinosaur;
+
+
+/**
+ * An Egg has hatched into a baby Dinosaur.
+ *
+ * @param baby The Dinosaur that hatched
+ * @param x    X coordinate of the Egg
+ * @param y    Y coordinate of the Egg
+ * @author Ci Leong Ong
+ */
+public record EggHatched(Dinosaur baby, int x, int y) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s hatched at (%d, %d).", baby, x, y);
+    }
+
+}
@@ -0,0 +1,21 @@
+package game.events;
+
+import edu.monash.fit2099.engine.Actor;
+
+
+/**
+ * A pregnant Actor has laid an Egg where it stands.
+ *
+ * @param parent The Actor that laid the Egg
+ * @param x      X coordinate of the Egg
+ * @param y      Y coordinate of the Egg
+ * @author Ci Leong Ong
+ */
+public record EggLaid(Actor parent, int x, int y) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s lays an egg.", parent);
+    }
+
+}
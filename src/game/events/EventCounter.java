@@ -0,0 +1,55 @@
+package game.events;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ * Counts the events it receives by type, without formatting their messages.
+ *
+ * @author Ci Leong Ong
+ */
+public class EventCounter implements Consumer<GameEvent> {
+
+    /**
+     * Number of events received of each type.
+     */
+    private final Map<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the event.
+     *
+     * @param event The event
+     */
+    @Override
+    public void accept(GameEvent event) {
+        counts.computeIfAbsent(event.getClass(), type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the number of events of a type received so far.
+     *
+     * @param type The type of event
+     * @return The number of events of that type
+     */
+    public long count(Class<? extends GameEvent> type) {
+        LongAdder count = counts.get(type);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the number of events of each type received so far.
+     *
+     * @return Maps the simple name of each type of event to its count, sorted by name
+     */
+    public Map<String, Long> counts() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<Class<?>, LongAdder> entry : counts.entrySet())
+            result.put(entry.getKey().getSimpleName(), entry.getValue().sum());
+        return result;
+    }
+
+}
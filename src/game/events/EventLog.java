@@ -0,0 +1,69 @@
+package game.events;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+
+/**
+ * Writes every event it receives to a file, one line per event:
+ * the type of the event, a tab, and its message.
+ *
+ * @author Ci Leong Ong
+ */
+public class EventLog implements Consumer<GameEvent>, Closeable {
+
+    /**
+     * Where the events are written.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor. Creates the file, or empties it if it exists.
+     *
+     * @param file The file to write
+     * @throws IOException if the file cannot be opened
+     */
+    public EventLog(Path file) throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the event.
+     * Synchronized, so that events published from different threads are not interleaved.
+     *
+     * @param event The event
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void accept(GameEvent event) {
+        try {
+            writer.write(event.getClass().getSimpleName());
+            writer.write('\t');
+            writer.write(event.describe());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out the buffered events and closes the file.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
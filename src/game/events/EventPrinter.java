@@ -0,0 +1,40 @@
+package game.events;
+
+import edu.monash.fit2099.engine.Display;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Shows the message of every event it receives on a Display.
+ *
+ * @author Ci Leong Ong
+ */
+public class EventPrinter implements Consumer<GameEvent> {
+
+    /**
+     * Where the messages are shown.
+     */
+    private final Display display;
+
+    /**
+     * Constructor.
+     *
+     * @param display Where the messages are shown
+     */
+    public EventPrinter(Display display) {
+        this.display = display;
+    }
+
+    /**
+     * Shows the message of the event.
+     * Synchronized, so that messages published from different threads are not interleaved.
+     *
+     * @param event The event
+     */
+    @Override
+    public synchronized void accept(GameEvent event) {
+        display.println(event.describe());
+    }
+
+}
@@ -0,0 +1,20 @@
+package game.events;
+
+import game.dinosaurs.Dinosaur;
+
+
+/**
+ * A Dinosaur has gained or lost the ability to fly.
+ *
+ * @param dinosaur The Dinosaur
+ * @param canFly   Whether the Dinosaur can fly now
+ * @author Ci Leong Ong
+ */
+public record FlightChanged(Dinosaur dinosaur, boolean canFly) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format(canFly ? "%s can fly." : "%s can no longer fly.", dinosaur);
+    }
+
+}
@@ -0,0 +1,22 @@
+package game.events;
+
+
+/**
+ * Something that happened in the game that others may want to know about,
+ * published on the EventBus of the world it happened in.
+ *
+ * Events only hold the facts. The message shown to the Player is only
+ * formatted when a subscriber asks for it.
+ *
+ * @author Ci Leong Ong
+ */
+public interface GameEvent {
+
+    /**
+     * Returns a message describing the event, for displaying or logging.
+     *
+     * @return A description of the event
+     */
+    String describe();
+
+}
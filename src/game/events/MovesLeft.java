@@ -0,0 +1,17 @@
+package game.events;
+
+
+/**
+ * A new turn has started in Challenge Mode.
+ *
+ * @param moves Number of moves the Player has left
+ * @author Ci Leong Ong
+ */
+public record MovesLeft(int moves) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("###   %d moves left!   ###", moves);
+    }
+
+}
@@ -0,0 +1,20 @@
+package game.events;
+
+import edu.monash.fit2099.engine.Actor;
+
+
+/**
+ * A hunter has swallowed its prey whole.
+ *
+ * @param hunter The Actor that ate the prey
+ * @param prey   The Actor that was eaten
+ * @author Ci Leong Ong
+ */
+public record PreyEaten(Actor hunter, Actor prey) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return String.format("%s has eaten the %s", hunter, prey);
+    }
+
+}
@@ -0,0 +1,19 @@
+package game.events;
+
+
+/**
+ * A rain cell has formed on the edge of a map, and will drift across it.
+ *
+ * @param x      X coordinate of the centre of the rain cell, which may be off the map
+ * @param y      Y coordinate of the centre of the rain cell, which may be off the map
+ * @param radius Largest number of steps from its centre the rain cell rains on
+ * @author Ci Leong Ong
+ */
+public record RainCellFormed(int x, int y, int radius) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return "###   Rain clouds are gathering.   ###";
+    }
+
+}
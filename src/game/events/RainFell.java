@@ -0,0 +1,18 @@
+package game.events;
+
+
+/**
+ * It is raining this turn.
+ *
+ * @param sipsAdded  Number of sips added to every water body
+ * @param waterAdded Water points given to every Dinosaur
+ * @author Ci Leong Ong
+ */
+public record RainFell(int sipsAdded, int waterAdded) implements GameEvent {
+
+    @Override
+    public String describe() {
+        return "###   It's raining!   ###";
+    }
+
+}
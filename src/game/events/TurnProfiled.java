@@ -0,0 +1,46 @@
+package game.events;
+
+import game.metrics.Counter;
+import game.metrics.Phase;
+
+
+/**
+ * A turn has ended while its world was being profiled.
+ *
+ * @param turn        The turn, counted from 0
+ * @param phaseNanos  Time spent in each Phase during the turn, indexed by ordinal, in nanoseconds
+ * @param phaseCounts Number of times each Phase was timed during the turn, indexed by ordinal
+ * @param counters    Value of each Counter during the turn, indexed by ordinal
+ * @author Ci Leong Ong
+ */
+public record TurnProfiled(int turn, long[] phaseNanos, long[] phaseCounts, long[] counters) implements GameEvent {
+
+    /**
+     * Returns the time spent in a Phase during the turn.
+     *
+     * @param phase The Phase
+     * @return The time spent, in nanoseconds
+     */
+    public long nanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the value of a Counter during the turn.
+     *
+     * @param counter The Counter
+     * @return The value of the Counter
+     */
+    public long count(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    @Override
+    public String describe() {
+        long total = nanos(Phase.DRAW) + nanos(Phase.ACTOR_TURN) + nanos(Phase.DECIDE)
+                + nanos(Phase.MAP_TICK) + nanos(Phase.RAIN);
+        return String.format("Turn %d took %.2f ms: %d actor turns, %d actions, %d BFS nodes", turn, total / 1e6,
+                count(Counter.ACTOR_TURNS), count(Counter.ACTIONS), count(Counter.BFS_NODES));
+    }
+
+}
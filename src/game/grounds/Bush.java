@@ -4,7 +4,7 @@ import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Location;
 import game.ActorCapability;
 import game.GroundCapability;
-import game.items.Fruit;
+import game.RandomSource;
 
 
 /**
@@ -15,6 +15,11 @@ import game.items.Fruit;
  */
 public class Bush extends SearchableGround {
 
+    /**
+     * Largest number of Fruits on a Bush, as many as the hungriest Dinosaur eating from it can eat at once.
+     */
+    private static final int FRUIT_CAPACITY = 10;
+
     /**
      * Constructor.
      */
@@ -29,27 +34,28 @@ public class Bush extends SearchableGround {
      * Returns null if the ground is not a valid food source for the Actor.
      *
      * @param target    The Actor that will be feeding on here
+     * @param location  The Location of the ground
      * @param scoutOnly True if just checking whether this spot is valid, false if feeding on it
      * @return The food healing points available to the target Actor
      */
     @Override
-    public Integer getFoodPoints(Actor target, boolean scoutOnly) {
+    public Integer getFoodPoints(Actor target, Location location, boolean scoutOnly) {
         if (target.hasCapability(ActorCapability.SHORT)) {
             int hitPoints = target.getHitPoints();
             int maxHitPoints = target.getMaxHitPoints();
 
             int amount;
             if (!scoutOnly)
-                amount = removeItems(Fruit.class, (int) Math.ceil((double) (maxHitPoints - hitPoints) / 10));
+                amount = removeProduce(location, Produce.FRUIT, (int) Math.ceil((double) (maxHitPoints - hitPoints) / 10));
             else
-                amount = (int) getItemList().stream().filter(Fruit.class::isInstance).count();
+                amount = count(Produce.FRUIT);
             return amount>0 ? amount*10 : null;
         } else
             return null;
     }
 
     /**
-     * On any turn, has 10% chance to produce one ripe fruit.
+     * On any turn, has 10% chance to produce one ripe fruit, unless the Bush is full.
      *
      * @param location The Location of the Ground
      */
@@ -57,8 +63,19 @@ public class Bush extends SearchableGround {
     public void tick(Location location) {
         super.tick(location);
 
-        if (rand.nextDouble() <= 0.1)
-            itemList.add(new Fruit());
+        if (RandomSource.at(RandomSource.Stream.PRODUCE, location).nextDouble() <= 0.1)
+            grow(location, Produce.FRUIT, 1);
+    }
+
+    /**
+     * A Bush only holds Fruits, up to FRUIT_CAPACITY.
+     *
+     * @param kind The kind of produce
+     * @return The capacity, 0 if it never holds any
+     */
+    @Override
+    protected int capacityOf(Produce kind) {
+        return kind == Produce.FRUIT ? FRUIT_CAPACITY : 0;
     }
 
 }
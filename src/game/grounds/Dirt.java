@@ -19,4 +19,14 @@ public class Dirt extends Ground {
 		addCapability(GroundCapability.FERTILE);
 	}
 
+	/**
+	 * Dirt never changes, so every cell can share the same instance.
+	 *
+	 * @return true
+	 */
+	@Override
+	public boolean isStateless() {
+		return true;
+	}
+
 }
@@ -12,4 +12,14 @@ public class Floor extends Ground {
 		super('_');
 	}
 
+	/**
+	 * Floor never changes, so every cell can share the same instance.
+	 *
+	 * @return true
+	 */
+	@Override
+	public boolean isStateless() {
+		return true;
+	}
+
 }
@@ -3,9 +3,10 @@ package game.grounds;
 import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Location;
 import game.ActorCapability;
-import game.items.Fish;
-
-import java.util.Collections;
+import game.FlowFields;
+import game.RandomSource;
+import game.SnapshotInput;
+import game.SnapshotOutput;
 
 
 /**
@@ -15,6 +16,11 @@ import java.util.Collections;
  */
 public class Lake extends SearchableGround implements WaterBody {
 
+    /**
+     * Largest number of Fish in a Lake.
+     */
+    private static final int FISH_CAPACITY = 25;
+
     /**
      * Number of times an Actor can drink from here.
      * Replenished by rain.
@@ -27,7 +33,7 @@ public class Lake extends SearchableGround implements WaterBody {
     public Lake() {
         super('~');
         sips = 25;
-        itemList.addAll(Collections.nCopies(5, new Fish()));
+        grow(null, Produce.FISH, 5);
     }
 
     /**
@@ -39,8 +45,8 @@ public class Lake extends SearchableGround implements WaterBody {
     public void tick(Location location) {
         super.tick(location);
 
-        if (itemList.size() < 25 && rand.nextDouble() <= 0.6)
-            itemList.add(new Fish());
+        if (count(Produce.FISH) < FISH_CAPACITY && RandomSource.at(RandomSource.Stream.PRODUCE, location).nextDouble() <= 0.6)
+            grow(location, Produce.FISH, 1);
     }
 
     /**
@@ -48,17 +54,18 @@ public class Lake extends SearchableGround implements WaterBody {
      * Returns null if the ground is not a valid food source for the Actor.
      *
      * @param target    The Actor that will be feeding on here
+     * @param location  The Location of the ground
      * @param scoutOnly True if just checking whether this spot is valid, false if feeding on it
      * @return The food healing points available to the target Actor
      */
     @Override
-    public Integer getFoodPoints(Actor target, boolean scoutOnly) {
+    public Integer getFoodPoints(Actor target, Location location, boolean scoutOnly) {
         if (target.hasCapability(ActorCapability.FLY)) {
             int amount;
             if (!scoutOnly)
-                amount = removeItems(Fish.class, rand.nextInt(2));
+                amount = removeProduce(location, Produce.FISH, RandomSource.of(location.map()).stream(RandomSource.Stream.SEARCH).nextInt(2));
             else
-                amount = (int) getItemList().stream().filter(Fish.class::isInstance).count();
+                amount = count(Produce.FISH);
             return amount>0 ? amount*5 : 0;
         } else
             return 0;
@@ -69,13 +76,14 @@ public class Lake extends SearchableGround implements WaterBody {
      * Returns null if the ground is not a valid water source for the Actor.
      *
      * @param target    The Actor that will be drinking from here
+     * @param location  The Location of the ground
      * @param scoutOnly True if just checking whether this spot is valid, false if drinking from it
      * @return The water healing points available to the target Actor
      */
     @Override
-    public Integer getWaterPoints(Actor target, boolean scoutOnly) {
+    public Integer getWaterPoints(Actor target, Location location, boolean scoutOnly) {
         if (!scoutOnly)
-            decrementSips();
+            decrementSips(location);
         return target.hasCapability(ActorCapability.FLY) ? 30 : 0;
     }
 
@@ -92,22 +100,43 @@ public class Lake extends SearchableGround implements WaterBody {
 
     /**
      * Add amount of sips to the pool of water.
+     * If the Lake had run dry, lets the FlowFields know it can be drunk from again.
      *
-     * @param amount Amount of sips to be added to the ground.
+     * @param location The Location of the ground
+     * @param amount   Amount of sips to be added to the ground.
      */
     @Override
-    public void addSips(int amount) {
+    public void addSips(Location location, int amount) {
         if (amount < 0)
             throw new IllegalArgumentException();
+        boolean wasDry = !hasSips();
         sips += amount;
+        if (wasDry && hasSips())
+            FlowFields.notifyChangeAt(location, FlowFields.Change.WATER);
     }
 
     /**
      * Decrement number of sips by 1.
+     * If the Lake runs dry, lets the FlowFields know it can no longer be drunk from.
+     *
+     * @param location The Location of the ground
      */
     @Override
-    public void decrementSips() {
+    public void decrementSips(Location location) {
         sips--;
+        if (sips == 0)
+            FlowFields.notifyChangeAt(location, FlowFields.Change.WATER);
+    }
+
+    /**
+     * A Lake only holds Fish, up to FISH_CAPACITY.
+     *
+     * @param kind The kind of produce
+     * @return The capacity, 0 if it never holds any
+     */
+    @Override
+    protected int capacityOf(Produce kind) {
+        return kind == Produce.FISH ? FISH_CAPACITY : 0;
     }
 
     /**
@@ -120,4 +149,27 @@ public class Lake extends SearchableGround implements WaterBody {
     public boolean canActorEnter(Actor actor) {
         return actor.hasCapability(ActorCapability.FLY);
     }
+
+    /**
+     * Writes the Fish in the Lake, followed by its remaining sips.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        super.writeState(out);
+        out.writeInt(sips);
+    }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        super.readState(in);
+        sips = in.readInt();
+    }
+
 }
@@ -0,0 +1,67 @@
+package game.grounds;
+
+import edu.monash.fit2099.engine.Item;
+import game.items.Fish;
+import game.items.Fruit;
+
+import java.util.function.Supplier;
+
+
+/**
+ * The kinds of food a SearchableGround can hold, counted instead of kept as Items.
+ *
+ * @author Ci Leong Ong
+ */
+public enum Produce {
+
+    /**
+     * Fruits growing on Trees and Bushes.
+     */
+    FRUIT("Fruit", Fruit::new),
+
+    /**
+     * Fish living in Lakes.
+     */
+    FISH("Fish", Fish::new);
+
+    /**
+     * The name of the Item of this kind of produce.
+     */
+    private final String name;
+
+    /**
+     * Creates the Item of this kind of produce.
+     */
+    private final Supplier<Item> factory;
+
+    /**
+     * Constructor.
+     *
+     * @param name    The name of the Item of this kind of produce
+     * @param factory Creates the Item of this kind of produce
+     */
+    Produce(String name, Supplier<Item> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new Item of this kind of produce, for when one leaves the Ground holding it.
+     *
+     * @return The new Item
+     */
+    public Item newItem() {
+        return factory.get();
+    }
+
+    /**
+     * Returns the name of the Item of this kind of produce, without creating one.
+     *
+     * @return The name, e.g. "Fruit"
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -1,26 +1,31 @@
 package game.grounds;
 
 import edu.monash.fit2099.engine.*;
+import game.FlowFields;
+import game.SnapshotFormatException;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.Snapshottable;
 
 import java.util.*;
 
 
 /**
- * Ground holding items that can be searched from by Actors.
+ * Ground holding produce that can be searched from by Actors.
+ *
+ * The produce is only counted, up to a capacity for each kind of produce,
+ * so eating from the Ground takes constant time however much it holds.
+ * An Item is only created when a piece of produce leaves the Ground,
+ * dropping to the floor or picked up by the Player.
  *
  * @author Ci Leong Ong
  */
-public abstract class SearchableGround extends Ground {
+public abstract class SearchableGround extends Ground implements Snapshottable {
 
     /**
-     * Used to simulate probability to add Items.
+     * Number of pieces of each kind of produce the SearchableGround is holding.
      */
-    protected Random rand = new Random();
-
-    /**
-     * List of Items that the SearchableGround is holding.
-     */
-    protected List<Item> itemList;
+    private final int[] produce = new int[Produce.values().length];
 
     /**
      * Constructor.
@@ -29,7 +34,6 @@ public abstract class SearchableGround extends Ground {
      */
     public SearchableGround(char displayChar) {
         super(displayChar);
-        itemList = new ArrayList<>();
     }
 
     /**
@@ -37,10 +41,11 @@ public abstract class SearchableGround extends Ground {
      * Returns null if the ground is not a valid food source for the Actor.
      *
      * @param target    The Actor that will be feeding on here
+     * @param location  The Location of the ground
      * @param scoutOnly True if just checking whether this spot is valid, false if feeding on it
      * @return The food healing points available to the target Actor
      */
-    public Integer getFoodPoints(Actor target, boolean scoutOnly) {
+    public Integer getFoodPoints(Actor target, Location location, boolean scoutOnly) {
         return null;
     }
 
@@ -49,40 +54,118 @@ public abstract class SearchableGround extends Ground {
      * Returns null if the ground is not a valid water source for the Actor.
      *
      * @param target    The Actor that will be drinking from here
+     * @param location  The Location of the ground
      * @param scoutOnly True if just checking whether this spot is valid, false if drinking from it
      * @return The water healing points available to the target Actor
      */
-    public Integer getWaterPoints(Actor target, boolean scoutOnly) {
+    public Integer getWaterPoints(Actor target, Location location, boolean scoutOnly) {
         return null;
     }
 
     /**
-     * Return the list of items this is holding.
+     * Returns the largest number of pieces of a kind of produce the SearchableGround can hold.
      *
-     * @return The list of items this is holding.
+     * @param kind The kind of produce
+     * @return The capacity, 0 if it never holds any
      */
-    public List<Item> getItemList(){
-        return itemList;
+    protected abstract int capacityOf(Produce kind);
+
+    /**
+     * Returns the number of pieces of a kind of produce the SearchableGround is holding.
+     *
+     * @param kind The kind of produce
+     * @return The number of pieces held
+     */
+    public int count(Produce kind) {
+        return produce[kind.ordinal()];
     }
 
     /**
-     * Remove quantity amount of Items of itemClass from the list.
+     * Returns the kinds of produce the SearchableGround is holding at least a piece of.
      *
-     * @param itemClass Class of Item to be removed
-     * @param quantity  Number of items to be removed
-     * @return Number of items successfully removed
+     * @return A new Set of the kinds of produce held
      */
-    protected int removeItems(Class<?> itemClass, int quantity) {
-        int removed = 0;
-        int index = 0;
-        while (removed < quantity && index < itemList.size()) {
-            if (itemClass.isInstance(itemList.get(index))) {
-                itemList.remove(index);
-                removed++;
-            } else
-                index++;
+    public Set<Produce> getProduce() {
+        Set<Produce> kinds = EnumSet.noneOf(Produce.class);
+        for (Produce kind : Produce.values()) {
+            if (count(kind) > 0)
+                kinds.add(kind);
         }
+        return kinds;
+    }
+
+    /**
+     * Adds pieces of a kind of produce, as many as there is room for.
+     * If the SearchableGround held none of it before, lets the FlowFields know food has appeared.
+     *
+     * @param location The Location of the ground, or null if it is not on a map yet
+     * @param kind     The kind of produce
+     * @param quantity Number of pieces to add
+     * @return Number of pieces added
+     */
+    protected int grow(Location location, Produce kind, int quantity) {
+        int added = Math.max(0, Math.min(quantity, capacityOf(kind) - count(kind)));
+        produce[kind.ordinal()] += added;
+        if (added > 0 && count(kind) == added)
+            FlowFields.notifyChangeAt(location, FlowFields.Change.PRODUCE);
+        return added;
+    }
+
+    /**
+     * Removes quantity pieces of a kind of produce, as many as there are.
+     * If none of it is left afterwards, lets the FlowFields know food has run out.
+     *
+     * @param location The Location of the ground
+     * @param kind     The kind of produce
+     * @param quantity Number of pieces to remove
+     * @return Number of pieces successfully removed
+     */
+    protected int removeProduce(Location location, Produce kind, int quantity) {
+        int removed = Math.max(0, Math.min(quantity, count(kind)));
+        produce[kind.ordinal()] -= removed;
+        if (removed > 0 && count(kind) == 0)
+            FlowFields.notifyChangeAt(location, FlowFields.Change.PRODUCE);
         return removed;
     }
 
+    /**
+     * Takes a single piece of a kind of produce out of the SearchableGround, as an Item.
+     *
+     * @param location The Location of the ground
+     * @param kind     The kind of produce
+     * @return A new Item of the produce, or null if there is none left
+     */
+    public Item take(Location location, Produce kind) {
+        return removeProduce(location, kind, 1) > 0 ? kind.newItem() : null;
+    }
+
+    /**
+     * Writes the number of pieces of each kind of produce the SearchableGround is holding.
+     * Subclasses with more state write it after calling this.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        for (int count : produce)
+            out.writeInt(count);
+    }
+
+    /**
+     * Replaces the produce the SearchableGround is holding with that written by writeState().
+     *
+     * @param in Where to read the state from
+     * @throws SnapshotFormatException if there is more produce than the SearchableGround can hold
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        for (Produce kind : Produce.values()) {
+            int count = in.readInt();
+            if (count < 0 || count > capacityOf(kind))
+                throw new SnapshotFormatException(String.format("%s holds %d %s out of %d",
+                        getClass().getSimpleName(), count, kind, capacityOf(kind)));
+            produce[kind.ordinal()] = count;
+        }
+    }
+
 }
@@ -4,9 +4,13 @@ import edu.monash.fit2099.engine.Actor;
 import edu.monash.fit2099.engine.Location;
 import edu.monash.fit2099.engine.NumberRange;
 import game.ActorCapability;
-import game.GameWorld;
 import game.GroundCapability;
-import game.items.Fruit;
+import game.RandomSource;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.WorldContext;
+
+import java.util.SplittableRandom;
 
 
 /**
@@ -18,6 +22,12 @@ import game.items.Fruit;
  */
 public class Tree extends SearchableGround {
 
+	/**
+	 * Largest number of Fruits on a Tree. Fruits drop about as fast as they grow
+	 * once there are 10 of them, so a Tree rarely fills up.
+	 */
+	private static final int FRUIT_CAPACITY = 20;
+
 	/**
 	 * Number of turns since creation.
 	 */
@@ -37,20 +47,21 @@ public class Tree extends SearchableGround {
 	 * Returns null if the ground is not a valid food source for the Actor.
 	 *
 	 * @param target    The Actor that will be feeding on here
+	 * @param location  The Location of the ground
 	 * @param scoutOnly True if just checking whether this spot is valid, false if feeding on it
 	 * @return The food healing points available to the target Actor
 	 */
 	@Override
-	public Integer getFoodPoints(Actor target, boolean scoutOnly) {
+	public Integer getFoodPoints(Actor target, Location location, boolean scoutOnly) {
 		if (target.hasCapability(ActorCapability.TALL)) {
 			int hitPoints = target.getHitPoints();
 			int maxHitPoints = target.getMaxHitPoints();
 
 			int amount;
 			if (!scoutOnly)
-				amount = removeItems(Fruit.class, (int) Math.ceil((double) (maxHitPoints - hitPoints) / 5));
+				amount = removeProduce(location, Produce.FRUIT, (int) Math.ceil((double) (maxHitPoints - hitPoints) / 5));
 			else
-				amount = (int) getItemList().stream().filter(Fruit.class::isInstance).count();
+				amount = count(Produce.FRUIT);
 			return amount>0 ? amount*5 : null;
 		} else
 			return null;
@@ -60,7 +71,7 @@ public class Tree extends SearchableGround {
 	 * Increments the age of the Tree every turn,
 	 * and updates its appearance if necessary.
 	 *
-	 * On any turn, has 50% to produce a Fruit,
+	 * On any turn, has 50% to produce a Fruit, unless the Tree is full,
 	 * if this happens, the Player earns 1 eco point.
 	 *
 	 * On any turn, each fruit inside the tree has 5%
@@ -71,6 +82,7 @@ public class Tree extends SearchableGround {
 	@Override
 	public void tick(Location location) {
 		super.tick(location);
+		SplittableRandom rand = RandomSource.at(RandomSource.Stream.PRODUCE, location);
 
 		age++;
 		if (age == 10)
@@ -78,14 +90,48 @@ public class Tree extends SearchableGround {
 		if (age == 20)
 			displayChar = 'T';
 
-		if (rand.nextBoolean()) {
-			itemList.add(new Fruit());
-			GameWorld.getPlayer().earnEcoPoints(1);
-		}
+		if (rand.nextBoolean() && grow(location, Produce.FRUIT, 1) > 0)
+			WorldContext.of(location.map()).earnEcoPoints(location, 1);
 
-		for (int ignored : new NumberRange(0, itemList.size())) {
+		for (int ignored : new NumberRange(0, count(Produce.FRUIT))) {
 			if (rand.nextDouble() <= 0.05)
-				location.addItem(itemList.remove(0));
+				location.addItem(take(location, Produce.FRUIT));
 		}
 	}
+
+	/**
+	 * A Tree only holds Fruits, up to FRUIT_CAPACITY.
+	 *
+	 * @param kind The kind of produce
+	 * @return The capacity, 0 if it never holds any
+	 */
+	@Override
+	protected int capacityOf(Produce kind) {
+		return kind == Produce.FRUIT ? FRUIT_CAPACITY : 0;
+	}
+
+	/**
+	 * Writes the Fruits on the Tree, followed by its age and appearance.
+	 *
+	 * @param out Where to write the state
+	 */
+	@Override
+	public void writeState(SnapshotOutput out) {
+		super.writeState(out);
+		out.writeInt(age);
+		out.writeChar(displayChar);
+	}
+
+	/**
+	 * Reads back the state written by writeState().
+	 *
+	 * @param in Where to read the state from
+	 */
+	@Override
+	public void readState(SnapshotInput in) {
+		super.readState(in);
+		age = in.readInt();
+		displayChar = in.readChar();
+	}
+
 }
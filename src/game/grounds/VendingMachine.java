@@ -2,8 +2,8 @@ package game.grounds;
 
 import edu.monash.fit2099.engine.*;
 import game.BuyAction;
-import game.GameWorld;
 import game.Player;
+import game.WorldContext;
 import game.dinosaurs.Allosaur;
 import game.dinosaurs.Brachiosaur;
 import game.dinosaurs.Pterodactyl;
@@ -58,7 +58,7 @@ public class VendingMachine extends Ground {
     @Override
     public Actions allowableActions(Actor actor, Location location, String direction) {
         Actions actions = new Actions();
-        if (actor.equals(GameWorld.getPlayer())) {
+        if (actor.equals(WorldContext.of(location.map()).getPlayer())) {
             for (Map.Entry<String, Integer> entry : productsOnSale.entrySet()) {
                 Item item = nameToItem(entry.getKey());
                 int price = entry.getValue();
@@ -112,4 +112,14 @@ public class VendingMachine extends Ground {
         };
     }
 
+    /**
+     * A VendingMachine never changes, so every cell can share the same instance.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
 }
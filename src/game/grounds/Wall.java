@@ -38,4 +38,15 @@ public class Wall extends Ground {
 	public boolean blocksThrownObjects() {
 		return true;
 	}
+
+	/**
+	 * Wall never changes, so every cell can share the same instance.
+	 *
+	 * @return true
+	 */
+	@Override
+	public boolean isStateless() {
+		return true;
+	}
+
 }
@@ -1,5 +1,7 @@
 package game.grounds;
 
+import edu.monash.fit2099.engine.Location;
+
 
 /**
  * Added to Grounds with the ability to collect water,
@@ -19,13 +21,16 @@ public interface WaterBody {
     /**
      * Add amount of sips to the pool of water.
      *
-     * @param amount Amount of sips to be added to the ground.
+     * @param location The Location of the water body
+     * @param amount   Amount of sips to be added to the ground.
      */
-    void addSips(int amount);
+    void addSips(Location location, int amount);
 
     /**
      * Decrement number of sips by 1.
+     *
+     * @param location The Location of the water body
      */
-    void decrementSips();
+    void decrementSips(Location location);
 
 }
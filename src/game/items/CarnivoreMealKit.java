@@ -1,8 +1,5 @@
 package game.items;
 
-import game.dinosaurs.Allosaur;
-import game.dinosaurs.Pterodactyl;
-
 
 /**
  * MealKit that can only be fed to carnivorous Actors,
@@ -16,25 +13,7 @@ public class CarnivoreMealKit extends MealKit {
      * Constructor.
      */
     public CarnivoreMealKit() {
-        super("Carnivore Meal Kit", 'C');
-    }
-
-    /**
-     * Defines the healing points for Allosaurs, in tuple form.
-     * Heals food points to maximum, and heals 0 water points.
-     */
-    @Override
-    public int[] visit(Allosaur allosaur) {
-        return new int[] {allosaur.getMaxHitPoints(), 0};
-    }
-
-    /**
-     * Defines the healing points for Pterodactyls, in tuple form.
-     * Heals food points to maximum, and heals 0 water points.
-     */
-    @Override
-    public int[] visit(Pterodactyl pterodactyl) {
-        return new int[] {pterodactyl.getMaxHitPoints(), 0};
+        super("Carnivore Meal Kit", 'C', FoodType.CARNIVORE_MEAL_KIT);
     }
 
 }
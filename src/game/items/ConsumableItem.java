@@ -1,76 +1,59 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Item;
-import game.Visitor;
-import game.dinosaurs.Allosaur;
-import game.dinosaurs.Brachiosaur;
-import game.dinosaurs.Pterodactyl;
-import game.dinosaurs.Stegosaur;
 
 
 /**
  * All Items that could be fed/eaten by Dinosaurs extend this class.
+ * What an Item is worth to each species is looked up by its FoodType in the Nutrition table.
  *
  * @author Ci Leong Ong
  */
-public abstract class ConsumableItem extends Item implements Visitor<int[]> {
+public abstract class ConsumableItem extends Item {
+
+    /**
+     * The type of food the consumable is.
+     */
+    private final FoodType foodType;
 
     /**
      * Constructor
      * @param name        Name of the consumable
      * @param displayChar Character used to display the consumable on the displayed map
      * @param portable    If the consumable can be stored in Player's inventory
+     * @param foodType    The type of food the consumable is
      */
-    public ConsumableItem(String name, char displayChar, boolean portable) {
+    public ConsumableItem(String name, char displayChar, boolean portable, FoodType foodType) {
         super(name, displayChar, portable);
+        this.foodType = foodType;
     }
 
     /**
-     * Visit operation for Stegosaurs.
-     * Returns the healing points for Stegosaurs, in tuple form.
-     * 1st element is the food healing points.
-     * 2nd element is the water healing points.
-     * If the tuple is null, the consumable is not a valid food for Stegosaurs.
-     */
-    @Override
-    public int[] visit(Stegosaur stegosaur) {
-        return null;
-    }
-
-    /**
-     * Visit operation for Brachiosaurs.
-     * Returns the healing points for Brachiosaurs, in tuple form.
-     * 1st element is the food healing points.
-     * 2nd element is the water healing points.
-     * If the tuple is null, the consumable is not a valid food for Brachiosaurs.
+     * Returns the type of food the consumable is.
+     *
+     * @return The FoodType of the consumable
      */
-    @Override
-    public int[] visit(Brachiosaur brachiosaur) {
-        return null;
+    public FoodType getFoodType() {
+        return foodType;
     }
 
     /**
-     * Visit operation for Allosaurs.
-     * Returns the healing points for Allosaurs, in tuple form.
-     * 1st element is the food healing points.
-     * 2nd element is the water healing points.
-     * If the tuple is null, the consumable is not a valid food for Allosaurs.
+     * Returns the food points the consumable itself holds,
+     * for the types of food whose worth varies from one Item to the next.
+     *
+     * @return The food points held, 0 unless overridden
      */
-    @Override
-    public int[] visit(Allosaur allosaur) {
-        return null;
+    public int getHealingPoints() {
+        return 0;
     }
 
     /**
-     * Visit operation for Pterodactyls.
-     * Returns the healing points for Pterodactyls, in tuple form.
-     * 1st element is the food healing points.
-     * 2nd element is the water healing points.
-     * If the tuple is null, the consumable is not a valid food for Pterodactyls.
+     * Called when a tiny Actor eats part of the consumable, leaving the rest where it lies.
+     * Does nothing unless overridden.
+     *
+     * @param points The food points eaten
      */
-    @Override
-    public int[] visit(Pterodactyl pterodactyl) {
-        return null;
+    public void nibble(int points) {
     }
 
 }
@@ -1,8 +1,9 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Location;
-import game.dinosaurs.Allosaur;
-import game.dinosaurs.Pterodactyl;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.Snapshottable;
 
 
 /**
@@ -12,12 +13,13 @@ import game.dinosaurs.Pterodactyl;
  *
  * @author Ci Leong Ong
  */
-public class Corpse extends ConsumableItem {
+public class Corpse extends ConsumableItem implements TimedItem, Snapshottable {
 
     /**
      * Number of turns before the Corpse rots away.
+     * Only changed after construction when the Corpse is restored from a snapshot.
      */
-    private final int maxAge;
+    private int maxAge;
 
     /**
      * How much a carnivorous Dinosaur can heal
@@ -38,44 +40,91 @@ public class Corpse extends ConsumableItem {
      * @param healingPoints How much a carnivorous Actor can heal should it consume the Corpse
      */
     public Corpse(String name, int maxAge, int healingPoints) {
-        super(name + " corpse", '%', true);
+        super(name + " corpse", '%', true, FoodType.CORPSE);
         age = 0;
         this.maxAge = maxAge;
         this.healingPoints = healingPoints;
     }
 
     /**
-     * Defines the healing points for Allosaurs, in tuple form.
-     * Heals food points by the healingPoints of the Corpse, and heals 0 water points.
+     * Returns the food points a carnivorous Dinosaur heals by should it consume this Corpse.
+     *
+     * @return The healing points left in the Corpse
+     */
+    @Override
+    public int getHealingPoints() {
+        return healingPoints;
+    }
+
+    /**
+     * Decrements the healing points of the Corpse by the food points a tiny Actor has eaten from it.
+     *
+     * @param points The food points eaten
+     */
+    @Override
+    public void nibble(int points) {
+        healingPoints -= points;
+    }
+
+    /**
+     * The Corpse is due at the end of this turn if it has been eaten up,
+     * otherwise when it has lain on the Ground for the predefined number of turns.
+     *
+     * @return The number of turns until the Corpse disappears, counting this one, or 0 if it never does
      */
     @Override
-    public int[] visit(Allosaur allosaur) {
-        return new int[] {healingPoints, 0};
+    public int turnsUntilDue() {
+        if (healingPoints <= 0)
+            return 1;
+        return age < maxAge ? maxAge - age : 0;
     }
 
     /**
-     * Defines the healing points for Pterodactyls, in tuple form.
-     * Heals food points by the healingPoints of the Corpse, and heals 0 water points.
-     * Decrements the HP of the Corpse.
+     * Increments the age of the Corpse by the turns it has lain on the Ground.
+     *
+     * @param turns Number of turns spent on the Ground
      */
     @Override
-    public int[] visit(Pterodactyl pterodactyl) {
-        healingPoints -= 10;
-        return new int[] {10, 0};
+    public void lieFor(int turns) {
+        age += turns;
     }
 
     /**
-     * Increments the age of the Corpse every turn,
-     * once it hits the predefined number of turns,
+     * Once the Corpse hits the predefined number of turns, or has been eaten up,
      * the Corpse will rot away and disappear.
      *
-     * @param currentLocation The Location of the Ground on which the Egg lies.
+     * @param currentLocation The Location of the Ground on which the Corpse lies.
      */
     @Override
-    public void tick(Location currentLocation) {
-        age++;
+    public void due(Location currentLocation) {
         if (age == maxAge || healingPoints <= 0)
             currentLocation.removeItem(this);
     }
 
-}
\ No newline at end of file
+    /**
+     * Writes the name, maximum age, healing points and age of the Corpse.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        out.writeString(name);
+        out.writeInt(maxAge);
+        out.writeInt(healingPoints);
+        out.writeInt(age);
+    }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        name = in.readString();
+        maxAge = in.readInt();
+        healingPoints = in.readInt();
+        age = in.readInt();
+    }
+
+}
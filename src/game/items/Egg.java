@@ -1,8 +1,13 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Location;
-import game.GameWorld;
+import game.EventBus;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.Snapshottable;
+import game.WorldContext;
 import game.dinosaurs.*;
+import game.events.EggHatched;
 
 import java.util.Objects;
 
@@ -12,22 +17,24 @@ import java.util.Objects;
  *
  * @author Ci Leong Ong
  */
-public class Egg extends ConsumableItem {
+public class Egg extends ConsumableItem implements TimedItem, Snapshottable {
 
     /**
      * Number of turns required to hatch the Egg.
+     * This and the other hatching details are only changed after construction
+     * when the Egg is restored from a snapshot.
      */
-    private final int turnsToHatch;
+    private int turnsToHatch;
 
     /**
      * Amount of eco points the Player will earn when hatched.
      */
-    private final int hatchEarnings;
+    private int hatchEarnings;
 
     /**
      * The Dinosaur that will hatch from the Egg.
      */
-    private final Dinosaur babyDinosaur;
+    private Dinosaur babyDinosaur;
 
     /**
      * Number of turns since the Egg has been laid.
@@ -43,7 +50,7 @@ public class Egg extends ConsumableItem {
      * @param babyDinosaur The baby dinosaur that will hatch from the Egg
      */
     private Egg(String name, int turnsToHatch, int hatchEarnings, Dinosaur babyDinosaur) {
-        super(name, 'O', true);
+        super(name, 'O', true, FoodType.EGG);
         this.turnsToHatch = turnsToHatch;
         this.hatchEarnings = hatchEarnings;
         this.babyDinosaur = babyDinosaur;
@@ -87,34 +94,35 @@ public class Egg extends ConsumableItem {
     }
 
     /**
-     * Defines the healing points for Pterodactyls, in tuple form.
-     * Heals food points by 10, and heals 0 water points.
+     * The Egg is due once it has lain on the Ground for the predefined number of turns,
+     * then every turn until it hatches.
+     *
+     * @return The number of turns until the Egg tries to hatch, counting this one
      */
     @Override
-    public int[] visit(Allosaur allosaur) {
-        return new int[] {10, 0};
+    public int turnsUntilDue() {
+        return age < turnsToHatch ? turnsToHatch - age : 1;
     }
 
     /**
-     * Defines the healing points for Pterodactyls, in tuple form.
-     * Heals food points by 10, and heals 0 water points.
+     * Increments the age of the Egg by the turns it has lain on the Ground.
+     *
+     * @param turns Number of turns spent on the Ground
      */
     @Override
-    public int[] visit(Pterodactyl pterodactyl) {
-        return new int[] {10, 0};
+    public void lieFor(int turns) {
+        age += turns;
     }
 
     /**
-     * Increments the age of the Egg every turn,
-     * once it hits the predefined number of turns,
+     * Once the Egg has reached the predefined number of turns,
      * and if there is no Actor in the same Location,
      * the Egg will hatch.
      *
      * @param currentLocation The Location of the Ground on which the Egg lies.
      */
     @Override
-    public void tick(Location currentLocation) {
-        age++;
+    public void due(Location currentLocation) {
         if (age >= turnsToHatch && Objects.isNull(currentLocation.getActor()))
             hatch(currentLocation);
     }
@@ -126,8 +134,39 @@ public class Egg extends ConsumableItem {
      * @param currentLocation The location the Egg is at now.
      */
     private void hatch(Location currentLocation) {
-        GameWorld.getPlayer().earnEcoPoints(hatchEarnings);
+        WorldContext.of(currentLocation.map()).getPlayer().earnEcoPoints(hatchEarnings);
         currentLocation.addActor(babyDinosaur);
         currentLocation.removeItem(this);
+        EventBus.of(currentLocation.map())
+                .publish(new EggHatched(babyDinosaur, currentLocation.x(), currentLocation.y()));
+    }
+
+    /**
+     * Writes the name, hatching details and age of the Egg, and the Dinosaur inside it.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        out.writeString(name);
+        out.writeInt(turnsToHatch);
+        out.writeInt(hatchEarnings);
+        out.writeObject(babyDinosaur);
+        out.writeInt(age);
     }
+
+    /**
+     * Reads back the state written by writeState().
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        name = in.readString();
+        turnsToHatch = in.readInt();
+        hatchEarnings = in.readInt();
+        babyDinosaur = in.readObject(Dinosaur.class);
+        age = in.readInt();
+    }
+
 }
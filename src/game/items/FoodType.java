@@ -0,0 +1,35 @@
+package game.items;
+
+
+/**
+ * The types of ConsumableItems, used to look up what they are worth to each species of Dinosaur.
+ * Each type has a bit of its own, so that a set of types fits in an int.
+ *
+ * @author Ci Leong Ong
+ */
+public enum FoodType {
+
+    FRUIT,
+
+    FISH,
+
+    EGG,
+
+    CORPSE,
+
+    VEGETARIAN_MEAL_KIT,
+
+    CARNIVORE_MEAL_KIT,
+
+    WATER_BOTTLE;
+
+    /**
+     * Returns the bit of this type in a set of types.
+     *
+     * @return The bit, 1 shifted left by the ordinal of the type
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+}
@@ -1,8 +1,9 @@
 package game.items;
 
 import edu.monash.fit2099.engine.Location;
-import game.dinosaurs.Brachiosaur;
-import game.dinosaurs.Stegosaur;
+import game.SnapshotInput;
+import game.SnapshotOutput;
+import game.Snapshottable;
 
 
 /**
@@ -11,7 +12,12 @@ import game.dinosaurs.Stegosaur;
  *
  * @author Ci Leong Ong
  */
-public class Fruit extends ConsumableItem {
+public class Fruit extends ConsumableItem implements TimedItem, Snapshottable {
+
+    /**
+     * Number of turns the Fruit lies on the Ground before it rots away.
+     */
+    private static final int TURNS_TO_ROT = 15;
 
     /**
      * Number of turns the Fruit has been on the Ground
@@ -22,39 +28,59 @@ public class Fruit extends ConsumableItem {
      * Constructor
      */
     public Fruit() {
-        super("Fruit", 'F', true);
+        super("Fruit", 'F', true, FoodType.FRUIT);
         age = 0;
     }
 
     /**
-     * Defines the healing points for Stegosaurs, in tuple form.
-     * Heals food points by 20, and heals 0 water points.
+     * The Fruit is due when it has lain on the Ground for 15 turns.
+     *
+     * @return The number of turns until the Fruit rots away, counting this one, or 0 if it never does
      */
     @Override
-    public int[] visit(Stegosaur stegosaur) {
-        return new int[] {20, 0};
+    public int turnsUntilDue() {
+        return age < TURNS_TO_ROT ? TURNS_TO_ROT - age : 0;
     }
 
     /**
-     * Defines the healing points for Brachiosaurs, in tuple form.
-     * Heals food points by 20, and heals 0 water points.
+     * Increments the age of the Fruit by the turns it has lain on the Ground.
+     *
+     * @param turns Number of turns spent on the Ground
      */
     @Override
-    public int[] visit(Brachiosaur brachiosaur) {
-        return new int[] {20, 0};
+    public void lieFor(int turns) {
+        age += turns;
     }
 
     /**
-     * Increments the age of the Fruit every turn,
-     * once it hits 15 turns, the Fruit will rot away.
+     * Once the Fruit hits 15 turns, the Fruit will rot away.
      *
      * @param currentLocation The location of the ground on which the Fruit lies.
      */
     @Override
-    public void tick(Location currentLocation) {
-        age++;
-        if (age == 15)
+    public void due(Location currentLocation) {
+        if (age == TURNS_TO_ROT)
             currentLocation.removeItem(this);
     }
 
+    /**
+     * Writes the age of the Fruit.
+     *
+     * @param out Where to write the state
+     */
+    @Override
+    public void writeState(SnapshotOutput out) {
+        out.writeInt(age);
+    }
+
+    /**
+     * Reads back the age of the Fruit.
+     *
+     * @param in Where to read the state from
+     */
+    @Override
+    public void readState(SnapshotInput in) {
+        age = in.readInt();
+    }
+
 }
@@ -14,9 +14,10 @@ public abstract class MealKit extends ConsumableItem {
      *
      * @param name        A descriptive name of the MealKit
      * @param displayChar The character that will be used to display it
+     * @param foodType    The type of food the MealKit is
      */
-    public MealKit(String name, char displayChar) {
-        super(name, displayChar, true);
+    public MealKit(String name, char displayChar, FoodType foodType) {
+        super(name, displayChar, true, foodType);
     }
 
 }
@@ -0,0 +1,42 @@
+package game.items;
+
+import edu.monash.fit2099.engine.Location;
+
+
+/**
+ * An Item that only changes at set times while it lies on the ground,
+ * such as an Egg hatching, instead of doing something every turn.
+ *
+ * Timed Items are not ticked. The ItemTimers of the map wake them up on the turn they are due,
+ * and tell them how many turns they have spent on the ground in the meantime.
+ *
+ * @author Ci Leong Ong
+ */
+public interface TimedItem {
+
+    /**
+     * Returns the number of turns the Item has to lie on the ground until it is due,
+     * counting the turn it is on now.
+     *
+     * @return 1 if the Item is due at the end of this turn, more if later, or 0 if it is never due
+     */
+    int turnsUntilDue();
+
+    /**
+     * Lets the Item know it has spent a number of turns on the ground,
+     * as it would have noticed if ticked every turn.
+     *
+     * @param turns Number of turns spent on the ground since it was last told
+     */
+    void lieFor(int turns);
+
+    /**
+     * Called at the end of the turn the Item is due, after lieFor().
+     * The Item may leave its Location. If it stays, it is woken up again
+     * after turnsUntilDue() more turns.
+     *
+     * @param currentLocation The Location the Item lies on
+     */
+    void due(Location currentLocation);
+
+}
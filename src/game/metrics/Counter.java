@@ -0,0 +1,36 @@
+package game.metrics;
+
+
+/**
+ * The things counted by the Metrics of a world.
+ *
+ * @author Ci Leong Ong
+ */
+public enum Counter {
+
+    /**
+     * Actors that have played a turn.
+     */
+    ACTOR_TURNS,
+
+    /**
+     * Actions created for Actors to choose from, and chosen by them.
+     */
+    ACTIONS,
+
+    /**
+     * Locations expanded by the Breadth First Searches of GameLocations.
+     */
+    BFS_NODES,
+
+    /**
+     * Locations expanded by the A* searches of PathFinders.
+     */
+    PATH_NODES,
+
+    /**
+     * Locations ticked. Those with nothing to do this turn are skipped.
+     */
+    CELLS_TICKED
+
+}
@@ -0,0 +1,83 @@
+package game.metrics;
+
+import game.events.TurnProfiled;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+
+/**
+ * Writes a row of comma separated values for every profiled turn:
+ * the turn, the time spent in and number of timings of every Phase, then every Counter.
+ *
+ * @author Ci Leong Ong
+ */
+public class MetricsCsv implements Consumer<TurnProfiled>, Closeable {
+
+    /**
+     * Where the rows are written.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor. Creates the file, or empties it if it exists, and writes the header row.
+     *
+     * @param file The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public MetricsCsv(Path file) throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        StringBuilder header = new StringBuilder("turn");
+        for (Phase phase : Phase.values()) {
+            String name = phase.name().toLowerCase(Locale.ROOT);
+            header.append(',').append(name).append("_ns,").append(name).append("_count");
+        }
+        for (Counter counter : Counter.values())
+            header.append(',').append(counter.name().toLowerCase(Locale.ROOT));
+        writer.write(header.toString());
+        writer.newLine();
+    }
+
+    /**
+     * Writes the row of a turn.
+     *
+     * @param turn The profiled turn
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void accept(TurnProfiled turn) {
+        StringBuilder row = new StringBuilder().append(turn.turn());
+        for (Phase phase : Phase.values())
+            row.append(',').append(turn.phaseNanos()[phase.ordinal()]).append(',').append(turn.phaseCounts()[phase.ordinal()]);
+        for (Counter counter : Counter.values())
+            row.append(',').append(turn.count(counter));
+        try {
+            writer.write(row.toString());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out the buffered rows and closes the file.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package game.metrics;
+
+import java.util.Map;
+
+
+/**
+ * The Metrics of a world, as seen through JMX, so that a long simulation can be watched live.
+ * Durations are in microseconds. Phases are keyed by name, and single Behaviours
+ * by "BEHAVIOUR:" followed by the name of their class.
+ *
+ * @author Ci Leong Ong
+ */
+public interface MetricsMXBean {
+
+    /**
+     * @return true if the world is being profiled
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts or stops profiling the world.
+     *
+     * @param enabled true to profile the world
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return The number of turns profiled so far
+     */
+    int getTurnsProfiled();
+
+    /**
+     * @return The total of each Counter, keyed by name
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return The number of times each Phase was timed
+     */
+    Map<String, Long> getTimings();
+
+    /**
+     * @return The mean duration of each Phase
+     */
+    Map<String, Double> getMeanMicros();
+
+    /**
+     * @return The median duration of each Phase
+     */
+    Map<String, Double> getP50Micros();
+
+    /**
+     * @return The 99th percentile duration of each Phase
+     */
+    Map<String, Double> getP99Micros();
+
+    /**
+     * @return The longest duration of each Phase
+     */
+    Map<String, Double> getMaxMicros();
+
+    /**
+     * Forgets everything measured so far.
+     */
+    void reset();
+
+}
@@ -0,0 +1,47 @@
+package game.metrics;
+
+
+/**
+ * The parts of a turn that are timed by the Metrics of a world.
+ *
+ * @author Ci Leong Ong
+ */
+public enum Phase {
+
+    /**
+     * Drawing the Player's map.
+     */
+    DRAW,
+
+    /**
+     * Processing the turn of a single Actor, including its Behaviours,
+     * unless the Dinosaurs decide in parallel.
+     */
+    ACTOR_TURN,
+
+    /**
+     * All the Dinosaurs deciding on their Actions in parallel, as a whole.
+     */
+    DECIDE,
+
+    /**
+     * A single Behaviour of a Dinosaur deciding on an Action.
+     */
+    BEHAVIOUR,
+
+    /**
+     * Ticking a whole map, including its Grounds and Items.
+     */
+    MAP_TICK,
+
+    /**
+     * Ticking the Ground of a single Location.
+     */
+    GROUND_TICK,
+
+    /**
+     * Handing out rain to the water bodies and Dinosaurs it falls on.
+     */
+    RAIN
+
+}
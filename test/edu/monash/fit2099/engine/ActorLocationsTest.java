@@ -0,0 +1,192 @@
+package edu.monash.fit2099.engine;
+
+import game.items.Corpse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * Tests for the spatial index of ActorLocations, checking its answers against looking at every Actor.
+ *
+ * @author Ci Leong Ong
+ */
+class ActorLocationsTest {
+
+	/**
+	 * An Actor that does nothing, as only where it stands matters.
+	 */
+	private static class Standing extends Actor {
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name the name of the Actor
+		 */
+		Standing(String name) {
+			super(name, 'a', 10);
+		}
+
+		@Override
+		public Action playTurn(Actions actions, Action lastAction, GameMap map, Display display) {
+			return new DoNothingAction();
+		}
+
+		@Override
+		public Corpse getCorpse() {
+			return null;
+		}
+	}
+
+	/**
+	 * Ground every Actor can stand on, shared by every Location.
+	 */
+	private static class Open extends Ground {
+
+		/**
+		 * Constructor.
+		 */
+		Open() {
+			super('.');
+		}
+
+		@Override
+		public boolean isStateless() {
+			return true;
+		}
+	}
+
+	/**
+	 * Builds an empty map, wider and taller than a bucket but not a whole number of them.
+	 *
+	 * @return the map
+	 */
+	private static GameMap newMap() {
+		return new GameMap(new FancyGroundFactory(new Open()), '.', 43, 21);
+	}
+
+	/**
+	 * Returns the number of steps between two Locations of the same map.
+	 *
+	 * @param a a Location
+	 * @param b another Location
+	 * @return max(|dx|, |dy|) between a and b
+	 */
+	private static int distanceBetween(Location a, Location b) {
+		return Math.max(Math.abs(a.x() - b.x()), Math.abs(a.y() - b.y()));
+	}
+
+	@Test
+	void findsTheNearestActorInAnotherBucket() {
+		GameMap map = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		Actor far = new Standing("far");
+		Actor near = new Standing("near");
+		actorLocations.add(far, map.at(20, 3));
+		actorLocations.add(near, map.at(12, 12));
+
+		Assertions.assertSame(near, actorLocations.nearestActor(map.at(3, 3), actor -> true, 100));
+		Assertions.assertSame(far, actorLocations.nearestActor(map.at(3, 3), actor -> actor != near, 100));
+	}
+
+	@Test
+	void onlyFindsActorsWithinRange() {
+		GameMap map = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		Actor actor = new Standing("actor");
+		actorLocations.add(actor, map.at(12, 12));
+
+		Assertions.assertNull(actorLocations.nearestActor(map.at(3, 3), other -> true, 8));
+		Assertions.assertSame(actor, actorLocations.nearestActor(map.at(3, 3), other -> true, 9));
+		Assertions.assertSame(actor, actorLocations.nearestActor(map.at(12, 12), other -> true, 0));
+	}
+
+	@Test
+	void findsTheActorsWithinARadius() {
+		GameMap map = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		Actor centre = new Standing("centre");
+		Actor corner = new Standing("corner");
+		Actor outside = new Standing("outside");
+		actorLocations.add(centre, map.at(8, 8));
+		actorLocations.add(corner, map.at(6, 10));
+		actorLocations.add(outside, map.at(11, 8));
+
+		Assertions.assertEquals(Set.of(centre, corner), new HashSet<>(actorLocations.actorsWithin(map.at(8, 8), 2)));
+		Assertions.assertEquals(List.of(centre), actorLocations.actorsWithin(map.at(8, 8), 0));
+		Assertions.assertEquals(List.of(), actorLocations.actorsWithin(map.at(8, 8), -1));
+	}
+
+	@Test
+	void followsActorsMovingBetweenBuckets() {
+		GameMap map = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		Actor actor = new Standing("actor");
+		actorLocations.add(actor, map.at(7, 7));
+		actorLocations.move(actor, map.at(8, 8));
+
+		Assertions.assertEquals(List.of(actor), actorLocations.actorsWithin(map.at(9, 9), 1));
+		Assertions.assertEquals(List.of(), actorLocations.actorsWithin(map.at(6, 6), 1));
+
+		actorLocations.remove(actor);
+		Assertions.assertNull(actorLocations.nearestActor(map.at(8, 8), other -> true, 100));
+		Assertions.assertEquals(List.of(), actorLocations.actorsWithin(map.at(8, 8), 100));
+	}
+
+	@Test
+	void ignoresActorsOnOtherMaps() {
+		GameMap map = newMap();
+		GameMap otherMap = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		actorLocations.add(new Standing("elsewhere"), otherMap.at(5, 5));
+
+		Assertions.assertNull(actorLocations.nearestActor(map.at(5, 5), actor -> true, 100));
+		Assertions.assertEquals(List.of(), actorLocations.actorsWithin(map.at(5, 5), 100));
+	}
+
+	@Test
+	void agreesWithLookingAtEveryActor() {
+		GameMap map = newMap();
+		ActorLocations actorLocations = new ActorLocations();
+		Random random = new Random(2099);
+		List<Actor> actors = new ArrayList<>();
+		while (actors.size() < 40) {
+			Location location = map.at(random.nextInt(43), random.nextInt(21));
+			if (!actorLocations.isAnActorAt(location)) {
+				Actor actor = new Standing("actor " + actors.size());
+				actorLocations.add(actor, location);
+				actors.add(actor);
+			}
+		}
+
+		for (int query = 0; query < 500; query++) {
+			Location here = map.at(random.nextInt(43), random.nextInt(21));
+			int range = random.nextInt(30);
+			boolean evenOnly = random.nextBoolean();
+
+			int nearestDistance = Integer.MAX_VALUE;
+			Set<Actor> within = new HashSet<>();
+			for (int i = 0; i < actors.size(); i++) {
+				int distance = distanceBetween(here, actorLocations.locationOf(actors.get(i)));
+				if (distance <= range)
+					within.add(actors.get(i));
+				if (distance <= range && (!evenOnly || i % 2 == 0))
+					nearestDistance = Math.min(nearestDistance, distance);
+			}
+
+			Actor nearest = actorLocations.nearestActor(here,
+					actor -> !evenOnly || actors.indexOf(actor) % 2 == 0, range);
+			if (nearestDistance == Integer.MAX_VALUE)
+				Assertions.assertNull(nearest, "Query " + query);
+			else
+				Assertions.assertEquals(nearestDistance, distanceBetween(here, actorLocations.locationOf(nearest)), "Query " + query);
+			Assertions.assertEquals(within, new HashSet<>(actorLocations.actorsWithin(here, range)), "Query " + query);
+		}
+	}
+
+}
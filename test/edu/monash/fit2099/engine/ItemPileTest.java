@@ -0,0 +1,157 @@
+package edu.monash.fit2099.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+/**
+ * Tests for ItemPile, in particular that its buckets of Items of each class stay in step with the pile.
+ *
+ * @author Ci Leong Ong
+ */
+class ItemPileTest {
+
+	/**
+	 * An Item of no interest but its class.
+	 */
+	private static class Stone extends Item {
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name the name of the Stone
+		 */
+		Stone(String name) {
+			super(name, 's', true);
+		}
+	}
+
+	/**
+	 * A subclass of Stone, which is counted apart from the Stones.
+	 */
+	private static class Pebble extends Stone {
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name the name of the Pebble
+		 */
+		Pebble(String name) {
+			super(name);
+		}
+	}
+
+	/**
+	 * Ground for the Items to lie on, shared by every Location.
+	 */
+	private static class Open extends Ground {
+
+		/**
+		 * Constructor.
+		 */
+		Open() {
+			super('.');
+		}
+
+		@Override
+		public boolean isStateless() {
+			return true;
+		}
+	}
+
+	@Test
+	void keepsItemsInTheOrderTheyWerePutDown() {
+		Item first = new Stone("first");
+		Item second = new Pebble("second");
+		Item third = new Stone("third");
+		ItemPile pile = new ItemPile(List.of(first, second, third));
+
+		Assertions.assertEquals(List.of(first, second, third), pile);
+		Assertions.assertSame(third, pile.top());
+		Assertions.assertEquals(3, pile.size());
+	}
+
+	@Test
+	void countsTheItemsOfExactlyAClass() {
+		Stone stone = new Stone("stone");
+		Pebble pebble = new Pebble("pebble");
+		ItemPile pile = new ItemPile();
+		pile.put(pebble);
+		pile.put(stone);
+		pile.put(new Stone("another stone"));
+
+		Assertions.assertEquals(2, pile.count(Stone.class));
+		Assertions.assertEquals(1, pile.count(Pebble.class));
+		Assertions.assertEquals(0, pile.count(Item.class));
+		Assertions.assertSame(stone, pile.first(Stone.class));
+		Assertions.assertSame(pebble, pile.first(Pebble.class));
+		Assertions.assertNull(pile.first(Item.class));
+	}
+
+	@Test
+	void onlyContainsTheItemsPutDown() {
+		Stone stone = new Stone("stone");
+		ItemPile pile = new ItemPile();
+		pile.put(stone);
+
+		Assertions.assertTrue(pile.contains(stone));
+		Assertions.assertFalse(pile.contains(new Stone("stone")));
+		Assertions.assertFalse(pile.contains(new Pebble("pebble")));
+		Assertions.assertFalse(pile.contains("stone"));
+	}
+
+	@Test
+	void showsTheItemPutDownLastOnTopOfWhatIsLeft() {
+		Item first = new Stone("first");
+		Item second = new Pebble("second");
+		Item third = new Stone("third");
+		ItemPile pile = new ItemPile(List.of(first, second, third));
+
+		Assertions.assertTrue(pile.take(second));
+		Assertions.assertSame(third, pile.top());
+		Assertions.assertTrue(pile.take(third));
+		Assertions.assertSame(first, pile.top());
+		Assertions.assertEquals(List.of(first), pile);
+		Assertions.assertTrue(pile.take(first));
+		Assertions.assertNull(pile.top());
+		Assertions.assertTrue(pile.isEmpty());
+	}
+
+	@Test
+	void forgetsTheItemsTakenOut() {
+		Stone stone = new Stone("stone");
+		Pebble pebble = new Pebble("pebble");
+		ItemPile pile = new ItemPile(List.of(stone, pebble));
+
+		Assertions.assertFalse(pile.take(new Stone("stone")));
+		Assertions.assertTrue(pile.take(pebble));
+		Assertions.assertFalse(pile.take(pebble));
+
+		Assertions.assertFalse(pile.contains(pebble));
+		Assertions.assertEquals(0, pile.count(Pebble.class));
+		Assertions.assertNull(pile.first(Pebble.class));
+		Assertions.assertEquals(List.of(stone), pile);
+	}
+
+	@Test
+	void isTheItemsOfALocation() {
+		GameMap map = new GameMap(new FancyGroundFactory(new Open()), List.of("..."));
+		Location location = map.at(1, 0);
+		Stone stone = new Stone("stone");
+		Pebble pebble = new Pebble("pebble");
+
+		Assertions.assertTrue(location.getItems().isEmpty());
+		location.addItem(stone);
+		location.addItem(pebble);
+		Assertions.assertEquals(List.of(stone, pebble), location.getItems());
+		Assertions.assertSame(pebble, location.getItems().top());
+
+		location.removeItem(stone);
+		Assertions.assertEquals(List.of(pebble), location.getItems());
+		Assertions.assertEquals(0, location.getItems().count(Stone.class));
+		Assertions.assertTrue(map.at(0, 0).getItems().isEmpty());
+	}
+
+}
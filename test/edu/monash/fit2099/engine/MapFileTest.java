@@ -0,0 +1,163 @@
+package edu.monash.fit2099.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests for reading map files, in particular how rows are found and which files are rejected.
+ *
+ * @author Ci Leong Ong
+ */
+class MapFileTest {
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Ground shared by every Location showing it, so the maps can be compared character by character.
+	 */
+	private static class Marked extends Ground {
+
+		/**
+		 * Constructor.
+		 *
+		 * @param displayChar the character of the Ground
+		 */
+		Marked(char displayChar) {
+			super(displayChar);
+		}
+
+		@Override
+		public boolean isStateless() {
+			return true;
+		}
+	}
+
+	/**
+	 * Writes a map file.
+	 *
+	 * @param contents the contents of the file
+	 * @return the file
+	 * @throws IOException if the file cannot be written
+	 */
+	private Path write(String contents) throws IOException {
+		Path file = directory.resolve("map.txt");
+		Files.write(file, contents.getBytes(StandardCharsets.ISO_8859_1));
+		return file;
+	}
+
+	/**
+	 * Reads every row of a map file back into Strings.
+	 *
+	 * @param mapFile the map file
+	 * @return the rows
+	 */
+	private static List<String> rowsOf(MapFile mapFile) {
+		List<String> rows = new ArrayList<>();
+		for (int y = 0; y < mapFile.height(); y++) {
+			StringBuilder row = new StringBuilder();
+			for (int x = 0; x < mapFile.width(); x++)
+				row.append(mapFile.charAt(x, y));
+			rows.add(row.toString());
+		}
+		return rows;
+	}
+
+	@Test
+	void readsRowsEndingInEitherLineTerminator() throws IOException {
+		MapFile mapFile = MapFile.open(write("..#\r\n#..\n.#.\n"));
+
+		Assertions.assertEquals(3, mapFile.width());
+		Assertions.assertEquals(List.of("..#", "#..", ".#."), rowsOf(mapFile));
+	}
+
+	@Test
+	void readsALastRowWithoutALineTerminator() throws IOException {
+		MapFile mapFile = MapFile.open(write("..#\n#.."));
+
+		Assertions.assertEquals(List.of("..#", "#.."), rowsOf(mapFile));
+	}
+
+	@Test
+	void findsRowsAcrossTheChunksScanned() throws IOException {
+		StringBuilder contents = new StringBuilder();
+		List<String> rows = new ArrayList<>();
+		for (int y = 0; y < 150; y++) {
+			StringBuilder row = new StringBuilder();
+			for (int x = 0; x < 997; x++)
+				row.append((x * 7 + y) % 5 == 0 ? '#' : '.');
+			rows.add(row.toString());
+			contents.append(row).append(y % 2 == 0 ? "\n" : "\r\n");
+		}
+		MapFile mapFile = MapFile.open(write(contents.toString()));
+
+		Assertions.assertEquals(997, mapFile.width());
+		Assertions.assertEquals(rows, rowsOf(mapFile));
+	}
+
+	@Test
+	void rejectsRowsOfDifferentWidths() throws IOException {
+		Path file = write("...\n...\n....\n...\n");
+
+		IOException exception = Assertions.assertThrows(IOException.class, () -> MapFile.open(file));
+		Assertions.assertTrue(exception.getMessage().contains("row 2 is 4 characters wide, but row 0 is 3"),
+				exception.getMessage());
+	}
+
+	@Test
+	void rejectsAShortLastRow() throws IOException {
+		Path file = write("...\r\n..");
+
+		Assertions.assertThrows(IOException.class, () -> MapFile.open(file));
+	}
+
+	@Test
+	void rejectsCharactersThatAreNotAscii() throws IOException {
+		Path file = write("...\n.\u00e9.\n");
+
+		IOException exception = Assertions.assertThrows(IOException.class, () -> MapFile.open(file));
+		Assertions.assertTrue(exception.getMessage().contains("row 1, column 1 is not ASCII"), exception.getMessage());
+	}
+
+	@Test
+	void rejectsEmptyFiles() throws IOException {
+		Path empty = write("");
+		Assertions.assertThrows(IOException.class, () -> MapFile.open(empty));
+
+		Path blank = write("\n\n");
+		Assertions.assertThrows(IOException.class, () -> MapFile.open(blank));
+	}
+
+	@Test
+	void buildsTheSameMapAsTheRowsOfTheFile() throws IOException {
+		// Large enough for the map to be filled in parallel stripes
+		List<String> rows = new ArrayList<>();
+		for (int y = 0; y < 520; y++) {
+			StringBuilder row = new StringBuilder();
+			for (int x = 0; x < 530; x++)
+				row.append((x * 3 + y * 5) % 11 == 0 ? '#' : '.');
+			rows.add(row.toString());
+		}
+		Path file = write(String.join("\n", rows));
+		GroundFactory groundFactory = new FancyGroundFactory(new Marked('.'), new Marked('#'));
+
+		GameMap fromFile = new GameMap(groundFactory, file.toString());
+		GameMap fromRows = new GameMap(groundFactory, rows);
+		Assertions.assertEquals(fromRows.getXRange().size(), fromFile.getXRange().size());
+		Assertions.assertEquals(fromRows.getYRange().size(), fromFile.getYRange().size());
+		for (int y : fromRows.getYRange()) {
+			for (int x : fromRows.getXRange())
+				Assertions.assertSame(fromRows.at(x, y).getGround(), fromFile.at(x, y).getGround());
+		}
+	}
+
+}
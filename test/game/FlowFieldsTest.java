@@ -0,0 +1,252 @@
+package game;
+
+import edu.monash.fit2099.engine.*;
+import game.dinosaurs.HungryBehaviour;
+import game.dinosaurs.Pterodactyl;
+import game.dinosaurs.Stegosaur;
+import game.grounds.*;
+import game.items.Corpse;
+import game.items.FoodType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+
+/**
+ * Tests for the DistanceFields kept by FlowFields, and for when they are recomputed.
+ *
+ * @author Ci Leong Ong
+ */
+class FlowFieldsTest {
+
+    /**
+     * Changes of no kind other than terrain, which every field depends on.
+     */
+    private static final Set<FlowFields.Change> TERRAIN_ONLY = EnumSet.noneOf(FlowFields.Change.class);
+
+    /**
+     * Builds a map in a world of its own. The initial Ground is not updated, so no Bush sprouts on the Dirt.
+     *
+     * @param lines The map
+     * @return The map
+     */
+    private static DinosaurMap newMap(String... lines) {
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, 2099);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+        DinosaurMap map = new DinosaurMap(groundFactory, Arrays.asList(lines));
+        world.addGameMap(map);
+        return map;
+    }
+
+    /**
+     * Returns a source of a field that counts how often it is asked whether a Location is a source.
+     *
+     * @param x       The x coordinate of the only source
+     * @param y       The y coordinate of the only source
+     * @param queries Counts the Locations asked about
+     * @return The source
+     */
+    private static Predicate<Location> countingSource(int x, int y, AtomicInteger queries) {
+        return location -> {
+            queries.incrementAndGet();
+            return location.x() == x && location.y() == y;
+        };
+    }
+
+    /**
+     * Gets the field of a resource, reporting whether it had to be recomputed.
+     *
+     * @param map          The map
+     * @param actor        The Actor using the field
+     * @param dependencies The changes the field depends on
+     * @return true if the field was recomputed, false if it was up to date
+     */
+    private static boolean recomputes(DinosaurMap map, Actor actor, Set<FlowFields.Change> dependencies) {
+        AtomicInteger queries = new AtomicInteger();
+        FlowFields.of(map).get("resource", actor, dependencies, countingSource(0, 0, queries));
+        return queries.get() > 0;
+    }
+
+    @Test
+    void countsStepsInEveryDirection() {
+        DinosaurMap map = newMap(".....", ".....", ".....", ".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        DistanceField field = FlowFields.of(map).get("resource", stegosaur, TERRAIN_ONLY,
+                location -> location.x() == 2 && location.y() == 2);
+
+        Assertions.assertEquals(0, field.distanceAt(map.at(2, 2)));
+        Assertions.assertEquals(1, field.distanceAt(map.at(1, 1)));
+        Assertions.assertEquals(2, field.distanceAt(map.at(0, 0)));
+        Assertions.assertEquals(2, field.distanceAt(map.at(4, 1)));
+        Assertions.assertEquals(2, field.distanceAt(map.at(2, 4)));
+    }
+
+    @Test
+    void givesBlockedLocationsADistanceWithoutGoingPastThem() {
+        DinosaurMap map = newMap(".#...", ".#...", ".#...");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        DistanceField field = FlowFields.of(map).get("resource", stegosaur, TERRAIN_ONLY,
+                location -> location.x() == 0 && location.y() == 1);
+
+        for (int y : map.getYRange()) {
+            Assertions.assertEquals(1, field.distanceAt(map.at(1, y)));
+            Assertions.assertEquals(DistanceField.UNREACHABLE, field.distanceAt(map.at(2, y)));
+            Assertions.assertEquals(DistanceField.UNREACHABLE, field.distanceAt(map.at(4, y)));
+        }
+    }
+
+    @Test
+    void neverUsesABlockedLocationAsASource() {
+        DinosaurMap map = newMap("..#..");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        DistanceField field = FlowFields.of(map).get("resource", stegosaur, TERRAIN_ONLY,
+                location -> location.x() == 2);
+
+        Assertions.assertEquals(DistanceField.UNREACHABLE, field.distanceAt(map.at(2, 0)));
+        Assertions.assertEquals(DistanceField.UNREACHABLE, field.distanceAt(map.at(0, 0)));
+    }
+
+    @Test
+    void keepsSeparateFieldsForWalkingAndFlyingActors() {
+        DinosaurMap map = newMap("..~..", "..~..", "..~..");
+        Actor walking = Stegosaur.getNewDino("adult", 'M');
+        Actor flying = Pterodactyl.getNewDino("adult", 'M');
+        flying.addCapability(ActorCapability.FLY);
+        Predicate<Location> isSource = location -> location.x() == 0 && location.y() == 1;
+
+        DistanceField walkingField = FlowFields.of(map).get("resource", walking, TERRAIN_ONLY, isSource);
+        DistanceField flyingField = FlowFields.of(map).get("resource", flying, TERRAIN_ONLY, isSource);
+
+        Assertions.assertNotSame(walkingField, flyingField);
+        Assertions.assertEquals(2, walkingField.distanceAt(map.at(2, 1)));
+        Assertions.assertEquals(DistanceField.UNREACHABLE, walkingField.distanceAt(map.at(4, 1)));
+        Assertions.assertEquals(4, flyingField.distanceAt(map.at(4, 1)));
+    }
+
+    @Test
+    void leadsDownhillUntilTheSource() {
+        DinosaurMap map = newMap(".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(4, 0).addActor(stegosaur);
+        DistanceField field = FlowFields.of(map).get("resource", stegosaur, TERRAIN_ONLY,
+                location -> location.x() == 0);
+
+        Exit exit = field.downhillExit(map.at(4, 0), stegosaur);
+        Assertions.assertEquals(map.at(3, 0), exit.getDestination());
+        Assertions.assertNull(field.downhillExit(map.at(0, 0), stegosaur));
+    }
+
+    @Test
+    void sharesAFieldUntilAChangeItDependsOn() {
+        DinosaurMap map = newMap(".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        Set<FlowFields.Change> items = EnumSet.of(FlowFields.Change.ITEMS);
+
+        Assertions.assertTrue(recomputes(map, stegosaur, items));
+        Assertions.assertFalse(recomputes(map, Stegosaur.getNewDino("adult", 'F'), items));
+
+        FlowFields.of(map).notifyChange(FlowFields.Change.WATER);
+        FlowFields.of(map).endTurn();
+        Assertions.assertFalse(recomputes(map, stegosaur, items));
+
+        FlowFields.of(map).notifyChange(FlowFields.Change.ITEMS);
+        Assertions.assertTrue(recomputes(map, stegosaur, items));
+        Assertions.assertFalse(recomputes(map, stegosaur, items));
+
+        FlowFields.of(map).notifyChange(FlowFields.Change.TERRAIN);
+        Assertions.assertTrue(recomputes(map, stegosaur, items));
+    }
+
+    @Test
+    void holdsProduceAndWaterChangesUntilTheEndOfTheTurn() {
+        DinosaurMap map = newMap(".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        Set<FlowFields.Change> produceAndWater = EnumSet.of(FlowFields.Change.PRODUCE, FlowFields.Change.WATER);
+        recomputes(map, stegosaur, produceAndWater);
+
+        FlowFields.of(map).notifyChange(FlowFields.Change.PRODUCE);
+        FlowFields.of(map).notifyChange(FlowFields.Change.PRODUCE);
+        Assertions.assertFalse(recomputes(map, stegosaur, produceAndWater));
+        FlowFields.of(map).endTurn();
+        Assertions.assertTrue(recomputes(map, stegosaur, produceAndWater));
+
+        FlowFields.of(map).endTurn();
+        Assertions.assertFalse(recomputes(map, stegosaur, produceAndWater));
+
+        FlowFields.of(map).notifyChange(FlowFields.Change.WATER);
+        FlowFields.of(map).endTurn();
+        Assertions.assertTrue(recomputes(map, stegosaur, produceAndWater));
+    }
+
+    @Test
+    void reportsItemsOnlyWhenTheFirstOrLastFoodOfATypeComesOrGoes() {
+        DinosaurMap map = newMap(".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        Set<FlowFields.Change> items = EnumSet.of(FlowFields.Change.ITEMS);
+        Location location = map.at(3, 1);
+        Item first = new Corpse("First", 20, 10);
+        Item second = new Corpse("Second", 20, 10);
+        recomputes(map, stegosaur, items);
+
+        location.addItem(first);
+        Assertions.assertTrue(recomputes(map, stegosaur, items));
+        location.addItem(second);
+        Assertions.assertFalse(recomputes(map, stegosaur, items));
+        location.removeItem(first);
+        Assertions.assertFalse(recomputes(map, stegosaur, items));
+        location.removeItem(second);
+        Assertions.assertTrue(recomputes(map, stegosaur, items));
+    }
+
+    @Test
+    void reportsTerrainWhenTheGroundIsReplacedButNotWhenABushSprouts() {
+        DinosaurMap map = newMap(".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        Set<FlowFields.Change> produce = EnumSet.of(FlowFields.Change.PRODUCE);
+        recomputes(map, stegosaur, produce);
+
+        ((GameLocation) map.at(2, 1)).growGround(new Bush());
+        FlowFields.of(map).endTurn();
+        Assertions.assertFalse(recomputes(map, stegosaur, produce));
+
+        map.at(2, 0).setGround(new Wall());
+        Assertions.assertTrue(recomputes(map, stegosaur, TERRAIN_ONLY));
+        Assertions.assertFalse(recomputes(map, stegosaur, TERRAIN_ONLY));
+    }
+
+    @Test
+    void passesFoodThatIsNotSafeToEatForFoodThatIs() {
+        DinosaurMap map = newMap("............", "............", "............");
+        Pterodactyl pterodactyl = Pterodactyl.getNewDino("adult", 'M');
+        map.at(4, 1).addActor(pterodactyl);
+        map.at(2, 1).addActor(Stegosaur.getNewDino("adult", 'M'));
+        map.at(3, 1).addItem(new Corpse("Guarded", 20, 10));
+        map.at(9, 1).addItem(new Corpse("Unguarded", 20, 10));
+
+        Action action = new HungryBehaviour().getAction(pterodactyl, map);
+        Assertions.assertNotNull(action);
+        action.execute(pterodactyl, map);
+        Assertions.assertEquals(5, map.locationOf(pterodactyl).x());
+    }
+
+    @Test
+    void waitsWhenNoFoodIsSafeToEat() {
+        DinosaurMap map = newMap("............", "............", "............");
+        Pterodactyl pterodactyl = Pterodactyl.getNewDino("adult", 'M');
+        map.at(4, 1).addActor(pterodactyl);
+        map.at(2, 1).addActor(Stegosaur.getNewDino("adult", 'M'));
+        map.at(3, 1).addItem(new Corpse("Guarded", 20, 10));
+
+        Assertions.assertNull(new HungryBehaviour().getAction(pterodactyl, map));
+        List<Location> sources = FoodIndex.of(map).foodSources(FoodType.CORPSE.bit());
+        Assertions.assertEquals(List.of(map.at(3, 1)), sources);
+    }
+
+}
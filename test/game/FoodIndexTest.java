@@ -0,0 +1,113 @@
+package game;
+
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import edu.monash.fit2099.engine.Item;
+import edu.monash.fit2099.engine.Location;
+import game.grounds.*;
+import game.items.Corpse;
+import game.items.FoodType;
+import game.items.Fruit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Tests for FoodIndex, in particular that it follows the food put down and picked up on each Location.
+ *
+ * @author Ci Leong Ong
+ */
+class FoodIndexTest {
+
+    /**
+     * Builds a map in a world of its own, with a Tree at (4, 1).
+     * The initial Ground is not updated, so no Bush sprouts on the Dirt.
+     *
+     * @return The map
+     */
+    private static DinosaurMap newMap() {
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, 2099);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+        DinosaurMap map = new DinosaurMap(groundFactory, Arrays.asList("......", "....+.", "......"));
+        world.addGameMap(map);
+        return map;
+    }
+
+    @Test
+    void knowsTheTypesOfFoodLyingOnEachLocation() {
+        DinosaurMap map = newMap();
+        map.at(1, 0).addItem(new Corpse("Stegosaur", 20, 10));
+        map.at(1, 0).addItem(new Fruit());
+        map.at(2, 2).addItem(new Fruit());
+
+        Assertions.assertEquals(FoodType.CORPSE.bit() | FoodType.FRUIT.bit(), FoodIndex.of(map).typesAt(map.at(1, 0)));
+        Assertions.assertEquals(FoodType.FRUIT.bit(), FoodIndex.of(map).typesAt(map.at(2, 2)));
+        Assertions.assertEquals(0, FoodIndex.of(map).typesAt(map.at(2, 0)));
+    }
+
+    @Test
+    void forgetsATypeOfFoodOnceTheLastOfItIsPickedUp() {
+        DinosaurMap map = newMap();
+        Location location = map.at(3, 2);
+        Item first = new Fruit();
+        Item second = new Fruit();
+        location.addItem(first);
+        location.addItem(second);
+        location.addItem(new Corpse("Stegosaur", 20, 10));
+
+        location.removeItem(first);
+        Assertions.assertEquals(FoodType.FRUIT.bit() | FoodType.CORPSE.bit(), FoodIndex.of(map).typesAt(location));
+        location.removeItem(second);
+        Assertions.assertEquals(FoodType.CORPSE.bit(), FoodIndex.of(map).typesAt(location));
+    }
+
+    @Test
+    void reportsOnlyTheFirstAndLastItemOfATypeOfFood() {
+        DinosaurMap map = newMap();
+        FoodIndex food = FoodIndex.of(map);
+        Location location = map.at(0, 1);
+        Item first = new Fruit();
+        Item second = new Fruit();
+        Item stone = new Item("Stone", 's', true) {};
+
+        Assertions.assertTrue(food.placed(location, first));
+        Assertions.assertFalse(food.placed(location, second));
+        Assertions.assertFalse(food.placed(location, stone));
+        Assertions.assertFalse(food.removed(location, first));
+        Assertions.assertFalse(food.removed(location, stone));
+        Assertions.assertTrue(food.removed(location, second));
+        Assertions.assertEquals(0, food.typesAt(location));
+    }
+
+    @Test
+    void listsTheLocationsWithFoodOfSomeTypesAndTheSearchableGrounds() {
+        DinosaurMap map = newMap();
+        map.at(5, 2).addItem(new Corpse("Stegosaur", 20, 10));
+        map.at(0, 2).addItem(new Fruit());
+        map.at(2, 0).addItem(new Corpse("Allosaur", 20, 10));
+        map.at(2, 0).addItem(new Fruit());
+
+        Assertions.assertEquals(List.of(map.at(2, 0), map.at(4, 1), map.at(5, 2)),
+                FoodIndex.of(map).foodSources(FoodType.CORPSE.bit()));
+        Assertions.assertEquals(List.of(map.at(2, 0), map.at(4, 1), map.at(0, 2), map.at(5, 2)),
+                FoodIndex.of(map).foodSources(FoodType.CORPSE.bit() | FoodType.FRUIT.bit()));
+        Assertions.assertEquals(List.of(map.at(4, 1)), FoodIndex.of(map).foodSources(FoodType.EGG.bit()));
+    }
+
+    @Test
+    void countsOnlyTheItemsGivenWhenReset() {
+        DinosaurMap map = newMap();
+        map.at(1, 1).addItem(new Fruit());
+        FoodIndex food = FoodIndex.of(map);
+
+        food.reset(Map.of(6 * 2 + 3, List.of(new Corpse("Stegosaur", 20, 10), new Fruit())));
+        Assertions.assertEquals(0, food.typesAt(map.at(1, 1)));
+        Assertions.assertEquals(FoodType.CORPSE.bit() | FoodType.FRUIT.bit(), food.typesAt(map.at(3, 2)));
+        Assertions.assertEquals(List.of(map.at(4, 1), map.at(3, 2)), food.foodSources(FoodType.FRUIT.bit()));
+    }
+
+}
@@ -0,0 +1,119 @@
+package game;
+
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import game.dinosaurs.Allosaur;
+import game.dinosaurs.Brachiosaur;
+import game.dinosaurs.Pterodactyl;
+import game.dinosaurs.Stegosaur;
+import game.grounds.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Tests that games whose Dinosaurs decide in parallel play out the same way whatever the number of threads.
+ *
+ * @author Ci Leong Ong
+ */
+class ParallelDecisionsTest {
+
+    /**
+     * Seed of every world built by the tests.
+     */
+    private static final long SEED = 2099;
+
+    /**
+     * Number of turns played by every game.
+     */
+    private static final int TURNS = 150;
+
+    /**
+     * The map of every world built by the tests.
+     */
+    private static final List<String> MAP = Arrays.asList(
+            "................................",
+            "....+++.........~~~.........+...",
+            "...+++.........~~~~~.......+++..",
+            "........##.......~~.............",
+            "........##...........~~.........",
+            ".....+..........+++..~~~........",
+            "....+++.........++..............",
+            "..........###...................",
+            "...+.............+++......~~....",
+            "..+++.............+.......~~~...",
+            "................................",
+            "................................");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds a world crowded with Dinosaurs of every species, so they often want the same Location, prey or partner.
+     *
+     * @return The world
+     */
+    private static GameWorld newWorld() {
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, SEED);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+        DinosaurMap map = new DinosaurMap(groundFactory, MAP);
+        world.addGameMap(map);
+        map.updateInitialGround();
+        world.addPlayer(new HeadlessPlayer("Player", '@', 100), map.at(0, 0));
+
+        for (int i = 0; i < 4; i++) {
+            char gender = i % 2 == 0 ? 'M' : 'F';
+            map.at(2 + i, 4).addActor(Stegosaur.getNewDino("adult", gender));
+            map.at(2 + i, 10).addActor(Stegosaur.getNewDino("adult", gender));
+            map.at(12 + i, 10).addActor(Brachiosaur.getNewDino("adult", gender));
+            map.at(12 + i, 3).addActor(Allosaur.getNewDino("adult", gender));
+            map.at(24 + i, 6).addActor(Pterodactyl.getNewDino("adult", gender));
+        }
+        return world;
+    }
+
+    /**
+     * Plays a game with the Dinosaurs deciding on a pool of threads.
+     *
+     * @param parallelism Number of threads in the pool
+     * @return The bytes of a snapshot of the world at the end of the game
+     * @throws IOException if the snapshot cannot be written or read
+     */
+    private byte[] play(int parallelism) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            GameWorld world = newWorld();
+            world.setDecisionPool(pool);
+            world.simulate(TURNS);
+            Assertions.assertEquals(TURNS, world.getTurns());
+
+            Path file = directory.resolve("parallelism-" + parallelism + ".snapshot");
+            world.saveSnapshot(file);
+            return Files.readAllBytes(file);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void playsOutTheSameWayWhateverTheNumberOfThreads() throws IOException {
+        byte[] oneThread = play(1);
+
+        for (int parallelism : new int[] {2, 4, 8})
+            Assertions.assertArrayEquals(oneThread, play(parallelism), parallelism + " threads");
+    }
+
+    @Test
+    void playsOutTheSameWayEveryTime() throws IOException {
+        Assertions.assertArrayEquals(play(4), play(4));
+    }
+
+}
@@ -0,0 +1,183 @@
+package game;
+
+import edu.monash.fit2099.engine.Actor;
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import edu.monash.fit2099.engine.Location;
+import game.dinosaurs.Stegosaur;
+import game.grounds.*;
+import game.metrics.Counter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+
+/**
+ * Tests for PathFinder, in particular the paths it finds and when it searches for them again.
+ *
+ * @author Ci Leong Ong
+ */
+class PathFinderTest {
+
+    /**
+     * Most steps taken when walking to a goal, so a PathFinder going round in circles fails instead of hanging.
+     */
+    private static final int MAX_STEPS = 100;
+
+    /**
+     * Builds a map in a world of its own, with the Metrics enabled to count the Locations searched.
+     * The initial Ground is not updated, so no Bush sprouts on the Dirt.
+     *
+     * @param lines The map
+     * @return The map
+     */
+    private static DinosaurMap newMap(String... lines) {
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, 2099);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+        DinosaurMap map = new DinosaurMap(groundFactory, Arrays.asList(lines));
+        world.addGameMap(map);
+        Metrics.of(map).setEnabled(true);
+        return map;
+    }
+
+    /**
+     * Returns the number of Locations searched so far on a map.
+     *
+     * @param map The map
+     * @return The number of Locations expanded by every search
+     */
+    private static long searched(DinosaurMap map) {
+        return Metrics.of(map).getCount(Counter.PATH_NODES);
+    }
+
+    /**
+     * Moves an Actor along the steps given by a PathFinder until it gives none.
+     *
+     * @param pathFinder The PathFinder
+     * @param actor      The Actor
+     * @param map        The map of the Actor
+     * @param goal       The Location to get to
+     * @return The number of steps taken
+     */
+    private static int walk(PathFinder pathFinder, Actor actor, DinosaurMap map, Location goal) {
+        int steps = 0;
+        for (Location next = pathFinder.nextStep(actor, map.locationOf(actor), goal); next != null;
+             next = pathFinder.nextStep(actor, map.locationOf(actor), goal)) {
+            Assertions.assertTrue(next.canActorEnter(actor), "Stepped into " + next.x() + ", " + next.y());
+            map.moveActor(actor, next);
+            Assertions.assertTrue(++steps <= MAX_STEPS, "Still walking after " + MAX_STEPS + " steps");
+        }
+        return steps;
+    }
+
+    @Test
+    void findsTheShortestPathAroundAWall() {
+        DinosaurMap map = newMap(
+                "....#....",
+                "....#....",
+                "....#....",
+                "....#....",
+                "....#....",
+                "....#....",
+                ".........");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(3, 3).addActor(stegosaur);
+
+        Assertions.assertEquals(6, walk(new PathFinder(), stegosaur, map, map.at(5, 3)));
+        Assertions.assertEquals(map.at(5, 3), map.locationOf(stegosaur));
+    }
+
+    @Test
+    void goesAroundActorsNextToIt() {
+        DinosaurMap map = newMap(".....", ".....", ".....");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 1).addActor(stegosaur);
+        map.at(1, 1).addActor(Stegosaur.getNewDino("adult", 'F'));
+
+        Location next = new PathFinder().nextStep(stegosaur, map.at(0, 1), map.at(4, 1));
+        Assertions.assertEquals(1, next.x());
+        Assertions.assertNotEquals(map.at(1, 1), next);
+    }
+
+    @Test
+    void stopsNextToAGoalItCannotEnter() {
+        DinosaurMap map = newMap("..........", "..........");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 0).addActor(stegosaur);
+        map.at(8, 1).addActor(Stegosaur.getNewDino("adult", 'F'));
+
+        Assertions.assertEquals(7, walk(new PathFinder(), stegosaur, map, map.at(8, 1)));
+        Assertions.assertEquals(7, map.locationOf(stegosaur).x());
+    }
+
+    @Test
+    void followsItsPathWithoutSearchingAgain() {
+        DinosaurMap map = newMap("....#.....", "....#.....", "..........");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 0).addActor(stegosaur);
+        PathFinder pathFinder = new PathFinder();
+        Location goal = map.at(9, 0);
+
+        map.moveActor(stegosaur, pathFinder.nextStep(stegosaur, map.at(0, 0), goal));
+        long searchedOnce = searched(map);
+        Assertions.assertTrue(searchedOnce > 0);
+
+        walk(pathFinder, stegosaur, map, goal);
+        Assertions.assertEquals(goal, map.locationOf(stegosaur));
+        Assertions.assertEquals(searchedOnce, searched(map));
+    }
+
+    @Test
+    void extendsThePathWhenTheGoalMovesOneStep() {
+        DinosaurMap map = newMap("....................", "....................", "....................");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 1).addActor(stegosaur);
+        PathFinder pathFinder = new PathFinder();
+
+        map.moveActor(stegosaur, pathFinder.nextStep(stegosaur, map.at(0, 1), map.at(10, 1)));
+        long searchedOnce = searched(map);
+
+        Assertions.assertEquals(10, walk(pathFinder, stegosaur, map, map.at(11, 2)));
+        Assertions.assertEquals(map.at(11, 2), map.locationOf(stegosaur));
+        Assertions.assertEquals(searchedOnce, searched(map));
+    }
+
+    @Test
+    void searchesAgainWhenTheGoalJumps() {
+        DinosaurMap map = newMap("....................", "....................", "....................");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 0).addActor(stegosaur);
+        PathFinder pathFinder = new PathFinder();
+
+        map.moveActor(stegosaur, pathFinder.nextStep(stegosaur, map.at(0, 0), map.at(10, 0)));
+        long searchedOnce = searched(map);
+
+        Assertions.assertEquals(9, walk(pathFinder, stegosaur, map, map.at(10, 2)));
+        Assertions.assertTrue(searched(map) > searchedOnce);
+    }
+
+    @Test
+    void remembersGoalsItCannotReachUntilTheActorMoves() {
+        DinosaurMap map = newMap(
+                ".......###",
+                ".......#.#",
+                ".......###");
+        Actor stegosaur = Stegosaur.getNewDino("adult", 'M');
+        map.at(0, 1).addActor(stegosaur);
+        PathFinder pathFinder = new PathFinder();
+        Location goal = map.at(8, 1);
+
+        Assertions.assertNull(pathFinder.nextStep(stegosaur, map.at(0, 1), goal));
+        long searchedOnce = searched(map);
+        Assertions.assertTrue(searchedOnce > 0);
+
+        Assertions.assertNull(pathFinder.nextStep(stegosaur, map.at(0, 1), goal));
+        Assertions.assertEquals(searchedOnce, searched(map));
+
+        map.moveActor(stegosaur, map.at(1, 1));
+        Assertions.assertNull(pathFinder.nextStep(stegosaur, map.at(1, 1), goal));
+        Assertions.assertTrue(searched(map) > searchedOnce);
+    }
+
+}
@@ -0,0 +1,163 @@
+package game;
+
+import edu.monash.fit2099.engine.FancyGroundFactory;
+import game.dinosaurs.Allosaur;
+import game.dinosaurs.Brachiosaur;
+import game.dinosaurs.Pterodactyl;
+import game.dinosaurs.Stegosaur;
+import game.grounds.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Tests for saving the state of a GameWorld in a snapshot, restoring it, and comparing what follows.
+ *
+ * @author Ci Leong Ong
+ */
+class SnapshotTest {
+
+    /**
+     * Seed of every world built by the tests.
+     */
+    private static final long SEED = 2099;
+
+    /**
+     * The map of every world built by the tests.
+     */
+    private static final List<String> MAP = Arrays.asList(
+            "........................",
+            "....+++.........~~~.....",
+            "...+++.........~~~~~....",
+            "........##.......~~.....",
+            "........##..............",
+            ".....+..........+++.....",
+            "....+++.........++......",
+            "........................");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds a small world with a Dinosaur of each gender of every species.
+     *
+     * @param lines The map of the world
+     * @return The world
+     */
+    private static GameWorld newWorld(List<String> lines) {
+        GameWorld world = new GameWorld(new HeadlessDisplay(), null, null, SEED);
+        FancyGroundFactory groundFactory =
+                new FancyGroundFactory(new Dirt(), new Wall(), new Floor(), new Tree(), new Lake(), new VendingMachine());
+        DinosaurMap map = new DinosaurMap(groundFactory, lines);
+        world.addGameMap(map);
+        map.updateInitialGround();
+        world.addPlayer(new HeadlessPlayer("Player", '@', 100), map.at(0, 0));
+
+        map.at(2, 6).addActor(Stegosaur.getNewDino("adult", 'M'));
+        map.at(3, 7).addActor(Stegosaur.getNewDino("adult", 'F'));
+        map.at(6, 3).addActor(Brachiosaur.getNewDino("adult", 'M'));
+        map.at(7, 4).addActor(Brachiosaur.getNewDino("adult", 'F'));
+        map.at(12, 4).addActor(Allosaur.getNewDino("adult", 'M'));
+        map.at(13, 0).addActor(Allosaur.getNewDino("adult", 'F'));
+        map.at(20, 6).addActor(Pterodactyl.getNewDino("adult", 'M'));
+        map.at(21, 7).addActor(Pterodactyl.getNewDino("adult", 'F'));
+        return world;
+    }
+
+    /**
+     * Saves a snapshot of a world and reads it back.
+     *
+     * @param world The world
+     * @param name  Name of the file to save it in
+     * @return The bytes of the snapshot
+     * @throws IOException if the snapshot cannot be written or read
+     */
+    private byte[] save(GameWorld world, String name) throws IOException {
+        Path file = directory.resolve(name);
+        world.saveSnapshot(file);
+        return Files.readAllBytes(file);
+    }
+
+    @Test
+    void restoresTheStateSaved() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.simulate(30);
+        byte[] saved = save(world, "saved.snapshot");
+
+        world.simulate(20);
+        Assertions.assertFalse(Arrays.equals(saved, save(world, "later.snapshot")));
+
+        world.restoreSnapshot(directory.resolve("saved.snapshot"));
+        Assertions.assertEquals(30, world.getTurns());
+        Assertions.assertArrayEquals(saved, save(world, "restored.snapshot"));
+    }
+
+    @Test
+    void restoresIntoAnotherWorldBuiltTheSameWay() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.simulate(30);
+        byte[] saved = save(world, "saved.snapshot");
+
+        GameWorld other = newWorld(MAP);
+        other.restoreSnapshot(directory.resolve("saved.snapshot"));
+        Assertions.assertArrayEquals(saved, save(other, "restored.snapshot"));
+    }
+
+    @Test
+    void restoredWorldsPlayOutTheSameWay() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.simulate(30);
+        world.saveSnapshot(directory.resolve("saved.snapshot"));
+
+        GameWorld fork = newWorld(MAP);
+        fork.restoreSnapshot(directory.resolve("saved.snapshot"));
+        world.restoreSnapshot(directory.resolve("saved.snapshot"));
+        world.simulate(50);
+        fork.simulate(50);
+
+        Assertions.assertEquals(80, world.getTurns());
+        Assertions.assertArrayEquals(save(world, "world.snapshot"), save(fork, "fork.snapshot"));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.simulate(5);
+        byte[] before = save(world, "before.snapshot");
+        Path file = directory.resolve("not.snapshot");
+        Files.writeString(file, "Not a snapshot at all");
+
+        Assertions.assertThrows(IOException.class, () -> world.restoreSnapshot(file));
+        Assertions.assertArrayEquals(before, save(world, "after.snapshot"));
+    }
+
+    @Test
+    void rejectsSnapshotsOfADifferentMap() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.saveSnapshot(directory.resolve("saved.snapshot"));
+
+        List<String> widerMap = MAP.stream().map(line -> line + '.').collect(Collectors.toList());
+        GameWorld other = newWorld(widerMap);
+        Assertions.assertThrows(IOException.class, () -> other.restoreSnapshot(directory.resolve("saved.snapshot")));
+    }
+
+    @Test
+    void rejectsTruncatedSnapshots() throws IOException {
+        GameWorld world = newWorld(MAP);
+        world.simulate(10);
+        byte[] saved = save(world, "saved.snapshot");
+        Path file = directory.resolve("truncated.snapshot");
+        Files.write(file, Arrays.copyOf(saved, saved.length / 2));
+
+        Assertions.assertThrows(IOException.class, () -> world.restoreSnapshot(file));
+    }
+
+}
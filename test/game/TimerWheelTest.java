@@ -0,0 +1,143 @@
+package game;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests for TimerWheel, in particular timers moving down the levels and out of the overflow.
+ *
+ * @author Ci Leong Ong
+ */
+class TimerWheelTest {
+
+    /**
+     * First tick covered by the overflow, past the four levels of 64 slots.
+     */
+    private static final long OVERFLOW = 1L << 24;
+
+    /**
+     * Advances the wheel up to, but not including, a tick,
+     * checking every timer handed back is due on the tick just passed.
+     *
+     * @param wheel The wheel
+     * @param end   The tick to stop at
+     * @param <T>   The type of values scheduled
+     * @return The values handed back, in the order they were handed back
+     */
+    private static <T> List<T> advanceTo(TimerWheel<T> wheel, long end) {
+        List<T> values = new ArrayList<>();
+        while (wheel.now() < end) {
+            long tick = wheel.now();
+            for (TimerWheel.Timer<T> timer : wheel.advance()) {
+                Assertions.assertEquals(tick, timer.due(), "Timer of " + timer.value() + " handed back on the wrong tick");
+                values.add(timer.value());
+            }
+        }
+        return values;
+    }
+
+    @Test
+    void handsBackTimersOfTheFirstLevelOnTheirTick() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        wheel.schedule("zero", 0);
+        wheel.schedule("last", 63);
+
+        Assertions.assertEquals(List.of("zero"), advanceTo(wheel, 1));
+        Assertions.assertEquals(List.of(), advanceTo(wheel, 63));
+        Assertions.assertEquals(List.of("last"), advanceTo(wheel, 64));
+    }
+
+    @Test
+    void cascadesTimersDownEveryLevel() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        wheel.schedule("level 1", 64);
+        wheel.schedule("level 1 end", 64 * 64 - 1);
+        wheel.schedule("level 2", 64 * 64 + 3);
+        wheel.schedule("level 3", 64 * 64 * 64 + 5);
+        wheel.schedule("level 3 end", OVERFLOW - 1);
+
+        Assertions.assertEquals(List.of(), advanceTo(wheel, 64));
+        Assertions.assertEquals(List.of("level 1"), advanceTo(wheel, 65));
+        Assertions.assertEquals(List.of("level 1 end", "level 2"), advanceTo(wheel, 64 * 64 + 4));
+        Assertions.assertEquals(List.of("level 3"), advanceTo(wheel, 64 * 64 * 64 + 6));
+        Assertions.assertEquals(List.of("level 3 end"), advanceTo(wheel, OVERFLOW));
+        Assertions.assertTrue(wheel.waiting().isEmpty());
+    }
+
+    @Test
+    void placesTimersRelativeToTheCurrentTick() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        advanceTo(wheel, 60);
+        // Crosses into the next run of 64 ticks, so is put on the second level
+        wheel.schedule("next run", 70);
+        wheel.schedule("this run", 62);
+
+        Assertions.assertEquals(List.of("this run", "next run"), advanceTo(wheel, 71));
+    }
+
+    @Test
+    void movesTimersOutOfTheOverflowWhenTheirRunComes() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        wheel.schedule("overflow", OVERFLOW + 10);
+        wheel.schedule("far overflow", 2 * OVERFLOW + 1);
+        Assertions.assertEquals(2, wheel.waiting().size());
+
+        Assertions.assertEquals(List.of(), advanceTo(wheel, OVERFLOW + 10));
+        Assertions.assertEquals(List.of("overflow"), advanceTo(wheel, OVERFLOW + 11));
+        Assertions.assertEquals(List.of("far overflow"), advanceTo(wheel, 2 * OVERFLOW + 2));
+    }
+
+    @Test
+    void handsBackTimersDueOnTheSameTickInTheOrderTheyWereScheduled() {
+        TimerWheel<Integer> wheel = new TimerWheel<>();
+        for (int i = 0; i < 5; i++)
+            wheel.schedule(i, 10);
+
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4), advanceTo(wheel, 11));
+    }
+
+    @Test
+    void movesTimersAlreadyDueToTheNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        advanceTo(wheel, 100);
+        TimerWheel.Timer<String> timer = wheel.schedule("late", 5);
+
+        Assertions.assertEquals(100, timer.due());
+        Assertions.assertEquals(List.of("late"), advanceTo(wheel, 101));
+    }
+
+    @Test
+    void doesNotHandBackCancelledTimers() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        TimerWheel.Timer<String> first = wheel.schedule("first level", 3);
+        TimerWheel.Timer<String> cascaded = wheel.schedule("cascaded", 200);
+        TimerWheel.Timer<String> overflowed = wheel.schedule("overflowed", OVERFLOW + 1);
+        wheel.schedule("kept", 200);
+        wheel.cancel(first);
+        wheel.cancel(cascaded);
+        wheel.cancel(overflowed);
+        wheel.cancel(overflowed);
+
+        Assertions.assertEquals(1, wheel.waiting().size());
+        Assertions.assertEquals(List.of("kept"), advanceTo(wheel, OVERFLOW + 2));
+    }
+
+    @Test
+    void clearCancelsEveryTimerButKeepsTheTick() {
+        TimerWheel<String> wheel = new TimerWheel<>();
+        wheel.schedule("first level", 3);
+        wheel.schedule("higher level", 5000);
+        wheel.schedule("overflow", OVERFLOW + 1);
+        advanceTo(wheel, 2);
+        wheel.clear();
+
+        Assertions.assertEquals(2, wheel.now());
+        Assertions.assertTrue(wheel.waiting().isEmpty());
+        Assertions.assertEquals(List.of(), advanceTo(wheel, OVERFLOW + 2));
+    }
+
+}
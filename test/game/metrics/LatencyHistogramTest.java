@@ -0,0 +1,120 @@
+package game.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for LatencyHistogram, in particular where the boundaries between its buckets fall.
+ *
+ * @author Ci Leong Ong
+ */
+class LatencyHistogramTest {
+
+    /**
+     * A duration longer than any used to probe a bucket, so the percentiles are not capped by the maximum.
+     */
+    private static final long LONGER = Long.MAX_VALUE;
+
+    /**
+     * Returns the largest duration counted in the same bucket as a duration.
+     *
+     * @param nanos The duration
+     * @return The largest duration of its bucket, as reported by getPercentile()
+     */
+    private static long bucketEnd(long nanos) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(nanos);
+        histogram.record(LONGER);
+        return histogram.getPercentile(0.5);
+    }
+
+    @Test
+    void countsShortDurationsExactly() {
+        for (long nanos = 0; nanos < 64; nanos++)
+            Assertions.assertEquals(nanos, bucketEnd(nanos));
+    }
+
+    @Test
+    void splitsEveryPowerOfTwoInto32Buckets() {
+        Assertions.assertEquals(65, bucketEnd(64));
+        Assertions.assertEquals(65, bucketEnd(65));
+        Assertions.assertEquals(67, bucketEnd(66));
+        Assertions.assertEquals(127, bucketEnd(126));
+        Assertions.assertEquals(131, bucketEnd(128));
+        Assertions.assertEquals(135, bucketEnd(132));
+
+        for (int exponent = 6; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            long width = power >>> 5;
+            Assertions.assertEquals(power - 1, bucketEnd(power - 1), "Below 2^" + exponent);
+            Assertions.assertEquals(power + width - 1, bucketEnd(power), "At 2^" + exponent);
+            Assertions.assertEquals(power + width - 1, bucketEnd(power + width - 1), "Within 2^" + exponent);
+            Assertions.assertEquals(power + 2 * width - 1, bucketEnd(power + width), "Past 2^" + exponent);
+        }
+    }
+
+    @Test
+    void knowsDurationsToWithinAThirtySecond() {
+        for (long nanos = 1; nanos > 0 && nanos < Long.MAX_VALUE / 3; nanos = nanos * 3 + 1) {
+            long end = bucketEnd(nanos);
+            Assertions.assertTrue(end >= nanos && end - nanos <= nanos / 32, nanos + " counted up to " + end);
+        }
+    }
+
+    @Test
+    void capsPercentilesAtTheLongestDuration() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(64);
+
+        Assertions.assertEquals(64, histogram.getPercentile(0.5));
+        Assertions.assertEquals(64, histogram.getMax());
+    }
+
+    @Test
+    void recordsTheLongestDurations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE - 1);
+
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getPercentile(0.5));
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getPercentile(1));
+    }
+
+    @Test
+    void recordsNegativeDurationsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(10);
+
+        Assertions.assertEquals(0, histogram.getPercentile(0.5));
+        Assertions.assertEquals(10, histogram.getSum());
+        Assertions.assertEquals(5.0, histogram.getMean());
+    }
+
+    @Test
+    void picksTheSmallestDurationCoveringTheFraction() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100; nanos++)
+            histogram.record(nanos);
+
+        Assertions.assertEquals(1, histogram.getPercentile(0));
+        Assertions.assertEquals(1, histogram.getPercentile(0.01));
+        Assertions.assertEquals(50, histogram.getPercentile(0.5));
+        Assertions.assertEquals(99, histogram.getPercentile(0.99));
+        Assertions.assertEquals(100, histogram.getPercentile(1));
+    }
+
+    @Test
+    void forgetsEverythingWhenReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.reset();
+
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMax());
+        Assertions.assertEquals(0, histogram.getPercentile(0.5));
+        Assertions.assertEquals(0.0, histogram.getMean());
+    }
+
+}